@@ -1,14 +1,20 @@
 package com.africa.semiclon.capStoneProject;
 
+import com.africa.semiclon.capStoneProject.config.PaystackResilienceProperties;
+import com.africa.semiclon.capStoneProject.security.config.JwtProperties;
+import com.africa.semiclon.capStoneProject.security.config.PasswordHashingProperties;
 import com.africa.semiclon.capStoneProject.security.config.RsaKeyProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(RsaKeyProperties.class)
+@EnableConfigurationProperties({RsaKeyProperties.class, JwtProperties.class, PasswordHashingProperties.class,
+        PaystackResilienceProperties.class})
+@EnableScheduling
 public class CapStoneProjectApplication {
     public static void main(String[] args) {
         SpringApplication.run(CapStoneProjectApplication.class, args);
@@ -0,0 +1,35 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param failureRateThreshold  percentage of failed calls in the window that opens the circuit
+ * @param slidingWindow         number of most recent calls the failure rate is taken over
+ * @param minimumCalls          calls the window needs before the failure rate is trusted
+ * @param openDuration          how long an open circuit rejects calls before letting probes through
+ * @param halfOpenProbes        probe calls that must all succeed to close the circuit again
+ * @param maxConcurrentCalls    Paystack calls allowed in flight at once across the application
+ * @param bulkheadWait          how long a call waits for a free slot before being shed
+ * @param maxAttempts           attempts per call, the first one included
+ * @param retryBackoff          base of the exponential backoff; each delay is drawn at random below it
+ * @param maxRetryBackoff       cap on the backoff before jitter
+ * @param retryBudgetRatio      retries earned per call made, shared by all callers
+ * @param minRetriesPerSecond   retries always allowed, so a quiet period does not forbid them all
+ */
+@ConfigurationProperties(prefix = "paystack.resilience")
+public record PaystackResilienceProperties(@DefaultValue("50") int failureRateThreshold,
+                                           @DefaultValue("20") int slidingWindow,
+                                           @DefaultValue("10") int minimumCalls,
+                                           @DefaultValue("30s") Duration openDuration,
+                                           @DefaultValue("3") int halfOpenProbes,
+                                           @DefaultValue("20") int maxConcurrentCalls,
+                                           @DefaultValue("100ms") Duration bulkheadWait,
+                                           @DefaultValue("3") int maxAttempts,
+                                           @DefaultValue("200ms") Duration retryBackoff,
+                                           @DefaultValue("2s") Duration maxRetryBackoff,
+                                           @DefaultValue("0.1") double retryBudgetRatio,
+                                           @DefaultValue("1") double minRetriesPerSecond) {
+}
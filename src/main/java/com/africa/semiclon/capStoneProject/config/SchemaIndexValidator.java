@@ -0,0 +1,84 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails startup when an index a hot lookup depends on is missing, rather than letting the lookup
+ * fall back to a sequential scan in production. Indexes are matched on their leading column, so
+ * an index created under another name, such as one backing a unique constraint, still counts;
+ * partial indexes are matched by name.
+ */
+@Component
+@DependsOn("schemaMigrator")
+@Slf4j
+public class SchemaIndexValidator {
+    static final List<String> REQUIRED_LEADING_COLUMNS = List.of(
+            "users.username",
+            "users.phone_number",
+            "agents.username",
+            "blacklisted_tokens.token_digest",
+            "refresh_tokens.token_digest",
+            "waste.waste_collection_date",
+            "waste.user_id",
+            "waste.uploader_user_id",
+            "waste.agent_id",
+            "waste_collection.user_id_user_id",
+            "payment_pay_stack.reference",
+            "transaction.user_id",
+            "transaction.reference",
+            "points_ledger.user_id",
+            "wallet_entries.user_id",
+            "payment_outbox.available_at",
+            "payout_items.batch_id",
+            "payout_items.reference",
+            "payout_batches.idempotency_key");
+    static final List<String> REQUIRED_PARTIAL_INDEXES = List.of(
+            "idx_waste_unassigned_time_created",
+            "idx_paystack_events_received",
+            "idx_payout_items_queued");
+
+    private static final String LEADING_COLUMNS = "select t.relname || '.' || a.attname from pg_index i " +
+            "join pg_class t on t.oid = i.indrelid " +
+            "join pg_namespace n on n.oid = t.relnamespace " +
+            "join pg_attribute a on a.attrelid = t.oid and a.attnum = i.indkey[0] " +
+            "where n.nspname = current_schema()";
+    private static final String PARTIAL_INDEXES = "select c.relname from pg_index i " +
+            "join pg_class c on c.oid = i.indexrelid " +
+            "join pg_namespace n on n.oid = c.relnamespace " +
+            "where n.nspname = current_schema() and i.indpred is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaIndexValidator(JdbcTemplate jdbcTemplate,
+                                @Value("${schema.validate-indexes:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void validate() {
+        if (!enabled) return;
+        Set<String> leadingColumns = new HashSet<>(jdbcTemplate.queryForList(LEADING_COLUMNS, String.class));
+        Set<String> partialIndexes = new HashSet<>(jdbcTemplate.queryForList(PARTIAL_INDEXES, String.class));
+        List<String> missing = new ArrayList<>();
+        for (String column : REQUIRED_LEADING_COLUMNS) {
+            if (!leadingColumns.contains(column)) missing.add("index on " + column);
+        }
+        for (String index : REQUIRED_PARTIAL_INDEXES) {
+            if (!partialIndexes.contains(index)) missing.add(index);
+        }
+        if (!missing.isEmpty()) throw new IllegalStateException("Missing required indexes: " + String.join(", ", missing));
+        log.info("All {} required indexes are present", REQUIRED_LEADING_COLUMNS.size() + REQUIRED_PARTIAL_INDEXES.size());
+    }
+}
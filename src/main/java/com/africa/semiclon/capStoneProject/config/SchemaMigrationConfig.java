@@ -0,0 +1,17 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaMigrationConfig {
+    /**
+     * Hibernate validates the schema when the entity manager factory starts, so migrations and
+     * the index check have to finish first.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor schemaMigrationDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("schemaMigrator", "schemaIndexValidator");
+    }
+}
@@ -0,0 +1,135 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned scripts under {@code db/migration} ({@code V<version>__<description>.sql})
+ * before the entity manager factory starts, so Hibernate only validates a schema that the
+ * migrations own. Each script runs in its own transaction and is recorded in
+ * {@code schema_migrations} with a checksum; editing a script after it was applied fails startup.
+ * A session advisory lock keeps instances that start together from migrating twice.
+ */
+@Component
+@Slf4j
+public class SchemaMigrator {
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final long MIGRATION_LOCK_KEY = 0x5343_4845_4D41L;
+    private static final String HISTORY_TABLE = "create table if not exists schema_migrations (" +
+            "version integer primary key, description varchar(200) not null, " +
+            "checksum varchar(64) not null, installed_at timestamp not null default now())";
+
+    private final DataSource dataSource;
+    private final String location;
+
+    record Migration(int version, String description, String script, String checksum) {
+    }
+
+    public SchemaMigrator(DataSource dataSource,
+                          @Value("${schema.migrations.location:classpath:db/migration}") String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void migrate() throws SQLException, IOException {
+        List<Migration> migrations = loadMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("select pg_advisory_lock(" + MIGRATION_LOCK_KEY + ")");
+                try {
+                    statement.execute(HISTORY_TABLE);
+                    Map<Integer, String> applied = appliedChecksums(statement);
+                    int ran = 0;
+                    for (Migration migration : migrations) {
+                        String checksum = applied.get(migration.version());
+                        if (checksum == null) {
+                            apply(connection, migration);
+                            ran++;
+                        } else if (!checksum.equals(migration.checksum())) {
+                            throw new IllegalStateException("Migration V" + migration.version() + "__" +
+                                    migration.description() + " was changed after it was applied");
+                        }
+                    }
+                    log.info("Schema is at version {} ({} migrations applied now)",
+                            migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version(), ran);
+                } finally {
+                    statement.execute("select pg_advisory_unlock(" + MIGRATION_LOCK_KEY + ")");
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    List<Migration> loadMigrations() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        for (Resource resource : resources) {
+            Matcher name = SCRIPT_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!name.matches()) throw new IllegalStateException("Unexpected migration name " + resource.getFilename());
+            String script = resource.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+            Migration migration = new Migration(Integer.parseInt(name.group(1)), name.group(2), script, sha256(script));
+            Migration clash = byVersion.put(migration.version(), migration);
+            if (clash != null) throw new IllegalStateException("Two migrations share version " + migration.version());
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+
+    private static Map<Integer, String> appliedChecksums(Statement statement) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (ResultSet rows = statement.executeQuery("select version, checksum from schema_migrations")) {
+            while (rows.next()) applied.put(rows.getInt(1), rows.getString(2));
+        }
+        return applied;
+    }
+
+    /**
+     * The whole script goes to the server as one simple-protocol statement, which lets Postgres
+     * split it, dollar-quoted blocks included.
+     */
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        log.info("Applying migration V{}__{}", migration.version(), migration.description());
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                     "insert into schema_migrations (version, description, checksum) values (?, ?, ?)")) {
+            statement.execute(migration.script());
+            record.setInt(1, migration.version());
+            record.setString(2, migration.description());
+            record.setString(3, migration.checksum());
+            record.executeUpdate();
+            connection.commit();
+        } catch (SQLException | RuntimeException exception) {
+            connection.rollback();
+            throw exception;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static String sha256(String script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -4,6 +4,9 @@ public class ApiConstants {
     public static final int STATUS_CODE_OK = 200;
     public static final int STATUS_CODE_CREATED = 201;
     public static final String PAYSTACK_INIT = "https://api.paystack.co";
-    public static final String PAYSTACK_INITIALIZE_PAY = "https://api.paystack.co/transaction/initialize";
-    public static final String PAYSTACK_VERIFY = "https://api.paystack.co/transaction/verify/";
+    public static final String PAYSTACK_PLAN = "/plan";
+    public static final String PAYSTACK_INITIALIZE_PAY = "/transaction/initialize";
+    public static final String PAYSTACK_VERIFY = "/transaction/verify/{reference}";
+    public static final String PAYSTACK_BULK_TRANSFER = "/transfer/bulk";
+    public static final String PAYSTACK_VERIFY_TRANSFER = "/transfer/verify/{reference}";
 }
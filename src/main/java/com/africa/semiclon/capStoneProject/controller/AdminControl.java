@@ -4,7 +4,7 @@ package com.africa.semiclon.capStoneProject.controller;
 import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.CreatePlanResponse;
-import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
 import com.africa.semiclon.capStoneProject.exception.AdminException;
 import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.AdminService;
@@ -26,9 +26,9 @@ public class AdminControl {
     @PostMapping("/make-payment")
     public ResponseEntity<?> makePaymentToUser(@RequestBody PaymentRequest request) {
         try {
-            InitializePaymentResponse response = transactionService.makePaymentToUser(request);
-            return ResponseEntity.ok(response);
-        } catch (AdminException | UserNotFoundException e) {
+            PaymentJobResponse response = transactionService.submitPayment(request, null);
+            return ResponseEntity.accepted().body(response);
+        } catch (AdminException | UserNotFoundException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -36,8 +36,8 @@ public class AdminControl {
     @PostMapping("/process-withdrawal")
     public ResponseEntity<?> processWithdrawal(@RequestBody WithdrawRequest request) {
         try {
-            transactionService.processWithdrawal(request);
-            return ResponseEntity.ok().build();
+            PaymentJobResponse response = transactionService.submitWithdrawal(request, null);
+            return ResponseEntity.accepted().body(response);
         } catch (UserNotFoundException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -3,13 +3,39 @@ package com.africa.semiclon.capStoneProject.controller;
 import com.africa.semiclon.capStoneProject.dtos.request.*;
 import com.africa.semiclon.capStoneProject.dtos.response.*;
 import com.africa.semiclon.capStoneProject.exception.AdminException;
+import com.africa.semiclon.capStoneProject.exception.IdempotencyConflictException;
+import com.africa.semiclon.capStoneProject.exception.PaymentJobNotFoundException;
+import com.africa.semiclon.capStoneProject.exception.PayoutBatchNotFoundException;
 import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.AdminService;
+import com.africa.semiclon.capStoneProject.services.interfaces.PayoutService;
+import com.africa.semiclon.capStoneProject.services.interfaces.PointsService;
 import com.africa.semiclon.capStoneProject.services.interfaces.TransactionService;
+import com.africa.semiclon.capStoneProject.services.interfaces.UserCollectionStatsService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 
 ;
 
@@ -17,29 +43,121 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/admin")
 @AllArgsConstructor
 public class AdminController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String PAYMENT_JOBS_PATH = "/api/v1/admin/paymentJobs/";
+    private static final String PAYOUTS_PATH = "/api/v1/admin/payouts/";
+    private static final Duration MAX_PAYMENT_JOB_WAIT = Duration.ofSeconds(60);
+    private static final Duration WASTE_REPORT_EXPORT_TIMEOUT = Duration.ofMinutes(10);
 
     private final AdminService adminService;
+    private final WasteRollupService wasteRollupService;
+    private final UserCollectionStatsService userCollectionStatsService;
+    private final PointsService pointsService;
     private final TransactionService transactionService;
+    private final PayoutService payoutService;
 
     @PostMapping("/makePayment")
-    public ResponseEntity<?> makePaymentToUser(@RequestBody PaymentRequest request) {
+    public ResponseEntity<?> makePaymentToUser(@RequestBody PaymentRequest request,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
-            InitializePaymentResponse response = transactionService.makePaymentToUser(request);
-            return ResponseEntity.ok(response);
-        } catch (UserNotFoundException e) {
+            PaymentJobResponse response = transactionService.submitPayment(request, idempotencyKey);
+            return accepted(response);
+        } catch (IdempotencyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (UserNotFoundException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     @PostMapping("/processWithdrawal")
-    public ResponseEntity<?> processWithdrawal(@RequestBody WithdrawRequest request) {
+    public ResponseEntity<?> processWithdrawal(@RequestBody WithdrawRequest request,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
-            transactionService.processWithdrawal(request);
-            return ResponseEntity.ok().build();
+            PaymentJobResponse response = transactionService.submitWithdrawal(request, idempotencyKey);
+            return accepted(response);
+        } catch (IdempotencyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (UserNotFoundException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Returns the job straight away, or with {@code wait} set, once the job is no longer pending
+     * or the wait runs out, whichever comes first.
+     */
+    @GetMapping("/paymentJobs/{jobId}")
+    public DeferredResult<ResponseEntity<?>> paymentJob(@PathVariable String jobId,
+                                                        @RequestParam(defaultValue = "0s") Duration wait) {
+        Duration timeout = wait.isNegative() ? Duration.ZERO : wait.compareTo(MAX_PAYMENT_JOB_WAIT) > 0 ? MAX_PAYMENT_JOB_WAIT : wait;
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeout.toMillis(), () -> currentPaymentJob(jobId));
+        if (timeout.isZero()) {
+            result.setResult(currentPaymentJob(jobId));
+            return result;
+        }
+        CompletableFuture<PaymentJobResponse> job = transactionService.awaitPaymentJob(jobId);
+        result.onCompletion(() -> job.cancel(false));
+        job.whenComplete((response, error) -> result.setResult(error == null ? ResponseEntity.ok(response) : currentPaymentJob(jobId)));
+        return result;
+    }
+
+    private ResponseEntity<?> currentPaymentJob(String jobId) {
+        try {
+            return ResponseEntity.ok(transactionService.findPaymentJob(jobId));
+        } catch (PaymentJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<PaymentJobResponse> accepted(PaymentJobResponse job) {
+        return ResponseEntity.accepted().location(URI.create(PAYMENT_JOBS_PATH + job.getJobId())).body(job);
+    }
+
+    /**
+     * Takes {@code userId,amount} rows as the raw request body ({@code text/csv} or
+     * {@code application/x-ndjson}) and answers once they are all queued; the transfers go out in
+     * the background and {@code GET /payouts/{batchId}} reports their progress. Resending the same
+     * file under the same {@code Idempotency-Key} after a broken upload queues only the rest.
+     * Payees need a transfer recipient from {@code PUT /payouts/recipients/{userId}} first; rows
+     * for any other user fail at upload.
+     */
+    @PostMapping("/payouts")
+    public ResponseEntity<?> submitPayouts(InputStream payouts,
+                                           @RequestParam(defaultValue = "CSV") ReportFormat format,
+                                           @RequestHeader(IDEMPOTENCY_KEY) String idempotencyKey) throws IOException {
+        try {
+            PayoutBatchResponse response = payoutService.submit(payouts, format, idempotencyKey);
+            return ResponseEntity.accepted().location(URI.create(PAYOUTS_PATH + response.getBatchId())).body(response);
+        } catch (IdempotencyConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the Paystack recipient code ({@code RCP_...}) created for the user's bank account.
+     */
+    @PutMapping("/payouts/recipients/{userId}")
+    public ResponseEntity<?> setTransferRecipient(@PathVariable Long userId, @RequestBody TransferRecipientRequest request) {
+        try {
+            payoutService.setTransferRecipient(userId, request.getRecipientCode());
+            return ResponseEntity.noContent().build();
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/payouts/{batchId}")
+    public ResponseEntity<?> payoutBatch(@PathVariable String batchId) {
+        try {
+            return ResponseEntity.ok(payoutService.findBatch(batchId));
+        } catch (PayoutBatchNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/manageUsers")
     public ResponseEntity<?> manageUsers(ManageUsersRequest manageUsersRequest) {
         try {
@@ -80,6 +198,65 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/wasteReport/export")
+    public ResponseEntity<StreamingResponseBody> exportWasteReport(@RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime startDate,
+                                                                   @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime endDate,
+                                                                   @RequestParam(defaultValue = "CSV") ReportFormat format,
+                                                                   NativeWebRequest webRequest) {
+        // Only this stream may outlive the default async timeout; the body inherits it when it starts.
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(WASTE_REPORT_EXPORT_TIMEOUT.toMillis());
+        GenerateWasteReportRequest request = new GenerateWasteReportRequest();
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        StreamingResponseBody body = outputStream -> adminService.exportWasteReport(request, format, outputStream);
+        String filename = "waste-report-" + startDate.toLocalDate() + "-" + endDate.toLocalDate() + "." + format.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/wasteRollup")
+    public ResponseEntity<?> wasteRollup(WasteRollupRequest wasteRollupRequest) {
+        try {
+            WasteRollupResponse response = wasteRollupService.summarize(wasteRollupRequest);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/wasteRollup/rebuild")
+    public ResponseEntity<?> rebuildWasteRollup(@RequestParam @DateTimeFormat(iso = DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DATE) LocalDate to) {
+        try {
+            wasteRollupService.rebuild(from, to);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/collectionStats/rebuild")
+    public ResponseEntity<?> rebuildCollectionStats(@RequestParam(required = false) Long userId) {
+        try {
+            if (userId != null) userCollectionStatsService.rebuild(userId);
+            else userCollectionStatsService.rebuildAll();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/pointsLedger/compact")
+    public ResponseEntity<?> compactPointsLedger(@RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime createdBefore) {
+        try {
+            return new ResponseEntity<>(pointsService.compactLedger(createdBefore), HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/sendNotification")
     public ResponseEntity<?> sendNotification(@RequestBody NotificationRequest notificationRequest) {
         try {
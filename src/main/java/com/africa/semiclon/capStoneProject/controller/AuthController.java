@@ -1,17 +1,26 @@
 package com.africa.semiclon.capStoneProject.controller;
 
+import com.africa.semiclon.capStoneProject.dtos.request.RefreshTokenRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.RegisterRequest;
+import com.africa.semiclon.capStoneProject.exception.InvalidRefreshTokenException;
+import com.africa.semiclon.capStoneProject.exception.PasswordHashingUnavailableException;
 import com.africa.semiclon.capStoneProject.exception.UserAlreadyExistsException;
 import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.RefreshTokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+
 import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_PREFIX;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -19,6 +28,7 @@ import static org.springframework.http.HttpStatus.CREATED;
 public class AuthController {
 
     private final AuthServices authService;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
@@ -26,19 +36,42 @@ public class AuthController {
             return ResponseEntity.status(CREATED).body(authService.register(request));
         }catch (UserAlreadyExistsException e){
             return ResponseEntity.badRequest().body(e.getMessage());
+        }catch (PasswordHashingUnavailableException e){
+            return ResponseEntity.status(SERVICE_UNAVAILABLE).header(RETRY_AFTER, "1").body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        try{
+            return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+        }catch (InvalidRefreshTokenException e){
+            return ResponseEntity.status(UNAUTHORIZED).body(e.getMessage());
         }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(HttpServletRequest request) {
+    public ResponseEntity<Void> logout(HttpServletRequest request,
+                                       @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
         String authHeader = request.getHeader(AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith(JWT_PREFIX)) {
             String token = authHeader.replace(JWT_PREFIX, "").strip();
             authService.blacklist(token);
+            if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null)
+                refreshTokenService.revoke(refreshTokenRequest.getRefreshToken());
             SecurityContextHolder.clearContext();
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.badRequest().build();
     }
 
+    @PostMapping("/logoutAll")
+    public ResponseEntity<Void> logoutEverywhere(HttpServletRequest request, Principal principal) {
+        String token = request.getHeader(AUTHORIZATION).replace(JWT_PREFIX, "").strip();
+        authService.blacklist(token);
+        refreshTokenService.revokeAll(principal.getName());
+        SecurityContextHolder.clearContext();
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.africa.semiclon.capStoneProject.controller;
+
+import com.africa.semiclon.capStoneProject.exception.InvalidWebhookSignatureException;
+import com.africa.semiclon.capStoneProject.services.interfaces.PaystackWebhookService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/paystack")
+@AllArgsConstructor
+public class PaystackWebhookController {
+    private static final String SIGNATURE_HEADER = "x-paystack-signature";
+
+    private final PaystackWebhookService paystackWebhookService;
+
+    @PostMapping("/webhook")
+    public ResponseEntity<?> receive(@RequestBody byte[] payload,
+                                     @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature) {
+        try {
+            paystackWebhookService.receive(payload, signature);
+            return ResponseEntity.ok().build();
+        } catch (InvalidWebhookSignatureException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.africa.semiclon.capStoneProject.controller;
 
 import com.africa.semiclon.capStoneProject.dtos.request.AwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.BatchAwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.RedeemPointRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.CreateUserRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.AwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.BatchAwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsBalanceResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsHistoryResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.CreateUserResponse;
+import com.africa.semiclon.capStoneProject.exception.InsufficientPointsException;
+import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
+import com.africa.semiclon.capStoneProject.exception.WasteNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.PointsService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/points")
@@ -26,4 +31,40 @@ public class PointServiceController {
         AwardPointResponse response = pointsService.awardPoint(awardPointRequest);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+
+    @PostMapping("/points/batch")
+    public ResponseEntity<?> awardPointsInBatch(@RequestBody BatchAwardPointRequest batchAwardPointRequest) {
+        try {
+            BatchAwardPointResponse response = pointsService.awardPoints(batchAwardPointRequest);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (UserNotFoundException | WasteNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/redeem")
+    public ResponseEntity<?> redeemPoints(@RequestBody RedeemPointRequest redeemPointRequest) {
+        try {
+            PointsBalanceResponse response = pointsService.redeemPoints(redeemPointRequest);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (InsufficientPointsException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{userId}/balance")
+    public ResponseEntity<PointsBalanceResponse> getBalance(@PathVariable Long userId) {
+        return new ResponseEntity<>(pointsService.getBalance(userId), HttpStatus.OK);
+    }
+
+    @GetMapping("/{userId}/history")
+    public ResponseEntity<PointsHistoryResponse> getHistory(@PathVariable Long userId,
+                                                            @RequestParam(required = false) Long before,
+                                                            @RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(pointsService.getHistory(userId, before, size), HttpStatus.OK);
+    }
 }
@@ -1,13 +1,13 @@
 package com.africa.semiclon.capStoneProject.controller;
 
 import com.africa.semiclon.capStoneProject.data.models.User;
-import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.*;
 import com.africa.semiclon.capStoneProject.dtos.response.CreateUserResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.SellWasteResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.UpdateUserResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.WeightCollectedResponse;
 import com.africa.semiclon.capStoneProject.exception.AgentNotFoundException;
+import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.UserService;
 import com.africa.semiclon.capStoneProject.services.interfaces.WasteService;
 import lombok.AllArgsConstructor;
@@ -23,7 +23,6 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
-    private final UserRepository userRepository;
 
 
     @PostMapping("/register")
@@ -47,17 +46,17 @@ public class UserController {
 
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable long id) {
-        User user = userService.getById(id);
+        User user = userService.getWithHistoryById(id);
         return new ResponseEntity<>(user, HttpStatus.OK);
     }
     @GetMapping("/totalWeight/{userId}")
     public ResponseEntity<?> getTotalWeightCollectedByUser(@PathVariable Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-
-        WeightCollectedResponse response = userService.getTotalWeightCollectedByUser(user);
-
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        try {
+            WeightCollectedResponse response = userService.getTotalWeightCollectedByUser(userId);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
 }
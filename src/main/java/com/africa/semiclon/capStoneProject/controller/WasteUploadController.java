@@ -1,14 +1,16 @@
 package com.africa.semiclon.capStoneProject.controller;
 
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
 import com.africa.semiclon.capStoneProject.dtos.request.UploadWasteRequest;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteIngestionService;
 import com.africa.semiclon.capStoneProject.services.interfaces.WasteService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ModelAttribute;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 import static org.springframework.http.HttpStatus.CREATED;
 
@@ -17,8 +19,23 @@ import static org.springframework.http.HttpStatus.CREATED;
 @RequestMapping("api/v1/waste")
 public class WasteUploadController {
     private final WasteService wasteService;
+    private final WasteIngestionService wasteIngestionService;
     @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
     public ResponseEntity<?>uploadWaste(@ModelAttribute UploadWasteRequest uploadWasteRequest){
         return ResponseEntity.status(CREATED).body(wasteService.upload(uploadWasteRequest));
     }
+
+    /**
+     * Takes the manifest as the raw request body ({@code text/csv} or {@code application/x-ndjson})
+     * and reads it as it arrives rather than buffering the upload.
+     */
+    @PostMapping("/manifest")
+    public ResponseEntity<?> ingestManifest(InputStream manifest,
+                                            @RequestParam(defaultValue = "CSV") ReportFormat format) throws IOException {
+        try {
+            return ResponseEntity.ok(wasteIngestionService.ingest(manifest, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -3,10 +3,11 @@ package com.africa.semiclon.capStoneProject.data.models;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
-import static jakarta.persistence.GenerationType.AUTO;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 
 @Getter
@@ -14,7 +15,8 @@ import static jakarta.persistence.GenerationType.AUTO;
 @Entity
 public class Address {
     @Id
-    @GeneratedValue(strategy = AUTO)
+    @GeneratedValue(strategy = SEQUENCE, generator = "address_seq")
+    @SequenceGenerator(name = "address_seq", allocationSize = 50)
     private Long id;
     private String streetName;
     private String city;
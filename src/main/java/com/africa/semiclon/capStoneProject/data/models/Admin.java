@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.AUTO;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Setter
@@ -25,7 +25,8 @@ import static java.time.LocalDateTime.now;
 @Table(name = "admin")
 public class Admin {
     @Id
-    @GeneratedValue(strategy = AUTO)
+    @GeneratedValue(strategy = SEQUENCE, generator = "admin_seq")
+    @SequenceGenerator(name = "admin_seq", allocationSize = 50)
     private Long id;
     private String username;
     @Column(unique = true)
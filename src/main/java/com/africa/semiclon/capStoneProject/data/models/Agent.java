@@ -13,7 +13,7 @@ import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.AUTO;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Setter
@@ -22,7 +22,8 @@ import static java.time.LocalDateTime.now;
 @Table(name = "agents")
 public class Agent {
     @Id
-    @GeneratedValue(strategy = AUTO)
+    @GeneratedValue(strategy = SEQUENCE, generator = "agent_seq")
+    @SequenceGenerator(name = "agent_seq", allocationSize = 50)
     private Long id;
     private String username;
     @ElementCollection
@@ -0,0 +1,35 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * First outcome of a request carrying an {@code Idempotency-Key}. The key is scoped by
+ * operation, and the fingerprint stops a key from being replayed against a different request.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_records_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;
+    @Column(nullable = false)
+    private String fingerprint;
+    @Enumerated(value = STRING)
+    @Column(nullable = false)
+    private IdempotencyStatus status;
+    @Column(columnDefinition = "text")
+    private String responseBody;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,5 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS, COMPLETED
+}
@@ -12,7 +12,7 @@ import lombok.ToString;
 
 import java.time.LocalDateTime;
 
-import static jakarta.persistence.GenerationType.AUTO;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Getter
@@ -21,7 +21,8 @@ import static java.time.LocalDateTime.now;
 @Entity
 public class Notification {
     @Id
-    @GeneratedValue(strategy = AUTO)
+    @GeneratedValue(strategy = SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", allocationSize = 50)
     private Long notificationId;
     private Long userId;
     private String message;
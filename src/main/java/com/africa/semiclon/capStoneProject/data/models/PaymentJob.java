@@ -0,0 +1,45 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * A payment or withdrawal the caller asked for, and what came of it. It is written together with
+ * its {@link PaymentOutboxEntry} and only leaves {@code PENDING} once the dispatcher has heard back
+ * from Paystack. The job id doubles as the Paystack reference.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "payment_jobs", indexes = {
+        @Index(name = "idx_payment_jobs_user_id", columnList = "user_id, created_at")
+})
+public class PaymentJob {
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+    @Enumerated(value = STRING)
+    @Column(nullable = false, updatable = false)
+    private PricingPlanType type;
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+    @Enumerated(value = STRING)
+    @Column(nullable = false)
+    private PaymentJobStatus status;
+    private String journalId;
+    private String reference;
+    private String authorizationUrl;
+    @Column(length = 500)
+    private String failureReason;
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
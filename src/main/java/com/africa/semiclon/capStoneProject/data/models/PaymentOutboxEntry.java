@@ -0,0 +1,45 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * A Paystack call still owed for a {@link PaymentJob}. The row is deleted in the transaction that
+ * records the outcome. While a dispatcher is working on it, {@code availableAt} is pushed past the
+ * lease, so a dispatcher that dies mid-call leaves the row to be picked up again.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "payment_outbox", indexes = {
+        @Index(name = "idx_payment_outbox_available_at", columnList = "available_at, id")
+})
+public class PaymentOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "payment_outbox_seq")
+    @SequenceGenerator(name = "payment_outbox_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "job_id", length = 36, nullable = false, unique = true, updatable = false)
+    private String jobId;
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(length = 500)
+    private String lastError;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PaymentOutboxEntry(String jobId, LocalDateTime createdAt) {
+        this.jobId = jobId;
+        this.availableAt = createdAt;
+        this.createdAt = createdAt;
+    }
+}
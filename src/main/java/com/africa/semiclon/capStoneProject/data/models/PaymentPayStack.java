@@ -19,7 +19,8 @@ import static java.time.LocalDateTime.now;
 @Entity
 public class PaymentPayStack {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_pay_stack_seq")
+    @SequenceGenerator(name = "payment_pay_stack_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
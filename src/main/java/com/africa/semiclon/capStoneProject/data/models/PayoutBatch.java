@@ -0,0 +1,32 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One bulk payout upload. Its items are written chunk by chunk while the upload streams in, and
+ * {@code ingestedAt} is only set once the whole upload has been read, so a batch without it may
+ * still grow, either from the upload in progress or from a retry under the same
+ * {@code idempotencyKey}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "payout_batches")
+public class PayoutBatch {
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+    @Column(unique = true, updatable = false)
+    private String idempotencyKey;
+    @Column(nullable = false)
+    private long totalRows;
+    @Column(nullable = false)
+    private long rejectedRows;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime ingestedAt;
+}
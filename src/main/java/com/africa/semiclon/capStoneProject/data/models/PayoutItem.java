@@ -0,0 +1,57 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * A single transfer of a {@link PayoutBatch}. It is {@code QUEUED} until a dispatcher sends it in
+ * a bulk transfer, {@code SENT} until Paystack confirms it by webhook, and then {@code SUCCEEDED}
+ * or {@code FAILED}; a reversal turns a {@code SUCCEEDED} item into a {@code FAILED} one. While a
+ * chunk is being sent, {@code availableAt} is pushed past the lease, so a chunk whose dispatcher
+ * dies is sent again under the same references. Once an item is {@code SENT}, {@code availableAt}
+ * is when the dispatcher next asks the gateway about it, in case its webhook never comes.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "payout_items", indexes = {
+        @Index(name = "idx_payout_items_batch_id", columnList = "batch_id, status")
+})
+public class PayoutItem {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "payout_items_seq")
+    @SequenceGenerator(name = "payout_items_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "batch_id", length = 36, nullable = false, updatable = false)
+    private String batchId;
+    @Column(nullable = false, updatable = false)
+    private long lineNumber;
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+    @Column(length = 36, nullable = false, unique = true, updatable = false)
+    private String reference;
+    @Enumerated(value = STRING)
+    @Column(nullable = false)
+    private PayoutItemStatus status;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    private String transferCode;
+    @Column(length = 500)
+    private String failureReason;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,40 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * A webhook delivery from Paystack, stored before it is acknowledged. Paystack redelivers until it
+ * gets a 200, so the event key is the primary key and a redelivery is dropped on insert.
+ * {@code RECEIVED} rows are the backlog the webhook workers still owe; {@code FAILED} rows could
+ * not be applied within the allowed attempts and wait for someone to look at {@code lastError}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "paystack_events")
+public class PaystackEvent {
+    @Id
+    @Column(name = "event_key", length = 200)
+    private String eventKey;
+    @Column(name = "event_type", length = 100, nullable = false)
+    private String eventType;
+    private String reference;
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload;
+    @Enumerated(value = STRING)
+    @Column(nullable = false)
+    private PaystackEventStatus status;
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+    private LocalDateTime processedAt;
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
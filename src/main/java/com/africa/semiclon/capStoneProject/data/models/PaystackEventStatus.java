@@ -0,0 +1,5 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+public enum PaystackEventStatus {
+    RECEIVED, PROCESSED, IGNORED, FAILED
+}
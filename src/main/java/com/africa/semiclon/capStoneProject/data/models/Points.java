@@ -6,6 +6,12 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance snapshot for one user. It covers every {@link PointsLedgerEntry} up to and including
+ * {@code lastEntryId}; the live balance adds the entries written since.
+ */
 @Getter
 @Setter
 @Entity
@@ -15,5 +21,7 @@ public class Points {
     private BigDecimal totalPoints;
     private BigDecimal pointEarned;
     private BigDecimal pointRedeemed;
+    private Long lastEntryId;
+    private LocalDateTime snapshotAt;
 
 }
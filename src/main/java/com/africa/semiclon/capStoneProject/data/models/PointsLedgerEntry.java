@@ -0,0 +1,50 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static java.time.LocalDateTime.now;
+
+/**
+ * One immutable earn or redeem movement. Rows are only ever inserted; balances are rebuilt
+ * from them and folded into {@link Points} snapshots by compaction.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "points_ledger", indexes = {
+        @Index(name = "idx_points_ledger_user_entry", columnList = "user_id, entry_id"),
+        @Index(name = "idx_points_ledger_created_at", columnList = "created_at")
+})
+public class PointsLedgerEntry {
+    // Stays on identity: compaction folds entries up to an id, so ids must not be handed out in pooled blocks.
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    @Enumerated(value = STRING)
+    @Column(nullable = false, updatable = false)
+    private PointsEntryType type;
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+    @Column(updatable = false)
+    private Long wasteId;
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PointsLedgerEntry(Long userId, PointsEntryType type, BigDecimal amount, Long wasteId) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+        this.wasteId = wasteId;
+        this.createdAt = now();
+    }
+}
@@ -17,7 +17,8 @@ import java.util.Date;
 @AllArgsConstructor
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", allocationSize = 50)
     private Long transactionId;
     private Long userId;
     private Long adminId;
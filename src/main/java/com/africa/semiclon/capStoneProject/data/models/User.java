@@ -9,6 +9,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,17 +19,26 @@ import java.util.Set;
 
 
 import static jakarta.persistence.GenerationType.AUTO;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Setter
 @Getter
 @Entity
 @ToString
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_time_created_user_id", columnList = "time_created, user_id")
+})
+@NamedEntityGraph(name = User.WITH_WASTES, attributeNodes = {
+        @NamedAttributeNode("authorities"),
+        @NamedAttributeNode("wastes")
+})
 public class User {
+    public static final String WITH_WASTES = "User.withWastes";
+
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long userId;
     private String username;
@@ -39,14 +49,21 @@ public class User {
     @OneToOne
     @JoinColumn(name = "address_id")
     private Address address;
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @ToString.Exclude
     private List<Transaction> transactions = new ArrayList<>();
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @ToString.Exclude
     private List<Waste> wastes = new ArrayList<>();
 //    @Column(name = "total_weight_collected", nullable = false)
 //    private Integer totalWeightCollected;
     private String phoneNumber;
+    @Column(name = "transfer_recipient_code")
+    private String transferRecipientCode;
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<PaymentPayStack> paymentPayStacks = new ArrayList<>();
     @Setter(AccessLevel.NONE)
     @JsonSerialize(using = LocalDateTimeSerializer.class)
@@ -56,7 +73,10 @@ public class User {
     @JsonSerialize(using = LocalDateTimeSerializer.class)
     @JsonDeserialize(using = LocalDateTimeDeserializer.class)
     private LocalDateTime timeUpdated;
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "user_authorities", joinColumns = @JoinColumn(name = "user_user_id"),
+            indexes = @Index(name = "idx_user_authorities_authority_user", columnList = "authorities, user_user_id"))
+    @BatchSize(size = 100)
     @Enumerated(EnumType.STRING)
     private Set<Authority> authorities;
     @OneToOne
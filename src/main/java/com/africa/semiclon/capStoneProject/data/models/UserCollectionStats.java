@@ -0,0 +1,41 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running collection totals for one user, keyed by the user's id so the home screen reads a
+ * single row. Maintained by database-side increments on every collection and rebuilt from
+ * {@link WasteCollection} history when it drifts.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "user_collection_stats")
+public class UserCollectionStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    private double totalWeight;
+    private long collectionCount;
+    private long ewasteCount;
+    private long polythenebagCount;
+    private long plasticCount;
+    private long paperCount;
+    private LocalDateTime lastCollectedAt;
+
+    public long countFor(Category category) {
+        return switch (category) {
+            case eWASTE -> ewasteCount;
+            case POLYTHENEBAG -> polythenebagCount;
+            case PLASTIC -> plasticCount;
+            case PAPER -> paperCount;
+        };
+    }
+}
@@ -0,0 +1,5 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+public enum WalletAccount {
+    USER_WALLET, PAYOUT_CLEARING
+}
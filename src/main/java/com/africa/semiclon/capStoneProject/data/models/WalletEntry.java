@@ -0,0 +1,54 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static java.time.LocalDateTime.now;
+
+/**
+ * One immutable leg of a wallet journal. Every journal writes a debit and a credit of the same
+ * amount, so the entries of a journal always net to zero.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "wallet_entries", indexes = {
+        @Index(name = "idx_wallet_entries_user_id", columnList = "user_id, entry_id"),
+        @Index(name = "idx_wallet_entries_journal_id", columnList = "journal_id")
+})
+public class WalletEntry {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "wallet_entries_seq")
+    @SequenceGenerator(name = "wallet_entries_seq", allocationSize = 50)
+    @Column(name = "entry_id")
+    private Long entryId;
+    @Column(name = "journal_id", nullable = false, updatable = false)
+    private String journalId;
+    @Enumerated(value = STRING)
+    @Column(nullable = false, updatable = false)
+    private WalletAccount account;
+    @Column(name = "user_id", updatable = false)
+    private Long userId;
+    @Enumerated(value = STRING)
+    @Column(nullable = false, updatable = false)
+    private EntryDirection direction;
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public WalletEntry(String journalId, WalletAccount account, Long userId, EntryDirection direction, BigDecimal amount) {
+        this.journalId = journalId;
+        this.account = account;
+        this.userId = userId;
+        this.direction = direction;
+        this.amount = amount;
+        this.createdAt = now();
+    }
+}
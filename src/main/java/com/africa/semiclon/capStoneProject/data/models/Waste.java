@@ -15,17 +15,25 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static jakarta.persistence.EnumType.STRING;
-import static jakarta.persistence.GenerationType.AUTO;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Setter
 @Getter
 @Entity
 @ToString
-@Table(name = "waste")
+@Table(name = "waste", indexes = {
+        @Index(name = "idx_waste_time_created_waste_id", columnList = "time_created, waste_id"),
+        @Index(name = "idx_waste_type_time_created", columnList = "type, time_created, waste_id"),
+        @Index(name = "idx_waste_agent_time_created", columnList = "agent_id, time_created, waste_id"),
+        @Index(name = "idx_waste_collection_date", columnList = "waste_collection_date")
+})
 public class Waste {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = AUTO)
+    @GeneratedValue(strategy = SEQUENCE, generator = "waste_seq")
+    @SequenceGenerator(name = "waste_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long wasteId;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -39,6 +47,7 @@ public class Waste {
     @Setter(AccessLevel.NONE)
     @JsonSerialize(using = LocalDateTimeSerializer.class)
     @JsonDeserialize(using = LocalDateTimeDeserializer.class)
+    @Column(nullable = false)
     private LocalDateTime timeCreated;
     @Setter(AccessLevel.NONE)
     @JsonSerialize(using = LocalDateTimeSerializer.class)
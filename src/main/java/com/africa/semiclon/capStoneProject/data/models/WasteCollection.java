@@ -7,6 +7,7 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 
 @Entity
@@ -14,6 +15,8 @@ import static java.time.LocalDateTime.now;
 @Setter
 public class WasteCollection {
     @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "waste_collection_seq")
+    @SequenceGenerator(name = "waste_collection_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     private User userId;
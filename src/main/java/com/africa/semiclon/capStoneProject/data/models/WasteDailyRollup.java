@@ -0,0 +1,47 @@
+package com.africa.semiclon.capStoneProject.data.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * Pre-aggregated waste totals per day, category and agent. Waste rows are bucketed by their
+ * collection date (falling back to the upload date) and collections by the day they happened;
+ * unassigned waste lives under {@link #NO_AGENT}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "waste_daily_rollup", indexes = {
+        @Index(name = "idx_waste_rollup_agent_day", columnList = "agent_id, rollup_day")
+})
+public class WasteDailyRollup {
+    public static final long NO_AGENT = 0L;
+
+    @EmbeddedId
+    private Key id;
+    private long wasteCount;
+    private long totalQuantity;
+    private BigDecimal totalPrice;
+    private long collectionCount;
+    private double collectedWeight;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate rollupDay;
+        @Enumerated(value = STRING)
+        private Category category;
+        @Column(name = "agent_id")
+        private Long agentId;
+    }
+}
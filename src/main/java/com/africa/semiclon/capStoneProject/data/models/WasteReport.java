@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Entity
 public class WasteReport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waste_report_seq")
+    @SequenceGenerator(name = "waste_report_seq", allocationSize = 50)
     private Long wasteId;
     private Category category;
     private Integer quantity;
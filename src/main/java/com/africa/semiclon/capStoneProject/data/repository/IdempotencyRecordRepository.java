@@ -0,0 +1,39 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Returns 1 for the caller that owns the key and 0 for every concurrent or later duplicate.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into idempotency_records (idempotency_key, fingerprint, status, created_at) " +
+            "values (:key, :fingerprint, 'IN_PROGRESS', :createdAt) on conflict (idempotency_key) do nothing",
+            nativeQuery = true)
+    int claim(String key, String fingerprint, LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.status = com.africa.semiclon.capStoneProject.data.models.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :responseBody, r.completedAt = :completedAt where r.idempotencyKey = :key")
+    int complete(String key, String responseBody, LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key " +
+            "and r.status = com.africa.semiclon.capStoneProject.data.models.IdempotencyStatus.IN_PROGRESS")
+    int release(String key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :createdBefore")
+    int deleteAllCreatedBefore(LocalDateTime createdBefore);
+}
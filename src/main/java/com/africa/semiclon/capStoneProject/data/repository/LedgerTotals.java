@@ -0,0 +1,6 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import java.math.BigDecimal;
+
+public record LedgerTotals(BigDecimal earned, BigDecimal redeemed) {
+}
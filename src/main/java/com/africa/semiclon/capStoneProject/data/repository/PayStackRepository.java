@@ -4,6 +4,10 @@ import com.africa.semiclon.capStoneProject.data.models.PaymentPayStack;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PayStackRepository extends JpaRepository<PaymentPayStack, Long> {
+    List<PaymentPayStack> findAllByReferenceIn(Collection<String> references);
 }
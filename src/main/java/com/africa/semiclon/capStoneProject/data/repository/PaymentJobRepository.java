@@ -0,0 +1,23 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PaymentJob;
+import com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface PaymentJobRepository extends JpaRepository<PaymentJob, String> {
+
+    /**
+     * Moves a pending job to its outcome. Returns 0 when another dispatcher already finished it,
+     * in which case the caller must not apply the outcome's side effects a second time.
+     */
+    @Modifying
+    @Query("update PaymentJob j set j.status = :status, j.reference = :reference, j.authorizationUrl = :authorizationUrl, " +
+            "j.failureReason = :failureReason, j.completedAt = :completedAt " +
+            "where j.jobId = :jobId and j.status = com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus.PENDING")
+    int finish(String jobId, PaymentJobStatus status, String reference, String authorizationUrl,
+               String failureReason, LocalDateTime completedAt);
+}
@@ -0,0 +1,39 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PaymentOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEntry, Long> {
+
+    /**
+     * Locks up to {@code limit} due entries, skipping any another dispatcher has locked, so
+     * concurrent dispatchers never pick the same entry. Must run inside a transaction.
+     */
+    @Query(value = "select * from payment_outbox where available_at <= :now " +
+            "order by available_at, id limit :limit for update skip locked", nativeQuery = true)
+    List<PaymentOutboxEntry> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Extends the lease of an entry this dispatcher claimed as attempt {@code attempts}. Returns 0
+     * when another dispatcher has claimed it again since, which then owns the send.
+     */
+    @Transactional
+    @Modifying
+    @Query("update PaymentOutboxEntry e set e.availableAt = :leasedUntil where e.id = :id and e.attempts = :attempts")
+    int renewLease(Long id, int attempts, LocalDateTime leasedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("update PaymentOutboxEntry e set e.availableAt = :availableAt, e.lastError = :lastError where e.id = :id")
+    int reschedule(Long id, LocalDateTime availableAt, String lastError);
+
+    @Modifying
+    @Query("delete from PaymentOutboxEntry e where e.id = :id")
+    int deleteEntry(Long id);
+}
@@ -0,0 +1,10 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PayoutBatchRepository extends JpaRepository<PayoutBatch, String> {
+    Optional<PayoutBatch> findByIdempotencyKey(String idempotencyKey);
+}
@@ -0,0 +1,58 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PayoutItemRepository extends JpaRepository<PayoutItem, Long> {
+
+    /**
+     * Locks up to {@code limit} queued items that are due, skipping any another dispatcher has
+     * locked. Must run inside a transaction.
+     */
+    @Query(value = "select * from payout_items where status = 'QUEUED' and available_at <= :now " +
+            "order by available_at, id limit :limit for update skip locked", nativeQuery = true)
+    List<PayoutItem> lockDue(LocalDateTime now, int limit);
+
+    /**
+     * Locks up to {@code limit} sent items whose next check with the gateway is due, skipping any
+     * another dispatcher has locked. Must run inside a transaction.
+     */
+    @Query(value = "select * from payout_items where status = 'SENT' and available_at <= :now " +
+            "order by available_at, id limit :limit for update skip locked", nativeQuery = true)
+    List<PayoutItem> lockSentDue(LocalDateTime now, int limit);
+
+    /**
+     * Settles an item that is still waiting on the gateway; returns 0 when a webhook got there first.
+     */
+    @Modifying
+    @Query("update PayoutItem i set i.status = :status, i.failureReason = :failureReason, i.completedAt = :completedAt " +
+            "where i.id = :id and i.status = com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus.SENT")
+    int settleSent(Long id, PayoutItemStatus status, String failureReason, LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update PayoutItem i set i.availableAt = :availableAt, i.failureReason = :lastError " +
+            "where i.id in :ids and i.status = com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus.QUEUED")
+    int reschedule(Collection<Long> ids, LocalDateTime availableAt, String lastError);
+
+    @Query("select coalesce(max(i.lineNumber), 0) from PayoutItem i where i.batchId = :batchId")
+    long findLastLineNumber(String batchId);
+
+    List<PayoutItem> findAllByReferenceIn(Collection<String> references);
+
+    @Query("select i.status as status, count(i) as items from PayoutItem i where i.batchId = :batchId group by i.status")
+    List<StatusCount> countByStatus(String batchId);
+
+    interface StatusCount {
+        PayoutItemStatus getStatus();
+        long getItems();
+    }
+}
@@ -0,0 +1,63 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PaystackEvent;
+import com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PaystackEventRepository extends JpaRepository<PaystackEvent, String> {
+
+    /**
+     * Returns 1 for the first delivery of an event and 0 for every redelivery.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into paystack_events (event_key, event_type, reference, payload, status, received_at) " +
+            "values (:eventKey, :eventType, :reference, :payload, 'RECEIVED', :receivedAt) on conflict (event_key) do nothing",
+            nativeQuery = true)
+    int record(String eventKey, String eventType, String reference, String payload, LocalDateTime receivedAt);
+
+    /**
+     * Locks the given events that are still unprocessed, skipping any another worker holds.
+     * Must run inside a transaction.
+     */
+    @Query(value = "select * from paystack_events where event_key in (:eventKeys) and status = 'RECEIVED' " +
+            "order by received_at for update skip locked", nativeQuery = true)
+    List<PaystackEvent> lockReceived(Collection<String> eventKeys);
+
+    @Query(value = "select event_key from paystack_events where status = 'RECEIVED' and received_at < :receivedBefore " +
+            "order by received_at limit :limit", nativeQuery = true)
+    List<String> findReceivedBefore(LocalDateTime receivedBefore, int limit);
+
+    @Modifying
+    @Query("update PaystackEvent e set e.status = :status, e.processedAt = :processedAt where e.eventKey in :eventKeys")
+    int markAll(Collection<String> eventKeys, PaystackEventStatus status, LocalDateTime processedAt);
+
+    /**
+     * Counts a failed attempt at applying an event on its own, and parks the event as FAILED once
+     * it has failed {@code maxAttempts} times.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "update paystack_events set attempts = attempts + 1, last_error = :lastError, " +
+            "status = case when attempts + 1 >= :maxAttempts then 'FAILED' else status end, " +
+            "processed_at = case when attempts + 1 >= :maxAttempts then :now else processed_at end " +
+            "where event_key = :eventKey and status = 'RECEIVED'", nativeQuery = true)
+    int recordFailure(String eventKey, String lastError, int maxAttempts, LocalDateTime now);
+
+    /**
+     * FAILED events are kept until someone has dealt with them.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PaystackEvent e where e.receivedAt < :receivedBefore " +
+            "and e.status in (com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus.PROCESSED, " +
+            "com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus.IGNORED)")
+    int deleteHandledBefore(LocalDateTime receivedBefore);
+}
@@ -0,0 +1,61 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PointsLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long>, PointsLedgerRepositoryCustom {
+
+    /**
+     * Advisory lock key that serializes compaction across application instances. Per-user
+     * redemptions lock on the (positive) user id instead.
+     */
+    long COMPACTION_LOCK_KEY = -7_206_114_220_314_553_001L;
+
+    @Query("select new com.africa.semiclon.capStoneProject.data.repository.LedgerTotals(" +
+            "coalesce(sum(case when e.type = com.africa.semiclon.capStoneProject.data.models.PointsEntryType.EARN then e.amount else 0 end), 0), " +
+            "coalesce(sum(case when e.type = com.africa.semiclon.capStoneProject.data.models.PointsEntryType.REDEEM then e.amount else 0 end), 0)) " +
+            "from PointsLedgerEntry e where e.userId = :userId and e.entryId > :afterEntryId")
+    LedgerTotals sumSince(Long userId, long afterEntryId);
+
+    @Query("select e from PointsLedgerEntry e where e.userId = :userId and (:beforeEntryId is null or e.entryId < :beforeEntryId) " +
+            "order by e.entryId desc")
+    List<PointsLedgerEntry> findHistory(Long userId, Long beforeEntryId, Limit limit);
+
+    @Query("select max(e.entryId) from PointsLedgerEntry e where e.createdAt < :createdBefore")
+    Optional<Long> findLastEntryIdBefore(LocalDateTime createdBefore);
+
+    @Query(value = "select 1 from (select pg_advisory_xact_lock(:key)) as acquired", nativeQuery = true)
+    int acquireTransactionLock(long key);
+
+    /**
+     * Folds every entry after each user's current snapshot, up to {@code throughEntryId}, into
+     * the {@code points} row, creating it for users who have none yet.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into points (user_id, total_points, point_earned, point_redeemed, last_entry_id, snapshot_at) " +
+            "select l.user_id, " +
+            "sum(case when l.type = 'EARN' then l.amount else -l.amount end), " +
+            "sum(case when l.type = 'EARN' then l.amount else 0 end), " +
+            "sum(case when l.type = 'REDEEM' then l.amount else 0 end), " +
+            "max(l.entry_id), :snapshotAt " +
+            "from points_ledger l left join points p on p.user_id = l.user_id " +
+            "where l.entry_id > coalesce(p.last_entry_id, 0) and l.entry_id <= :throughEntryId " +
+            "group by l.user_id " +
+            "on conflict (user_id) do update set " +
+            "total_points = coalesce(points.total_points, 0) + excluded.total_points, " +
+            "point_earned = coalesce(points.point_earned, 0) + excluded.point_earned, " +
+            "point_redeemed = coalesce(points.point_redeemed, 0) + excluded.point_redeemed, " +
+            "last_entry_id = excluded.last_entry_id, " +
+            "snapshot_at = excluded.snapshot_at",
+            nativeQuery = true)
+    int compactThrough(long throughEntryId, LocalDateTime snapshotAt);
+}
@@ -0,0 +1,9 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PointsLedgerEntry;
+
+import java.util.List;
+
+public interface PointsLedgerRepositoryCustom {
+    void appendAll(List<PointsLedgerEntry> entries);
+}
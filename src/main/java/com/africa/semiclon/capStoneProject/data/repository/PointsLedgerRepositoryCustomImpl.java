@@ -0,0 +1,34 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.PointsLedgerEntry;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Appends ledger rows as JDBC batches on the JPA transaction's connection, skipping the
+ * per-entity identity round trip that {@code saveAll} would make.
+ */
+@AllArgsConstructor
+public class PointsLedgerRepositoryCustomImpl implements PointsLedgerRepositoryCustom {
+    private static final int BATCH_SIZE = 500;
+    private static final String APPEND = "insert into points_ledger (user_id, type, amount, waste_id, created_at) " +
+            "values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(List<PointsLedgerEntry> entries) {
+        jdbcTemplate.batchUpdate(APPEND, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setLong(1, entry.getUserId());
+            statement.setString(2, entry.getType().name());
+            statement.setBigDecimal(3, entry.getAmount());
+            if (entry.getWasteId() == null) statement.setNull(4, Types.BIGINT);
+            else statement.setLong(4, entry.getWasteId());
+            statement.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.UserCollectionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface UserCollectionStatsRepository extends JpaRepository<UserCollectionStats, Long> {
+
+    String UPSERT = "insert into user_collection_stats (user_id, total_weight, collection_count, ewaste_count, " +
+            "polythenebag_count, plastic_count, paper_count, last_collected_at) " +
+            "values (:userId, :weight, :collections, :ewaste, :polythenebag, :plastic, :paper, :lastCollectedAt) " +
+            "on conflict (user_id) do update set ";
+
+    /**
+     * Adds one collection to the user's totals in a single statement, so concurrent collections
+     * for the same user never lose an update.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = UPSERT +
+            "total_weight = user_collection_stats.total_weight + excluded.total_weight, " +
+            "collection_count = user_collection_stats.collection_count + excluded.collection_count, " +
+            "ewaste_count = user_collection_stats.ewaste_count + excluded.ewaste_count, " +
+            "polythenebag_count = user_collection_stats.polythenebag_count + excluded.polythenebag_count, " +
+            "plastic_count = user_collection_stats.plastic_count + excluded.plastic_count, " +
+            "paper_count = user_collection_stats.paper_count + excluded.paper_count, " +
+            "last_collected_at = greatest(user_collection_stats.last_collected_at, excluded.last_collected_at)",
+            nativeQuery = true)
+    int increment(Long userId, double weight, long collections, long ewaste, long polythenebag, long plastic,
+                  long paper, LocalDateTime lastCollectedAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = UPSERT +
+            "total_weight = excluded.total_weight, " +
+            "collection_count = excluded.collection_count, " +
+            "ewaste_count = excluded.ewaste_count, " +
+            "polythenebag_count = excluded.polythenebag_count, " +
+            "plastic_count = excluded.plastic_count, " +
+            "paper_count = excluded.paper_count, " +
+            "last_collected_at = excluded.last_collected_at",
+            nativeQuery = true)
+    int replace(Long userId, double weight, long collections, long ewaste, long polythenebag, long plastic,
+                long paper, LocalDateTime lastCollectedAt);
+
+    /**
+     * Drops the totals of users who no longer have any collection, which a rebuild from the
+     * collection rows would otherwise leave behind.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from user_collection_stats s where not exists " +
+            "(select 1 from waste_collection c where c.user_id_user_id = s.user_id)", nativeQuery = true)
+    int deleteWithoutCollections();
+}
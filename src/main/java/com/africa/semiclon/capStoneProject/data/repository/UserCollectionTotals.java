@@ -0,0 +1,8 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import java.time.LocalDateTime;
+
+public record UserCollectionTotals(Long userId, Double totalWeight, Long collectionCount, Long ewasteCount,
+                                   Long polythenebagCount, Long plasticCount, Long paperCount,
+                                   LocalDateTime lastCollectedAt) {
+}
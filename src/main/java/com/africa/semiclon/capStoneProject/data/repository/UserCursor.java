@@ -0,0 +1,40 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.dtos.request.ManageUsersRequest.UserSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: the sort key and the id that breaks ties on it.
+ * Clients treat the encoded form as opaque.
+ */
+public record UserCursor(UserSortField sortBy, LocalDateTime timeCreated, long userId) {
+
+    public static UserCursor after(User user, UserSortField sortBy) {
+        return new UserCursor(sortBy, user.getTimeCreated(), user.getUserId());
+    }
+
+    public String encode() {
+        String value = sortBy + "|" + (timeCreated == null ? "" : timeCreated) + "|" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor, UserSortField expectedSortBy) {
+        UserCursor decoded;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            decoded = new UserCursor(UserSortField.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (decoded.sortBy() != expectedSortBy)
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        if (decoded.sortBy() == UserSortField.TIME_CREATED && decoded.timeCreated() == null)
+            throw new IllegalArgumentException("Invalid cursor");
+        return decoded;
+    }
+}
@@ -1,16 +1,88 @@
 package com.africa.semiclon.capStoneProject.data.repository;
 
+import com.africa.semiclon.capStoneProject.data.models.Authority;
 import com.africa.semiclon.capStoneProject.data.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     boolean existsByUsername(String username);
     Optional<User> findByUsername(String username);
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
+
+    /**
+     * For the few callers that serialize the whole user; everything else should use
+     * {@link #findById} and leave the history unloaded.
+     */
+    @EntityGraph(User.WITH_WASTES)
+    Optional<User> findWithHistoryByUserId(Long userId);
+
+    /**
+     * Reads only what authentication needs, one row per authority, without
+     * touching the user's transactions or wastes.
+     */
+    @Query("select u.username as username, u.password as password, a as authority " +
+            "from User u left join u.authorities a where u.username = :username")
+    List<UserCredentialView> findCredentialsByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(String username, String password);
+
+    /**
+     * Checks and debits the balance in one statement; returns 0 when the user cannot cover the
+     * amount, so two concurrent debits can never both pass the check.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.balance = u.balance - :amount where u.userId = :userId and u.balance >= :amount")
+    int debitBalance(Long userId, BigDecimal amount);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.balance = coalesce(u.balance, 0) + :amount where u.userId = :userId")
+    int creditBalance(Long userId, BigDecimal amount);
+
+    @Query("select u.balance from User u where u.userId = :userId")
+    Optional<BigDecimal> findBalanceByUserId(Long userId);
+
+    /**
+     * Points snapshots share the user's id; links users whose snapshot was created by compaction.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "update users set points_user_id = user_id where points_user_id is null " +
+            "and exists (select 1 from points p where p.user_id = users.user_id)", nativeQuery = true)
+    int linkAllPoints();
+
+    @Query("select u.userId from User u where u.userId in :userIds")
+    List<Long> findExistingIds(Collection<Long> userIds);
+
+    @Query("select u.userId as userId, u.transferRecipientCode as recipientCode from User u where u.userId in :userIds")
+    List<TransferRecipientView> findTransferRecipients(Collection<Long> userIds);
+
+    interface UserCredentialView {
+        String getUsername();
+        String getPassword();
+        Authority getAuthority();
+    }
+
+    interface TransferRecipientView {
+        Long getUserId();
+        String getRecipientCode();
+    }
 }
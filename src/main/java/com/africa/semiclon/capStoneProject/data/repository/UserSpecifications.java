@@ -0,0 +1,70 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.dtos.request.ManageUsersRequest.UserSortField;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin user listing. Each returns null when its argument is absent,
+ * which {@link Specification#where} treats as "no restriction".
+ */
+public class UserSpecifications {
+
+    private UserSpecifications() {}
+
+    public static Specification<User> usernameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) return null;
+        String pattern = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("username"), pattern, '\\');
+    }
+
+    public static Specification<User> hasAuthority(Authority authority) {
+        if (authority == null) return null;
+        return (root, query, cb) -> cb.equal(root.join("authorities"), authority);
+    }
+
+    public static Specification<User> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) return null;
+        return (root, query, cb) -> {
+            if (from == null) return cb.lessThan(root.get("timeCreated"), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("timeCreated"), from);
+            return cb.and(cb.greaterThanOrEqualTo(root.get("timeCreated"), from), cb.lessThan(root.get("timeCreated"), to));
+        };
+    }
+
+    /**
+     * Seek predicate: rows strictly after the cursor in the given order, so a page costs an
+     * index range scan no matter how deep into the listing it is.
+     */
+    public static Specification<User> after(UserCursor cursor, Sort.Direction direction) {
+        if (cursor == null) return null;
+        boolean ascending = direction.isAscending();
+        if (cursor.sortBy() == UserSortField.ID) {
+            return (root, query, cb) -> ascending
+                    ? cb.greaterThan(root.get("userId"), cursor.userId())
+                    : cb.lessThan(root.get("userId"), cursor.userId());
+        }
+        return (root, query, cb) -> {
+            var timeCreated = root.<LocalDateTime>get("timeCreated");
+            var userId = root.<Long>get("userId");
+            return ascending
+                    ? cb.or(cb.greaterThan(timeCreated, cursor.timeCreated()),
+                        cb.and(cb.equal(timeCreated, cursor.timeCreated()), cb.greaterThan(userId, cursor.userId())))
+                    : cb.or(cb.lessThan(timeCreated, cursor.timeCreated()),
+                        cb.and(cb.equal(timeCreated, cursor.timeCreated()), cb.lessThan(userId, cursor.userId())));
+        };
+    }
+
+    public static Sort sortOf(UserSortField sortBy, Sort.Direction direction) {
+        return sortBy == UserSortField.ID
+                ? Sort.by(direction, "userId")
+                : Sort.by(direction, "timeCreated", "userId");
+    }
+}
@@ -0,0 +1,11 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.WalletEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WalletEntryRepository extends JpaRepository<WalletEntry, Long> {
+    List<WalletEntry> findAllByJournalIdOrderByEntryId(String journalId);
+    List<WalletEntry> findAllByUserIdOrderByEntryId(Long userId);
+}
@@ -0,0 +1,48 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface WasteCollectionRepository extends JpaRepository<WasteCollection, Long> {
+
+    @Query("select new com.africa.semiclon.capStoneProject.data.repository.WasteCollectionTotal(" +
+            "cast(c.dateAndTimeCollected as LocalDate), c.wasteCategory, a.id, count(c), coalesce(sum(c.wasteWeigh), 0)) " +
+            "from WasteCollection c left join c.agentId a " +
+            "where c.wasteCategory is not null and c.dateAndTimeCollected >= :from and c.dateAndTimeCollected < :to " +
+            "group by cast(c.dateAndTimeCollected as LocalDate), c.wasteCategory, a.id")
+    List<WasteCollectionTotal> sumByDayCategoryAndAgent(LocalDateTime from, LocalDateTime to);
+
+    String USER_TOTALS = "select new com.africa.semiclon.capStoneProject.data.repository.UserCollectionTotals(" +
+            "u.userId, coalesce(sum(c.wasteWeigh), 0), count(c), " +
+            "sum(case when c.wasteCategory = com.africa.semiclon.capStoneProject.data.models.Category.eWASTE then 1 else 0 end), " +
+            "sum(case when c.wasteCategory = com.africa.semiclon.capStoneProject.data.models.Category.POLYTHENEBAG then 1 else 0 end), " +
+            "sum(case when c.wasteCategory = com.africa.semiclon.capStoneProject.data.models.Category.PLASTIC then 1 else 0 end), " +
+            "sum(case when c.wasteCategory = com.africa.semiclon.capStoneProject.data.models.Category.PAPER then 1 else 0 end), " +
+            "max(c.dateAndTimeCollected)) " +
+            "from WasteCollection c join c.userId u ";
+
+    @Query(USER_TOTALS + "where u.userId = :userId group by u.userId")
+    Optional<UserCollectionTotals> sumForUser(Long userId);
+
+    /**
+     * Per-user totals across the whole history, read with a forward-only cursor; must be consumed
+     * inside a transaction.
+     */
+    @Query(USER_TOTALS + "group by u.userId")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserCollectionTotals> streamUserTotals();
+}
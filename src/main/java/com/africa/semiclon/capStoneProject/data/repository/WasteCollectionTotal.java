@@ -0,0 +1,8 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+
+import java.time.LocalDate;
+
+public record WasteCollectionTotal(LocalDate day, Category category, Long agentId, Long collectionCount, Double collectedWeight) {
+}
@@ -0,0 +1,30 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of the last waste of a page in (timeCreated, wasteId) order, encoded opaquely for clients.
+ */
+public record WasteCursor(LocalDateTime timeCreated, long wasteId) {
+
+    public WasteCursor {
+        Objects.requireNonNull(timeCreated, "timeCreated");
+    }
+
+    public String encode() {
+        String value = timeCreated + "|" + wasteId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static WasteCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            return new WasteCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
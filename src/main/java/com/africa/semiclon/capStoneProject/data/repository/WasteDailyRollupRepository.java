@@ -0,0 +1,83 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.WasteDailyRollup;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WasteDailyRollupRepository extends JpaRepository<WasteDailyRollup, WasteDailyRollup.Key> {
+
+    /**
+     * Adds the given deltas to a bucket, creating it on first use. Negative deltas move waste
+     * out of a bucket when it is reassigned.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into waste_daily_rollup (rollup_day, category, agent_id, waste_count, total_quantity, " +
+            "total_price, collection_count, collected_weight) " +
+            "values (:day, :category, :agentId, :wasteCount, :quantity, :price, :collectionCount, :collectedWeight) " +
+            "on conflict (rollup_day, category, agent_id) do update set " +
+            "waste_count = waste_daily_rollup.waste_count + excluded.waste_count, " +
+            "total_quantity = waste_daily_rollup.total_quantity + excluded.total_quantity, " +
+            "total_price = waste_daily_rollup.total_price + excluded.total_price, " +
+            "collection_count = waste_daily_rollup.collection_count + excluded.collection_count, " +
+            "collected_weight = waste_daily_rollup.collected_weight + excluded.collected_weight",
+            nativeQuery = true)
+    int increment(LocalDate day, String category, long agentId, long wasteCount, long quantity, BigDecimal price,
+                  long collectionCount, double collectedWeight);
+
+    @Transactional
+    @Modifying
+    @Query("delete from WasteDailyRollup r where r.id.rollupDay between :from and :to")
+    int deleteDaysBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Re-aggregates the waste rows of a day range straight into the rollup. Callers clear the
+     * range first; collections are merged in afterwards through {@link #increment}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into waste_daily_rollup (rollup_day, category, agent_id, waste_count, total_quantity, " +
+            "total_price, collection_count, collected_weight) " +
+            "select cast(coalesce(w.waste_collection_date, w.time_created) as date), w.type, coalesce(w.agent_id, 0), " +
+            "count(*), coalesce(sum(w.quantity), 0), coalesce(sum(w.price), 0), 0, 0 " +
+            "from waste w " +
+            "where w.type is not null " +
+            "and coalesce(w.waste_collection_date, w.time_created) >= :from " +
+            "and coalesce(w.waste_collection_date, w.time_created) < :to " +
+            "group by 1, 2, 3",
+            nativeQuery = true)
+    int rebuildWasteTotals(LocalDateTime from, LocalDateTime to);
+
+    @Query("select r from WasteDailyRollup r " +
+            "where r.id.rollupDay between :from and :to " +
+            "and (:category is null or r.id.category = :category) " +
+            "and (:agentId is null or r.id.agentId = :agentId) " +
+            "order by r.id.rollupDay, r.id.category, r.id.agentId")
+    List<WasteDailyRollup> findDays(LocalDate from, LocalDate to, Category category, Long agentId);
+
+    /**
+     * Reads the buckets as values rather than entities, so a read after a native rebuild sees the
+     * new rows instead of entities cached earlier in the same transaction.
+     */
+    @Query("select new com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary(" +
+            "r.id.rollupDay, r.id.category, r.id.agentId, r.wasteCount, r.totalQuantity, r.totalPrice, " +
+            "r.collectionCount, r.collectedWeight) " +
+            "from WasteDailyRollup r where r.id.rollupDay between :from and :to")
+    List<WasteRollupSummary> snapshotDays(LocalDate from, LocalDate to);
+
+    @Query("select new com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary(" +
+            "r.id.category, sum(r.wasteCount), sum(r.totalQuantity), sum(r.totalPrice), " +
+            "sum(r.collectionCount), sum(r.collectedWeight)) " +
+            "from WasteDailyRollup r where r.id.rollupDay between :from and :to " +
+            "group by r.id.category order by r.id.category")
+    List<WasteRollupSummary> sumByCategory(LocalDate from, LocalDate to);
+}
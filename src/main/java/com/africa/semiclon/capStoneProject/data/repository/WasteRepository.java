@@ -1,15 +1,49 @@
 package com.africa.semiclon.capStoneProject.data.repository;
 
 import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteReportRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface WasteRepository extends JpaRepository<Waste, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface WasteRepository extends JpaRepository<Waste, Long>, WasteRepositoryCustom {
 
     List<Waste> findAllByWasteCollectionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    @Query("select w.wasteId as wasteId, w.quantity as quantity from Waste w where w.wasteId in :wasteIds")
+    List<WasteQuantityView> findQuantities(Collection<Long> wasteIds);
+
+    String REPORT_ROWS = "select new com.africa.semiclon.capStoneProject.dtos.response.WasteReportRow(" +
+            "w.wasteId, w.type, w.quantity, w.price, a.username, w.wasteCollectionDate) " +
+            "from Waste w left join w.agent a " +
+            "where w.wasteCollectionDate between :startDate and :endDate " +
+            "order by w.wasteCollectionDate, w.wasteId";
+
+    @Query(REPORT_ROWS)
+    List<WasteReportRow> findReportRows(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Forward-only cursor over the report rows. Must be consumed inside a transaction so the
+     * Postgres driver honours the fetch size instead of buffering the whole result.
+     */
+    @Query(REPORT_ROWS)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<WasteReportRow> streamReportRows(LocalDateTime startDate, LocalDateTime endDate);
 
+    interface WasteQuantityView {
+        Long getWasteId();
+        Integer getQuantity();
+    }
 }
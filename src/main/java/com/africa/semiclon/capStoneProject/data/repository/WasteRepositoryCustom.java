@@ -0,0 +1,20 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.dtos.request.ViewWasteRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteSummary;
+
+import java.util.List;
+
+public interface WasteRepositoryCustom {
+    /**
+     * Newest first, starting after {@code cursor} when given. Returns at most {@code limit} rows.
+     */
+    List<WasteSummary> findSummaries(ViewWasteRequest filter, WasteCursor cursor, int limit);
+
+    /**
+     * Inserts new, unassigned waste as JDBC batches and sets the generated ids on {@code wastes}.
+     * Only the type, quantity, price, description, collection date and uploader are written.
+     */
+    void insertAll(List<Waste> wastes);
+}
@@ -0,0 +1,116 @@
+package com.africa.semiclon.capStoneProject.data.repository;
+
+import com.africa.semiclon.capStoneProject.data.models.Agent;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.dtos.request.ViewWasteRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.africa.semiclon.capStoneProject.data.models.Waste.ID_ALLOCATION_SIZE;
+
+/**
+ * Selects straight into {@link WasteSummary}, so no Waste, User or Agent entity is
+ * materialized and the page is one statement regardless of how the filters combine.
+ */
+public class WasteRepositoryCustomImpl implements WasteRepositoryCustom {
+    private static final int BATCH_SIZE = 500;
+    private static final String RESERVE_IDS = "select nextval('waste_seq') from generate_series(1, ?)";
+    private static final String INSERT = "insert into waste (waste_id, type, quantity, price, description, " +
+            "waste_collection_date, uploader_user_id, time_created) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WasteRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<WasteSummary> findSummaries(ViewWasteRequest filter, WasteCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WasteSummary> query = cb.createQuery(WasteSummary.class);
+        Root<Waste> waste = query.from(Waste.class);
+        Join<Waste, Agent> agent = waste.join("agent", JoinType.LEFT);
+        Join<Waste, User> uploader = waste.join("uploader", JoinType.LEFT);
+        Path<LocalDateTime> timeCreated = waste.get("timeCreated");
+        Path<Long> wasteId = waste.get("wasteId");
+
+        query.select(cb.construct(WasteSummary.class,
+                wasteId, waste.get("type"), waste.get("quantity"), waste.get("price"),
+                waste.get("url"), waste.get("description"), timeCreated, waste.get("wasteCollectionDate"),
+                uploader.get("userId"), agent.get("id"), agent.get("username")));
+        query.where(predicates(cb, waste, filter, cursor).toArray(Predicate[]::new));
+        query.orderBy(cb.desc(timeCreated), cb.desc(wasteId));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder cb, Root<Waste> waste,
+                                              ViewWasteRequest filter, WasteCursor cursor) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDateTime> timeCreated = waste.get("timeCreated");
+        Path<LocalDateTime> collectionDate = waste.get("wasteCollectionDate");
+        if (filter.getCategory() != null) predicates.add(cb.equal(waste.get("type"), filter.getCategory()));
+        if (filter.getAgentId() != null) predicates.add(cb.equal(waste.get("agent").get("id"), filter.getAgentId()));
+        if (filter.getAssigned() != null) predicates.add(filter.getAssigned()
+                ? cb.isNotNull(waste.get("agent")) : cb.isNull(waste.get("agent")));
+        if (filter.getUploadedFrom() != null) predicates.add(cb.greaterThanOrEqualTo(timeCreated, filter.getUploadedFrom()));
+        if (filter.getUploadedTo() != null) predicates.add(cb.lessThan(timeCreated, filter.getUploadedTo()));
+        if (filter.getCollectedFrom() != null) predicates.add(cb.greaterThanOrEqualTo(collectionDate, filter.getCollectedFrom()));
+        if (filter.getCollectedTo() != null) predicates.add(cb.lessThan(collectionDate, filter.getCollectedTo()));
+        if (cursor != null) {
+            Path<Long> wasteId = waste.get("wasteId");
+            predicates.add(cb.or(cb.lessThan(timeCreated, cursor.timeCreated()),
+                    cb.and(cb.equal(timeCreated, cursor.timeCreated()), cb.lessThan(wasteId, cursor.wasteId()))));
+        }
+        return predicates;
+    }
+
+    @Override
+    public void insertAll(List<Waste> wastes) {
+        if (wastes.isEmpty()) return;
+        List<Long> ids = reserveIds(wastes.size());
+        for (int index = 0; index < wastes.size(); index++) wastes.get(index).setWasteId(ids.get(index));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, wastes, BATCH_SIZE, (statement, waste) -> {
+            statement.setLong(1, waste.getWasteId());
+            statement.setString(2, waste.getType() == null ? null : waste.getType().name());
+            statement.setObject(3, waste.getQuantity(), Types.INTEGER);
+            statement.setBigDecimal(4, waste.getPrice());
+            statement.setString(5, waste.getDescription());
+            statement.setTimestamp(6, waste.getWasteCollectionDate() == null
+                    ? null : Timestamp.valueOf(waste.getWasteCollectionDate()));
+            statement.setObject(7, waste.getUploader() == null ? null : waste.getUploader().getUserId(), Types.BIGINT);
+            statement.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Takes whole blocks from {@code waste_seq} the way Hibernate's pooled optimizer does: each
+     * value {@code v} owns the ids {@code v - allocationSize + 1 .. v}, so these ids can never be
+     * handed out by Hibernate as well. The first value of a fresh sequence owns only itself.
+     */
+    private List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+            for (Long high : jdbcTemplate.queryForList(RESERVE_IDS, Long.class, blocks)) {
+                for (long id = Math.max(1, high - ID_ALLOCATION_SIZE + 1); id <= high && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,12 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchAwardPointRequest {
+    private List<AwardPointRequest> awards;
+}
@@ -0,0 +1,47 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferRequest {
+
+    @JsonProperty("currency")
+    private String currency;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("transfers")
+    private List<Transfer> transfers;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Transfer {
+
+        /**
+         * In kobo.
+         */
+        @JsonProperty("amount")
+        private long amount;
+
+        @JsonProperty("recipient")
+        private String recipient;
+
+        @JsonProperty("reference")
+        private String reference;
+
+        @JsonProperty("reason")
+        private String reason;
+    }
+}
@@ -37,4 +37,7 @@ public class InitializePaymentRequest {
     @NotNull(message = "Channels cannot be null")
     @JsonProperty("channels")
     private String[] channels;
+
+    @JsonProperty("reference")
+    private String reference;
 }
@@ -1,12 +1,31 @@
 package com.africa.semiclon.capStoneProject.dtos.request;
 
+import com.africa.semiclon.capStoneProject.data.models.Authority;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 
 @Getter
 @Setter
 public class ManageUsersRequest {
     private Long adminId;
+    private String cursor;
+    private Integer size;
+    private UserSortField sortBy = UserSortField.TIME_CREATED;
+    private Sort.Direction direction = Sort.Direction.DESC;
+    private String usernamePrefix;
+    private Authority authority;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime createdTo;
 
-
+    public enum UserSortField {
+        TIME_CREATED, ID
+    }
 }
@@ -0,0 +1,19 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One payee of a bulk payout. CSV uploads name these fields in their header row, NDJSON uploads
+ * carry one object per line.
+ */
+@Getter
+@Setter
+public class PayoutRow {
+    public static final String CSV_HEADER = "userId,amount";
+
+    private Long userId;
+    private BigDecimal amount;
+}
@@ -0,0 +1,13 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class RedeemPointRequest {
+    private Long userId;
+    private BigDecimal points;
+}
@@ -0,0 +1,15 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class TransferInstruction {
+    private String reference;
+    private BigDecimal amount;
+    private String recipient;
+    private String reason;
+}
@@ -0,0 +1,10 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class TransferRecipientRequest {
+    private String recipientCode;
+}
@@ -1,11 +1,30 @@
 package com.africa.semiclon.capStoneProject.dtos.request;
 
+import com.africa.semiclon.capStoneProject.data.models.Category;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 
 @Getter
 @Setter
 public class ViewWasteRequest {
     private Long adminId;
+    private String cursor;
+    private Integer size;
+    private Category category;
+    private Long agentId;
+    private Boolean assigned;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime uploadedFrom;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime uploadedTo;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime collectedFrom;
+    @DateTimeFormat(iso = DATE_TIME)
+    private LocalDateTime collectedTo;
 
 }
@@ -0,0 +1,28 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One item of a depot manifest. CSV manifests name these fields in their header row, NDJSON
+ * manifests carry one object per line.
+ */
+@Getter
+@Setter
+public class WasteManifestRow {
+    public static final String CSV_HEADER = "category,quantity,price,description,collectionDate,userId";
+
+    private Category category;
+    private Integer quantity;
+    private BigDecimal price;
+    private String description;
+    @JsonDeserialize(using = LocalDateTimeDeserializer.class)
+    private LocalDateTime collectionDate;
+    private Long userId;
+}
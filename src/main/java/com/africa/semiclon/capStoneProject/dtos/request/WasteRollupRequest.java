@@ -0,0 +1,21 @@
+package com.africa.semiclon.capStoneProject.dtos.request;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
+
+@Getter
+@Setter
+public class WasteRollupRequest {
+    @DateTimeFormat(iso = DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DATE)
+    private LocalDate to;
+    private Category category;
+    private Long agentId;
+}
@@ -0,0 +1,15 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class BatchAwardPointResponse {
+    private String message;
+    private int awardCount;
+    private int userCount;
+    private BigDecimal awardedPoints;
+}
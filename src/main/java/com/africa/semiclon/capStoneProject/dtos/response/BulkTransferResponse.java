@@ -0,0 +1,25 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkTransferResponse {
+
+    @JsonProperty("status")
+    private Boolean status;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("data")
+    private List<TransferResult> data;
+}
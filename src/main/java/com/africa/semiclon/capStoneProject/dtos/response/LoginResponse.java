@@ -10,4 +10,5 @@ import lombok.Setter;
 public class LoginResponse {
     private String message;
     private String token;
+    private String refreshToken;
 }
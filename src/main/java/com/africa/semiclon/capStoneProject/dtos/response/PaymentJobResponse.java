@@ -0,0 +1,42 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.PaymentJob;
+import com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus;
+import com.africa.semiclon.capStoneProject.data.models.PricingPlanType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PaymentJobResponse {
+    private String jobId;
+    private PricingPlanType type;
+    private PaymentJobStatus status;
+    private BigDecimal amount;
+    private String journalId;
+    private String reference;
+    private String authorizationUrl;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public static PaymentJobResponse from(PaymentJob job) {
+        PaymentJobResponse response = new PaymentJobResponse();
+        response.setJobId(job.getJobId());
+        response.setType(job.getType());
+        response.setStatus(job.getStatus());
+        response.setAmount(job.getAmount());
+        response.setJournalId(job.getJournalId());
+        response.setReference(job.getReference());
+        response.setAuthorizationUrl(job.getAuthorizationUrl());
+        response.setFailureReason(job.getFailureReason());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+}
@@ -0,0 +1,30 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutBatchStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch's progress. Row errors are only reported by the upload itself; rows that failed to
+ * parse never become items.
+ */
+@Getter
+@Setter
+public class PayoutBatchResponse {
+    private String batchId;
+    private PayoutBatchStatus status;
+    private long totalRows;
+    private long rejectedRows;
+    private long queued;
+    private long sent;
+    private long succeeded;
+    private long failed;
+    private LocalDateTime createdAt;
+    private LocalDateTime ingestedAt;
+    private List<PayoutRowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
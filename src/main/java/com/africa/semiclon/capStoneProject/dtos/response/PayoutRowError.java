@@ -0,0 +1,11 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PayoutRowError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PointsBalanceResponse {
+    private Long userId;
+    private BigDecimal totalPoints;
+    private BigDecimal pointEarned;
+    private BigDecimal pointRedeemed;
+}
@@ -0,0 +1,24 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.PointsEntryType;
+import com.africa.semiclon.capStoneProject.data.models.PointsLedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PointsEntrySummary {
+    private Long entryId;
+    private PointsEntryType type;
+    private BigDecimal amount;
+    private Long wasteId;
+    private LocalDateTime createdAt;
+
+    public static PointsEntrySummary from(PointsLedgerEntry entry) {
+        return new PointsEntrySummary(entry.getEntryId(), entry.getType(), entry.getAmount(),
+                entry.getWasteId(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,14 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class PointsHistoryResponse {
+    private List<PointsEntrySummary> entries;
+    private Long nextBefore;
+    private boolean hasMore;
+}
@@ -0,0 +1,33 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransferResult {
+    public static final String SUCCESS = "success";
+    public static final String FAILED = "failed";
+    public static final String REVERSED = "reversed";
+
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("transfer_code")
+    private String transferCode;
+
+    /**
+     * Paystack's transfer status: {@code success} and {@code failed} are final, anything else
+     * ({@code pending}, {@code otp}, {@code queued}) is confirmed later by webhook.
+     */
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("message")
+    private String message;
+}
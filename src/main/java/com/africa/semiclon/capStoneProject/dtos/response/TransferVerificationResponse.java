@@ -0,0 +1,23 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransferVerificationResponse {
+
+    @JsonProperty("status")
+    private Boolean status;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("data")
+    private TransferResult data;
+}
@@ -0,0 +1,37 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+public class UserSummary {
+    private Long userId;
+    private String username;
+    private String email;
+    private String phoneNumber;
+    private BigDecimal balance;
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime timeCreated;
+    private Set<Authority> authorities;
+
+    public static UserSummary from(User user) {
+        UserSummary summary = new UserSummary();
+        summary.setUserId(user.getUserId());
+        summary.setUsername(user.getUsername());
+        summary.setEmail(user.getEmail());
+        summary.setPhoneNumber(user.getPhoneNumber());
+        summary.setBalance(user.getBalance());
+        summary.setTimeCreated(user.getTimeCreated());
+        summary.setAuthorities(user.getAuthorities() == null ? Set.of() : Set.copyOf(user.getAuthorities()));
+        return summary;
+    }
+}
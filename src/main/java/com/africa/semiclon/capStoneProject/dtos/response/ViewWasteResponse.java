@@ -1,6 +1,5 @@
 package com.africa.semiclon.capStoneProject.dtos.response;
 
-import com.africa.semiclon.capStoneProject.data.models.Waste;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +8,8 @@ import java.util.List;
 @Getter
 @Setter
 public class ViewWasteResponse {
-    private List<Waste> wastes;
+    private List<WasteSummary> wastes;
+    private String nextCursor;
+    private boolean hasMore;
 
 }
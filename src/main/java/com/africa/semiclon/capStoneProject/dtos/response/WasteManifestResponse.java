@@ -0,0 +1,17 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class WasteManifestResponse {
+    private long totalRows;
+    private long acceptedRows;
+    private long rejectedRows;
+    private List<WasteManifestError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
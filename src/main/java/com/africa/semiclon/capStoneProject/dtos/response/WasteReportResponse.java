@@ -10,5 +10,7 @@ import java.util.List;
 @Setter
 public class WasteReportResponse {
     private List<WasteReport> reportItems;
+    /** Whole-day totals from the daily rollup covering the report range. */
+    private List<WasteRollupSummary> categoryTotals;
     private String message;
 }
@@ -0,0 +1,47 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class WasteReportRow {
+    public static final String CSV_HEADER = "wasteId,category,quantity,price,assignedAgent,collectionDate";
+
+    private Long wasteId;
+    private Category category;
+    private Integer quantity;
+    private BigDecimal price;
+    private String assignedAgent;
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime collectionDate;
+
+    public String toCsv() {
+        return String.join(",",
+                csv(wasteId), csv(category), csv(quantity),
+                price == null ? "" : price.toPlainString(),
+                csv(text(assignedAgent)), csv(collectionDate));
+    }
+
+    /**
+     * Prefixes free text that a spreadsheet would evaluate as a formula with {@code '}, so an
+     * exported name cannot run as one when the report is opened.
+     */
+    private static String text(String value) {
+        if (value == null || value.isEmpty()) return value;
+        return "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
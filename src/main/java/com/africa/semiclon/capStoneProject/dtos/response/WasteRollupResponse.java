@@ -0,0 +1,13 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class WasteRollupResponse {
+    private List<WasteRollupSummary> days;
+    private List<WasteRollupSummary> totals;
+}
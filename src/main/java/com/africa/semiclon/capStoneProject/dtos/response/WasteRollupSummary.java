@@ -0,0 +1,35 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.WasteDailyRollup;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class WasteRollupSummary {
+    private LocalDate day;
+    private Category category;
+    private Long agentId;
+    private Long wasteCount;
+    private Long totalQuantity;
+    private BigDecimal totalPrice;
+    private Long collectionCount;
+    private Double collectedWeight;
+
+    public WasteRollupSummary(Category category, Long wasteCount, Long totalQuantity, BigDecimal totalPrice,
+                              Long collectionCount, Double collectedWeight) {
+        this(null, category, null, wasteCount, totalQuantity, totalPrice, collectionCount, collectedWeight);
+    }
+
+    public static WasteRollupSummary from(WasteDailyRollup rollup) {
+        WasteDailyRollup.Key id = rollup.getId();
+        return new WasteRollupSummary(id.getRollupDay(), id.getCategory(),
+                id.getAgentId() == WasteDailyRollup.NO_AGENT ? null : id.getAgentId(),
+                rollup.getWasteCount(), rollup.getTotalQuantity(), rollup.getTotalPrice(),
+                rollup.getCollectionCount(), rollup.getCollectedWeight());
+    }
+}
@@ -0,0 +1,28 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class WasteSummary {
+    private Long wasteId;
+    private Category category;
+    private Integer quantity;
+    private BigDecimal price;
+    private String url;
+    private String description;
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime timeCreated;
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime wasteCollectionDate;
+    private Long uploaderId;
+    private Long agentId;
+    private String agentUsername;
+}
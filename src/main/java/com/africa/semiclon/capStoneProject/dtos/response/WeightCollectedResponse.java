@@ -1,10 +1,17 @@
 package com.africa.semiclon.capStoneProject.dtos.response;
 
+import com.africa.semiclon.capStoneProject.data.models.Category;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @Getter
 @Setter
 public class WeightCollectedResponse {
-    private int weight;
+    private double weight;
+    private long collectionCount;
+    private Map<Category, Long> countByCategory;
+    private LocalDateTime lastCollectedAt;
 }
@@ -0,0 +1,16 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class WithdrawResponse {
+    private String message;
+    private String reference;
+    private String journalId;
+    private BigDecimal amount;
+    private BigDecimal balance;
+}
@@ -0,0 +1,7 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
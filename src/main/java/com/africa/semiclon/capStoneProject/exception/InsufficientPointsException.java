@@ -0,0 +1,7 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+public class InsufficientPointsException extends RuntimeException {
+    public InsufficientPointsException(String message) {
+        super(message);
+    }
+}
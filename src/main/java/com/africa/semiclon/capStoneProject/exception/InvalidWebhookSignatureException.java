@@ -0,0 +1,7 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+public class InvalidWebhookSignatureException extends RuntimeException {
+    public InvalidWebhookSignatureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+public class PaymentJobNotFoundException extends RuntimeException {
+    public PaymentJobNotFoundException(String message) {
+        super(message);
+    }
+}
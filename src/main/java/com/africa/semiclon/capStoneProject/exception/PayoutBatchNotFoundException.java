@@ -0,0 +1,7 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+public class PayoutBatchNotFoundException extends RuntimeException {
+    public PayoutBatchNotFoundException(String message) {
+        super(message);
+    }
+}
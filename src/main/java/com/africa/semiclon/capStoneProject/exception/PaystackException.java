@@ -0,0 +1,22 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+import lombok.Getter;
+
+/**
+ * A Paystack call that failed, either with a non-success status ({@link #getStatusCode()}) or
+ * before a response arrived, in which case the status code is 0.
+ */
+@Getter
+public class PaystackException extends RuntimeException {
+    private final int statusCode;
+
+    public PaystackException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public PaystackException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.africa.semiclon.capStoneProject.exception;
+
+/**
+ * A Paystack call that was never made because the circuit is open or too many calls are already
+ * in flight. Like any call that got no response, it carries status code 0 and can be tried again later.
+ */
+public class PaystackUnavailableException extends PaystackException {
+    public PaystackUnavailableException(String message) {
+        super(message, 0);
+    }
+}
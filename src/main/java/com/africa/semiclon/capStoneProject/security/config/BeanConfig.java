@@ -1,14 +1,21 @@
 package com.africa.semiclon.capStoneProject.security.config;
 
+import com.africa.semiclon.capStoneProject.security.crypto.BCryptStrengthCalibrator;
+import com.africa.semiclon.capStoneProject.security.crypto.OffloadedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class BeanConfig {
     @Bean
-    public PasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int strength = properties.strength() != null ? properties.strength()
+                : BCryptStrengthCalibrator.calibrate(properties.targetHashTime(),
+                        properties.minStrength(), properties.maxStrength());
+        int threads = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+        return new OffloadedPasswordEncoder(strength, threads, properties.queueCapacity(),
+                properties.waitTimeout(), meterRegistry);
     }
 }
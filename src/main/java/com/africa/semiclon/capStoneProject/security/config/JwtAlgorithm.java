@@ -0,0 +1,56 @@
+package com.africa.semiclon.capStoneProject.security.config;
+
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Signing algorithms a key in the {@link JwtKeyRing} can use. ECDSA keys give much shorter
+ * tokens; RS512 is what tokens issued before key ids used. See JwtSigningBenchmark for speed.
+ */
+public enum JwtAlgorithm {
+    RS256("RSA") {
+        @Override
+        public Algorithm toAlgorithm(PublicKey publicKey, PrivateKey privateKey) {
+            return Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+        }
+    },
+    RS512("RSA") {
+        @Override
+        public Algorithm toAlgorithm(PublicKey publicKey, PrivateKey privateKey) {
+            return Algorithm.RSA512((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey);
+        }
+    },
+    ES256("EC") {
+        @Override
+        public Algorithm toAlgorithm(PublicKey publicKey, PrivateKey privateKey) {
+            return Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+        }
+    },
+    ES384("EC") {
+        @Override
+        public Algorithm toAlgorithm(PublicKey publicKey, PrivateKey privateKey) {
+            return Algorithm.ECDSA384((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+        }
+    };
+
+    private final String keyType;
+
+    JwtAlgorithm(String keyType) {
+        this.keyType = keyType;
+    }
+
+    public String getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * @param privateKey may be null for retired keys that only verify tokens still in circulation
+     */
+    public abstract Algorithm toAlgorithm(PublicKey publicKey, PrivateKey privateKey);
+}
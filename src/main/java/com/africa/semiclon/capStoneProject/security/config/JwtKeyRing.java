@@ -0,0 +1,89 @@
+package com.africa.semiclon.capStoneProject.security.config;
+
+import com.africa.semiclon.capStoneProject.security.config.JwtProperties.SigningKey;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.africa.semiclon.capStoneProject.security.utils.PemKeys.readPrivateKey;
+import static com.africa.semiclon.capStoneProject.security.utils.PemKeys.readPublicKey;
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_ISSUER;
+
+/**
+ * Every signing key the application knows about, by key id. New tokens are signed with the
+ * active key and carry its id in the {@code kid} header; incoming tokens are verified with the
+ * key their header names. Rotating means adding a key, making it active, and keeping the old
+ * one (public part only is enough) until the tokens it signed have expired.
+ * Tokens without a {@code kid} predate the key ring and are checked against the legacy RSA key.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    public static final String LEGACY_KEY_ID = "rsa-legacy";
+
+    private final Map<String, Algorithm> algorithms = new HashMap<>();
+    private final Map<String, JWTVerifier> verifiers = new HashMap<>();
+    private final Set<String> signingKeyIds = new HashSet<>();
+    private final String activeKeyId;
+    private final Duration accessTokenTtl;
+
+    public JwtKeyRing(RsaKeyProperties rsaKeys, JwtProperties jwtProperties) {
+        register(LEGACY_KEY_ID, Algorithm.RSA512(rsaKeys.publicKey(), rsaKeys.privateKey()));
+        signingKeyIds.add(LEGACY_KEY_ID);
+        for (SigningKey key : jwtProperties.keys()) {
+            JwtAlgorithm algorithm = key.algorithm();
+            register(key.id(), algorithm.toAlgorithm(
+                    readPublicKey(key.publicKey(), algorithm.getKeyType()),
+                    key.privateKey() == null ? null : readPrivateKey(key.privateKey(), algorithm.getKeyType())));
+            if (key.privateKey() != null) signingKeyIds.add(key.id());
+        }
+        if (!algorithms.containsKey(jwtProperties.activeKeyId()))
+            throw new IllegalStateException("Active JWT key " + jwtProperties.activeKeyId() + " is not configured");
+        if (!signingKeyIds.contains(jwtProperties.activeKeyId()))
+            throw new IllegalStateException("Active JWT key " + jwtProperties.activeKeyId() + " has no private key to sign with");
+        this.activeKeyId = jwtProperties.activeKeyId();
+        this.accessTokenTtl = jwtProperties.accessTokenTtl();
+        log.info("Signing access tokens with key {} ({}), {} keys accepted for verification",
+                activeKeyId, algorithms.get(activeKeyId).getName(), verifiers.size());
+    }
+
+    private void register(String keyId, Algorithm algorithm) {
+        algorithms.put(keyId, algorithm);
+        verifiers.put(keyId, JWT.require(algorithm)
+                .withIssuer(JWT_ISSUER)
+                .withClaimPresence("roles")
+                .withClaimPresence("principal")
+                .withClaimPresence("credentials")
+                .build());
+    }
+
+    public String sign(JWTCreator.Builder builder) {
+        Algorithm algorithm = algorithms.get(activeKeyId);
+        if (LEGACY_KEY_ID.equals(activeKeyId)) return builder.sign(algorithm);
+        return builder.withKeyId(activeKeyId).sign(algorithm);
+    }
+
+    public DecodedJWT verify(String token) {
+        DecodedJWT decodedJWT = JWT.decode(token);
+        String keyId = decodedJWT.getKeyId() == null ? LEGACY_KEY_ID : decodedJWT.getKeyId();
+        JWTVerifier verifier = verifiers.get(keyId);
+        if (verifier == null) throw new JWTVerificationException("Unknown signing key: " + keyId);
+        return verifier.verify(decodedJWT);
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+}
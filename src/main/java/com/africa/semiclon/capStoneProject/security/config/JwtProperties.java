@@ -0,0 +1,24 @@
+package com.africa.semiclon.capStoneProject.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param activeKeyId    key new access tokens are signed with; defaults to the legacy RSA key from {@code rsa.*}
+ * @param keys           additional keys, looked up by the {@code kid} header of incoming tokens
+ */
+@ConfigurationProperties(prefix = "jwt")
+public record JwtProperties(@DefaultValue(JwtKeyRing.LEGACY_KEY_ID) String activeKeyId,
+                            @DefaultValue("1h") Duration accessTokenTtl,
+                            @DefaultValue List<SigningKey> keys) {
+
+    /**
+     * @param privateKey optional; a key without one can still verify tokens it signed before being retired
+     */
+    public record SigningKey(String id, JwtAlgorithm algorithm, Resource publicKey, Resource privateKey) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.africa.semiclon.capStoneProject.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param strength       fixed BCrypt cost; when unset the cost is calibrated at startup
+ * @param threads        hashing threads, 0 means one per available processor
+ * @param queueCapacity  hashing requests allowed to wait before new ones are shed
+ * @param waitTimeout    how long a request thread waits for its hash before giving up
+ */
+@ConfigurationProperties(prefix = "security.password-hashing")
+public record PasswordHashingProperties(Integer strength,
+                                        @DefaultValue("10") int minStrength,
+                                        @DefaultValue("14") int maxStrength,
+                                        @DefaultValue("100ms") Duration targetHashTime,
+                                        @DefaultValue("0") int threads,
+                                        @DefaultValue("100") int queueCapacity,
+                                        @DefaultValue("5s") Duration waitTimeout) {
+}
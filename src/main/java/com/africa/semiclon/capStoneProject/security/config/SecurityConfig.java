@@ -3,6 +3,9 @@ package com.africa.semiclon.capStoneProject.security.config;
 
 import com.africa.semiclon.capStoneProject.security.filters.CustomAuthorizationFilter;
 import com.africa.semiclon.capStoneProject.security.filters.CustomUsernamePasswordAuthenticationFilter;
+import com.africa.semiclon.capStoneProject.security.filters.RateLimitFilter;
+import com.africa.semiclon.capStoneProject.security.services.Implementation.AccessTokenIssuer;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.RefreshTokenService;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,25 +31,35 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 public class SecurityConfig {
 
     private final AuthenticationManager authenticationManager;
-    private RsaKeyProperties rsaKeys;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final RefreshTokenService refreshTokenService;
     private final CustomAuthorizationFilter authorizationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        var authenticationFilter = new CustomUsernamePasswordAuthenticationFilter(authenticationManager, rsaKeys);
+        var authenticationFilter = new CustomUsernamePasswordAuthenticationFilter(authenticationManager, accessTokenIssuer, refreshTokenService);
         authenticationFilter.setFilterProcessesUrl("/api/v1/auth/login");
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .addFilterAt(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, CustomUsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(authorizationFilter, CustomUsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(POST, "/api/v1/auth/logoutAll").authenticated()
                         .requestMatchers(POST,"/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/agent/id").permitAll() // Allow public access
                         .requestMatchers("/api/v1/user/admin").hasAnyAuthority("ADMIN", "AGENT")
+                        .requestMatchers(POST, "/api/v1/waste/manifest").hasAnyAuthority("ADMIN", "AGENT")
+                        .requestMatchers("/api/v1/admin/payouts/**").hasAuthority("ADMIN")
+                        .requestMatchers(POST, "/api/v1/admin/wasteRollup/rebuild").hasAuthority("ADMIN")
+                        .requestMatchers(POST, "/api/v1/admin/collectionStats/rebuild").hasAuthority("ADMIN")
+                        .requestMatchers(POST, "/api/v1/admin/pointsLedger/compact").hasAuthority("ADMIN")
                         .requestMatchers("api/v1/admin/**").permitAll()
                         .requestMatchers("api/v1/user/sellWaste").permitAll()
                         .requestMatchers("/api/v1/payments/**").permitAll()
+                        .requestMatchers(POST, "/api/v1/paystack/webhook").permitAll()
                         .requestMatchers("/api/v1/admin/makePayment").permitAll()
                         .requestMatchers("/api/v1/admin/processWithdrawal").permitAll()
                         .anyRequest().authenticated()
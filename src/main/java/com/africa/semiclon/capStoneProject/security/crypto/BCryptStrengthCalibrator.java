@@ -0,0 +1,34 @@
+package com.africa.semiclon.capStoneProject.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+public class BCryptStrengthCalibrator {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private BCryptStrengthCalibrator() {}
+
+    /**
+     * Picks the highest cost whose hash time stays within the target on this machine.
+     * Every extra cost step doubles the work, so one timed hash at the minimum cost is enough.
+     */
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD);
+        long startedAt = System.nanoTime();
+        probe.encode(CALIBRATION_PASSWORD);
+        double hashNanos = System.nanoTime() - startedAt;
+        int strength = minStrength;
+        while (strength < maxStrength && hashNanos * 2 <= targetHashTime.toNanos()) {
+            strength++;
+            hashNanos *= 2;
+        }
+        log.info("Calibrated BCrypt strength {} (~{} ms per hash, target {} ms)",
+                strength, Math.round(hashNanos / 1_000_000), targetHashTime.toMillis());
+        return strength;
+    }
+}
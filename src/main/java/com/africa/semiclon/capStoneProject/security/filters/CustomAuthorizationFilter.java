@@ -1,10 +1,10 @@
 package com.africa.semiclon.capStoneProject.security.filters;
 
-import com.africa.semiclon.capStoneProject.security.config.RsaKeyProperties;
+import com.africa.semiclon.capStoneProject.security.config.JwtKeyRing;
+import com.africa.semiclon.capStoneProject.security.model.VerifiedToken;
+import com.africa.semiclon.capStoneProject.security.services.Implementation.VerifiedTokenCache;
 import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -34,8 +34,9 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @AllArgsConstructor
 @Slf4j
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
-    private final RsaKeyProperties rsaKeys;
     private final AuthServices authService;
+    private final JwtKeyRing jwtKeyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -53,38 +54,47 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
         if (authorizationHeader != null) {
             String token = authorizationHeader.substring(JWT_PREFIX.length()).strip();
             if (isTokenBlacklisted(response, token)) return;
-            doAuthorization(token);
+            try {
+                doAuthorization(token);
+            } catch (JWTVerificationException exception) {
+                log.warn("Token verification failed: {}", exception.getMessage());
+                sendUnauthorized(response);
+                return;
+            }
         }
         filterChain.doFilter(request, response);
     }
 
     private boolean isTokenBlacklisted(HttpServletResponse response, String token) throws IOException {
         if (authService.isTokenBlacklisted(token)) {
-            log.warn("Token is blacklisted: {}", token);
-            response.sendError(SC_UNAUTHORIZED, "Unauthorized");
-            response.setContentType(APPLICATION_JSON_VALUE);
-            response.getWriter().write("{\"error\": \"Token is expired or invalid\"}");
-            response.getWriter().flush();
+            log.warn("Token is blacklisted");
+            sendUnauthorized(response);
             return true;
         }
         return false;
     }
 
+    private void sendUnauthorized(HttpServletResponse response) throws IOException {
+        response.sendError(SC_UNAUTHORIZED, "Unauthorized");
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\": \"Token is expired or invalid\"}");
+        response.getWriter().flush();
+    }
+
     private void doAuthorization(String token) {
-        Algorithm algorithm = Algorithm.RSA512(rsaKeys.publicKey(), rsaKeys.privateKey());
-        JWTVerifier jwtVerifier = JWT.require(algorithm)
-                .withIssuer("waste_app")
-                .withClaimPresence("roles")
-                .withClaimPresence("principal")
-                .withClaimPresence("credentials")
-                .build();
-        DecodedJWT decodedJWT = jwtVerifier.verify(token);
+        VerifiedToken verifiedToken = verifiedTokenCache.getOrVerify(token, this::verify);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                verifiedToken.principal(), verifiedToken.credentials(), verifiedToken.authorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.info("User authorization succeeded");
+    }
+
+    private VerifiedToken verify(String token) {
+        DecodedJWT decodedJWT = jwtKeyRing.verify(token);
         List<? extends GrantedAuthority> authorities = decodedJWT.getClaim("roles")
                 .asList(SimpleGrantedAuthority.class);
         String principal = decodedJWT.getClaim("principal").asString();
         String credentials = decodedJWT.getClaim("credentials").asString();
-        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, credentials, authorities);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        log.info("User authorization succeeded");
+        return new VerifiedToken(principal, credentials, authorities, decodedJWT.getExpiresAtAsInstant());
     }
 }
@@ -6,9 +6,8 @@ import com.africa.semiclon.capStoneProject.dtos.request.LoginRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.ApiResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.ErrorResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.LoginResponse;
-import com.africa.semiclon.capStoneProject.security.config.RsaKeyProperties;
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.africa.semiclon.capStoneProject.security.services.Implementation.AccessTokenIssuer;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.RefreshTokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,22 +16,21 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.Instant;
-import java.util.Collection;
 
+import static jakarta.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 import static jakarta.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
 import static java.time.LocalDateTime.now;
-import static java.time.temporal.ChronoUnit.HOURS;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @AllArgsConstructor
@@ -42,7 +40,8 @@ public class CustomUsernamePasswordAuthenticationFilter extends UsernamePassword
     private final ObjectMapper mapper = new ObjectMapper();
 
     private final AuthenticationManager authenticationManager;
-    private final RsaKeyProperties rsaKeys;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request,
@@ -72,7 +71,9 @@ public class CustomUsernamePasswordAuthenticationFilter extends UsernamePassword
             throws IOException, ServletException {
 
         LoginResponse loginResponse = new LoginResponse();
-        loginResponse.setToken(generateAccessToken(authResult));
+        String username = authResult.getPrincipal().toString();
+        loginResponse.setToken(accessTokenIssuer.issue(username, authResult.getAuthorities()));
+        loginResponse.setRefreshToken(refreshTokenService.issue(username));
         loginResponse.setMessage("Authentication succeeded");
         ApiResponse<LoginResponse> apiResponse =
                 new ApiResponse<>(now(), true, loginResponse);
@@ -83,27 +84,6 @@ public class CustomUsernamePasswordAuthenticationFilter extends UsernamePassword
         chain.doFilter(request, response);
     }
 
-    private String generateAccessToken(Authentication authResult) {
-        Algorithm algorithm = Algorithm.RSA512(rsaKeys.publicKey(), rsaKeys.privateKey());
-        Instant now = Instant.now();
-        return JWT.create()
-                .withIssuer("waste_app")
-                .withIssuedAt(now)
-                .withExpiresAt(now.plus(1, HOURS))
-                .withSubject(authResult.getPrincipal().toString())
-                .withClaim("principal", authResult.getPrincipal().toString())
-                .withClaim("credentials", authResult.getCredentials().toString())
-                .withArrayClaim("roles", extractAuthorities(authResult.getAuthorities()))
-                .sign(algorithm);
-    }
-
-    private String[] extractAuthorities(Collection<? extends GrantedAuthority> authorities) {
-        return authorities
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .toArray(String[]::new);
-    }
-
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request,
                                               HttpServletResponse response,
@@ -116,7 +96,12 @@ public class CustomUsernamePasswordAuthenticationFilter extends UsernamePassword
                 .message(exception.getMessage())
                 .path(request.getRequestURI())
                 .build();
-        response.sendError(SC_UNAUTHORIZED, "Unauthorized");
+        if (exception instanceof AuthenticationServiceException) {
+            response.setHeader(RETRY_AFTER, "1");
+            response.sendError(SC_SERVICE_UNAVAILABLE, "Service Unavailable");
+        } else {
+            response.sendError(SC_UNAUTHORIZED, "Unauthorized");
+        }
         response.setContentType(APPLICATION_JSON_VALUE);
         response.getOutputStream().write(mapper.writeValueAsBytes(errorResponse));
         response.flushBuffer();
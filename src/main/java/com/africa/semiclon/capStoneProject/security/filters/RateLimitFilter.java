@@ -0,0 +1,132 @@
+package com.africa.semiclon.capStoneProject.security.filters;
+
+import com.africa.semiclon.capStoneProject.security.utils.CachedBodyHttpServletRequest;
+import com.africa.semiclon.capStoneProject.security.utils.KeyedRateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Throttles login, refresh and registration before anything touches the database or BCrypt.
+ * Each request takes a token from its client IP bucket and, when the JSON body names a user,
+ * from that username's bucket as well; a body too large to inspect only counts against the IP.
+ * The IP is the connection's remote address; behind a proxy set
+ * {@code server.forward-headers-strategy} so it reflects the real client.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final List<String> LIMITED_ENDPOINTS = List.of("/api/v1/auth/login",
+            "/api/v1/auth/refresh",
+            "/api/v1/auth/register",
+            "/api/v1/user/register",
+            "/api/v1/agent/signup");
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final boolean enabled;
+    private final KeyedRateLimiter ipLimiter;
+    private final KeyedRateLimiter usernameLimiter;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${auth.rate-limit.ip.capacity:20}") long ipCapacity,
+                           @Value("${auth.rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+                           @Value("${auth.rate-limit.username.capacity:5}") long usernameCapacity,
+                           @Value("${auth.rate-limit.username.refill-period:1m}") Duration usernameRefillPeriod,
+                           @Value("${auth.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.enabled = enabled;
+        this.ipLimiter = new KeyedRateLimiter(ipCapacity, perSecond(ipCapacity, ipRefillPeriod), maxBuckets);
+        this.usernameLimiter = new KeyedRateLimiter(usernameCapacity, perSecond(usernameCapacity, usernameRefillPeriod),
+                maxBuckets);
+        this.ipRejections = meterRegistry.counter("auth.rate.limited", "key", "ip");
+        this.usernameRejections = meterRegistry.counter("auth.rate.limited", "key", "username");
+        Gauge.builder("auth.rate.buckets", ipLimiter, KeyedRateLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate.buckets", usernameLimiter, KeyedRateLimiter::size).tag("key", "username").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !LIMITED_ENDPOINTS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            ipRejections.increment();
+            log.warn("Rate limited {} from {}", request.getRequestURI(), request.getRemoteAddr());
+            sendTooManyRequests(response, waitNanos);
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_INSPECTED_BODY_BYTES);
+        String username = cachedRequest.isComplete() ? usernameOf(cachedRequest.getBody()) : null;
+        if (username != null) {
+            waitNanos = usernameLimiter.tryAcquire(username, now);
+            if (waitNanos > 0) {
+                usernameRejections.increment();
+                log.warn("Rate limited {} for username {}", request.getRequestURI(), username);
+                sendTooManyRequests(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval:1m}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int evicted = ipLimiter.evictIdle(now) + usernameLimiter.evictIdle(now);
+        if (evicted > 0) log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    private String usernameOf(byte[] body) {
+        if (body.length == 0) return null;
+        try {
+            JsonNode username = mapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText().toLowerCase() : null;
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(TOO_MANY_REQUESTS.value());
+        response.setHeader(RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\": \"Too many requests, retry after " + retryAfterSeconds + " seconds\"}");
+        response.getWriter().flush();
+    }
+
+    private static double perSecond(long capacity, Duration refillPeriod) {
+        return capacity / (refillPeriod.toNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -8,21 +8,28 @@ import lombok.ToString;
 import java.time.Instant;
 import java.time.LocalDateTime;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static java.time.LocalDateTime.now;
 import static lombok.AccessLevel.NONE;
 
 @Entity
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = {
+        @Index(name = "idx_blacklisted_tokens_token_digest", columnList = "token_digest"),
+        @Index(name = "idx_blacklisted_tokens_expires_at", columnList = "expires_at")
+})
 @Getter
 @Setter
 @ToString
 public class BlacklistedToken {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "blacklisted_tokens_seq")
+    @SequenceGenerator(name = "blacklisted_tokens_seq", allocationSize = 50)
     private Long id;
+    @ToString.Exclude
     @Column(nullable = false, length = 600)
     private String token;
+    @Column(name = "token_digest", length = 64)
+    private String tokenDigest;
     private Instant expiresAt;
     @Setter(NONE)
     private LocalDateTime blacklistedAt;
@@ -0,0 +1,50 @@
+package com.africa.semiclon.capStoneProject.security.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static lombok.AccessLevel.NONE;
+
+/**
+ * One issued refresh token. Only an HMAC digest of the token is stored. Every token
+ * rotated out of the same login shares a family id, so replaying a used token can
+ * revoke the whole chain.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_token_digest", columnList = "token_digest", unique = true),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_username", columnList = "username"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@ToString
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "token_digest", nullable = false, length = 64)
+    private String tokenDigest;
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+    @Column(nullable = false)
+    private String username;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    private Instant usedAt;
+    private boolean revoked;
+    @Setter(NONE)
+    private Instant createdAt;
+
+    @PrePersist
+    private void setCreatedAt() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,67 @@
+package com.africa.semiclon.capStoneProject.security.model;
+
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository.UserCredentialView;
+import lombok.AllArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Variant of {@link SecuredUser} built from the credential projection instead of
+ * the full {@code User} entity, so login never loads the user's history.
+ */
+@AllArgsConstructor
+public class SecuredUserCredentials implements UserDetails {
+    private final String username;
+    private final String password;
+    private final Set<Authority> authorities;
+
+    public static SecuredUserCredentials from(List<UserCredentialView> credentials) {
+        UserCredentialView first = credentials.get(0);
+        Set<Authority> authorities = credentials.stream()
+                .map(UserCredentialView::getAuthority)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return new SecuredUserCredentials(first.getUsername(), first.getPassword(), authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities
+                .stream()
+                .map(authority -> new SimpleGrantedAuthority(authority.name()))
+                .toList();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.africa.semiclon.capStoneProject.security.model;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(String principal,
+                            String credentials,
+                            List<? extends GrantedAuthority> authorities,
+                            Instant expiresAt) {
+}
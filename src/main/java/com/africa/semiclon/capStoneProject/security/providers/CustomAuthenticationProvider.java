@@ -1,22 +1,23 @@
 package com.africa.semiclon.capStoneProject.security.providers;
 
-import com.africa.semiclon.capStoneProject.data.models.User;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.exception.PasswordHashingUnavailableException;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
 @AllArgsConstructor
+@Slf4j
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
 
@@ -35,12 +36,30 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         String username = authentication.getPrincipal().toString();
         String password = authentication.getCredentials().toString();
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        boolean isMatches = passwordEncoder.matches(password, userDetails.getPassword());
-        if (isMatches) return new UsernamePasswordAuthenticationToken(
-                userDetails.getUsername(), "[PROTECTED]", userDetails.getAuthorities());
+        boolean isMatches;
+        try {
+            isMatches = passwordEncoder.matches(password, userDetails.getPassword());
+        } catch (PasswordHashingUnavailableException exception) {
+            throw new AuthenticationServiceException(exception.getMessage(), exception);
+        }
+        if (isMatches) {
+            rehashIfOutdated(userDetails, password);
+            return new UsernamePasswordAuthenticationToken(
+                    userDetails.getUsername(), "[PROTECTED]", userDetails.getAuthorities());
+        }
         throw new BadCredentialsException("Invalid username or password");
     }
 
+    private void rehashIfOutdated(UserDetails userDetails, String password) {
+        if (!passwordEncoder.upgradeEncoding(userDetails.getPassword())) return;
+        try {
+            userRepository.updatePassword(userDetails.getUsername(), passwordEncoder.encode(password));
+            log.info("Rehashed password for {} with the current cost", userDetails.getUsername());
+        } catch (PasswordHashingUnavailableException exception) {
+            log.warn("Skipped password rehash for {}: {}", userDetails.getUsername(), exception.getMessage());
+        }
+    }
+
 
     @Override
     public boolean supports(Class<?> authType) {
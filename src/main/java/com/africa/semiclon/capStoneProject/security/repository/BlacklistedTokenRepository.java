@@ -2,7 +2,32 @@ package com.africa.semiclon.capStoneProject.security.repository;
 
 import com.africa.semiclon.capStoneProject.security.model.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
-    boolean existsByToken(String token);
+    boolean existsByTokenDigest(String tokenDigest);
+
+    @Query("select b.tokenDigest as tokenDigest, b.expiresAt as expiresAt from BlacklistedToken b " +
+            "where b.expiresAt > :now and b.tokenDigest is not null")
+    List<BlacklistedDigest> findActiveDigests(Instant now);
+
+    @Query("select b.tokenDigest as tokenDigest, b.expiresAt as expiresAt from BlacklistedToken b " +
+            "where b.blacklistedAt > :since and b.expiresAt > :now and b.tokenDigest is not null")
+    List<BlacklistedDigest> findActiveDigestsBlacklistedAfter(LocalDateTime since, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BlacklistedToken b where b.expiresAt < :now")
+    int deleteAllExpiredBefore(Instant now);
+
+    interface BlacklistedDigest {
+        String getTokenDigest();
+        Instant getExpiresAt();
+    }
 }
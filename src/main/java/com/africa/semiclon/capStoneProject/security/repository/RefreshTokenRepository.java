@@ -0,0 +1,38 @@
+package com.africa.semiclon.capStoneProject.security.repository;
+
+import com.africa.semiclon.capStoneProject.security.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenDigest(String tokenDigest);
+
+    /**
+     * Claims a token for a single rotation. Returns 0 when another request used it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now " +
+            "where r.id = :id and r.usedAt is null and r.revoked = false and r.expiresAt > :now")
+    int markUsed(Long id, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId and r.revoked = false")
+    int revokeFamily(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.username = :username and r.revoked = false")
+    int revokeAllForUser(String username);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteAllExpiredBefore(Instant now);
+}
@@ -0,0 +1,38 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.security.config.JwtKeyRing;
+import com.auth0.jwt.JWT;
+import lombok.AllArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_ISSUER;
+
+@Component
+@AllArgsConstructor
+public class AccessTokenIssuer {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    public String issue(String principal, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = Instant.now();
+        return jwtKeyRing.sign(JWT.create()
+                .withIssuer(JWT_ISSUER)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(jwtKeyRing.getAccessTokenTtl()))
+                .withSubject(principal)
+                .withClaim("principal", principal)
+                .withClaim("credentials", "[PROTECTED]")
+                .withArrayClaim("roles", extractAuthorities(authorities)));
+    }
+
+    private String[] extractAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        return authorities
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .toArray(String[]::new);
+    }
+}
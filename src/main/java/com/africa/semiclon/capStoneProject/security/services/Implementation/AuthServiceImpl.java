@@ -9,6 +9,8 @@ import com.africa.semiclon.capStoneProject.exception.UsernameExistsException;
 import com.africa.semiclon.capStoneProject.security.model.BlacklistedToken;
 import com.africa.semiclon.capStoneProject.security.repository.BlacklistedTokenRepository;
 import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.HashSet;
 
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.tokenDigest;
 import static java.time.LocalDateTime.now;
 import static java.time.temporal.ChronoUnit.HOURS;
 
@@ -32,6 +35,8 @@ public class AuthServiceImpl implements AuthServices {
     private final ModelMapper mapper;
 
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenBlacklist tokenBlacklist;
+    private final TokenRevocationBroadcaster tokenRevocationBroadcaster;
 
     @Override
     public ApiResponse<RegisterResponse> register(RegisterRequest request) {
@@ -58,31 +63,33 @@ public class AuthServiceImpl implements AuthServices {
 
     @Override
     public void blacklist(String token) {
-        log.info("Trying to blacklist token: {}", token);
-        trackExpiredTokens();
+        String digest = tokenDigest(token);
+        log.info("Trying to blacklist token with digest: {}", digest);
         BlacklistedToken blacklistedToken = new BlacklistedToken();
         blacklistedToken.setToken(token);
-        blacklistedToken.setExpiresAt(Instant.now().plus(1, HOURS));
+        blacklistedToken.setTokenDigest(digest);
+        blacklistedToken.setExpiresAt(expiryOf(token));
         blacklistedTokenRepository.save(blacklistedToken);
-        log.info("Blacklisted token: {}", token);
+        tokenBlacklist.add(digest, blacklistedToken.getExpiresAt());
+        tokenRevocationBroadcaster.publish(digest, blacklistedToken.getExpiresAt());
+        log.info("Blacklisted token with digest: {}", digest);
     }
 
     @Override
     public boolean isTokenBlacklisted(String token) {
-        log.info("Checking blacklist status of token: {}", token);
-        boolean isBlacklisted = blacklistedTokenRepository.existsByToken(token);
-        log.info("Blacklist status of token: {}", isBlacklisted);
-        trackExpiredTokens();
+        boolean isBlacklisted = tokenBlacklist.contains(tokenDigest(token));
+        log.debug("Blacklist status of token: {}", isBlacklisted);
         return isBlacklisted;
     }
 
-    private void trackExpiredTokens() {
-        log.info("Tracking and deleting expired user tokens");
-        var blacklist = blacklistedTokenRepository.findAll();
-        blacklist.stream()
-                .filter(blacklistedToken -> Instant.now().isAfter(blacklistedToken.getExpiresAt()))
-                .forEach(blacklistedTokenRepository::delete);
-        log.info("Expired user tokens successfully tracked and deleted");
+    private static Instant expiryOf(String token) {
+        try {
+            Instant expiresAt = JWT.decode(token).getExpiresAtAsInstant();
+            if (expiresAt != null) return expiresAt;
+        } catch (JWTDecodeException e) {
+            log.warn("Blacklisting a token that could not be decoded: {}", e.getMessage());
+        }
+        return Instant.now().plus(1, HOURS);
     }
 
     private User registerNewUser(RegisterRequest request) {
@@ -1,8 +1,8 @@
 package com.africa.semiclon.capStoneProject.security.services.Implementation;
 
-import com.africa.semiclon.capStoneProject.data.models.User;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
-import com.africa.semiclon.capStoneProject.security.model.SecuredUser;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository.UserCredentialView;
+import com.africa.semiclon.capStoneProject.security.model.SecuredUserCredentials;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +10,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @AllArgsConstructor
 @Slf4j
@@ -20,9 +22,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.info("Trying to get user by username: {}", username);
-        User user = userRepository.findByUsername(username.toLowerCase())
-                .orElseThrow(()-> new UsernameNotFoundException("Invalid username or password"));
+        List<UserCredentialView> credentials = userRepository.findCredentialsByUsername(username.toLowerCase());
+        if (credentials.isEmpty()) throw new UsernameNotFoundException("Invalid username or password");
         log.info("Found user with username: {}", username);
-        return new SecuredUser(user);
+        return SecuredUserCredentials.from(credentials);
     }
 }
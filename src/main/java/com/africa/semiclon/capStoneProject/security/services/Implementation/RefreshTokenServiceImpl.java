@@ -0,0 +1,150 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository.UserCredentialView;
+import com.africa.semiclon.capStoneProject.dtos.response.ApiResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.LoginResponse;
+import com.africa.semiclon.capStoneProject.exception.InvalidRefreshTokenException;
+import com.africa.semiclon.capStoneProject.security.model.RefreshToken;
+import com.africa.semiclon.capStoneProject.security.model.SecuredUserCredentials;
+import com.africa.semiclon.capStoneProject.security.repository.RefreshTokenRepository;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Opaque, single-use refresh tokens. A refresh costs one HMAC, an indexed lookup and a
+ * conditional update instead of a BCrypt verification. Presenting a token that was already
+ * rotated is treated as theft and revokes every token of that login.
+ */
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final SecretKeySpec digestKey;
+    private final Duration timeToLive;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   AccessTokenIssuer accessTokenIssuer,
+                                   @Value("${auth.refresh-token.secret}") String secret,
+                                   @Value("${auth.refresh-token.ttl:14d}") Duration timeToLive) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.accessTokenIssuer = accessTokenIssuer;
+        this.digestKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Marking the presented token used and issuing its successor commit together, so a failed
+     * issue never burns the client's only valid token. Revocations made while rejecting a token
+     * are kept.
+     */
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public ApiResponse<LoginResponse> refresh(String refreshToken) {
+        RefreshToken current = find(refreshToken);
+        if (current.getUsedAt() != null || current.isRevoked()) {
+            revokeReusedFamily(current);
+        }
+        if (refreshTokenRepository.markUsed(current.getId(), Instant.now()) == 0) {
+            if (current.getExpiresAt().isBefore(Instant.now()))
+                throw new InvalidRefreshTokenException("Refresh token has expired");
+            revokeReusedFamily(current);
+        }
+        List<UserCredentialView> credentials = userRepository.findCredentialsByUsername(current.getUsername());
+        if (credentials.isEmpty()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        SecuredUserCredentials user = SecuredUserCredentials.from(credentials);
+        LoginResponse loginResponse = new LoginResponse();
+        loginResponse.setToken(accessTokenIssuer.issue(user.getUsername(), user.getAuthorities()));
+        loginResponse.setRefreshToken(issue(user.getUsername(), current.getFamilyId()));
+        loginResponse.setMessage("Token refreshed");
+        return new ApiResponse<>(now(), true, loginResponse);
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenDigest(digest(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    public void revokeAll(String username) {
+        int revoked = refreshTokenRepository.revokeAllForUser(username);
+        log.info("Revoked {} refresh tokens of {}", revoked, username);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval:1h}", initialDelayString = "${auth.refresh-token.purge-interval:1h}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteAllExpiredBefore(Instant.now());
+        log.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenDigest(digest(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUsername(username);
+        refreshToken.setExpiresAt(Instant.now().plus(timeToLive));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private RefreshToken find(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank())
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        return refreshTokenRepository.findByTokenDigest(digest(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+    }
+
+    private void revokeReusedFamily(RefreshToken reused) {
+        int revoked = refreshTokenRepository.revokeFamily(reused.getFamilyId());
+        log.warn("Refresh token reuse detected for {}, revoked {} tokens of its family", reused.getUsername(), revoked);
+        throw new InvalidRefreshTokenException("Refresh token has already been used");
+    }
+
+    private String digest(String refreshToken) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            return HexFormat.of().formatHex(mac.doFinal(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
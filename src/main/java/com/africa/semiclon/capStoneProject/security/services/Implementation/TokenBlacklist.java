@@ -0,0 +1,103 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.security.repository.BlacklistedTokenRepository;
+import com.africa.semiclon.capStoneProject.security.repository.BlacklistedTokenRepository.BlacklistedDigest;
+import com.africa.semiclon.capStoneProject.security.utils.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process view of the blacklisted_tokens table. Lookups never touch the database:
+ * a Bloom filter answers most negatives and the digest map confirms the positives.
+ * The table stays the source of truth and is re-read on startup and on every sync.
+ */
+@Component
+@Slf4j
+public class TokenBlacklist {
+
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final Map<String, Instant> revokedDigests = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastSync;
+
+    public TokenBlacklist(BlacklistedTokenRepository blacklistedTokenRepository,
+                          @Value("${auth.blacklist.expected-insertions:100000}") int expectedInsertions,
+                          @Value("${auth.blacklist.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${auth.blacklist.sync-overlap:30s}") Duration syncOverlap) {
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public boolean contains(String digest) {
+        if (!bloomFilter.mightContain(digest)) return false;
+        Instant expiresAt = revokedDigests.get(digest);
+        return expiresAt != null && Instant.now().isBefore(expiresAt);
+    }
+
+    public void add(String digest, Instant expiresAt) {
+        synchronized (writeLock) {
+            revokedDigests.merge(digest, expiresAt, (current, added) -> current.isAfter(added) ? current : added);
+            bloomFilter.put(digest);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        List<BlacklistedDigest> active = blacklistedTokenRepository.findActiveDigests(Instant.now());
+        active.forEach(entry -> add(entry.getTokenDigest(), entry.getExpiresAt()));
+        lastSync = syncStartedAt;
+        log.info("Loaded {} blacklisted token digests", active.size());
+    }
+
+    /**
+     * Picks up tokens blacklisted by other nodes since the last sync. Revocations normally
+     * arrive through {@link TokenRevocationBroadcaster}; this is the catch-up path.
+     */
+    @Scheduled(fixedDelayString = "${auth.blacklist.sync-interval:1m}", initialDelayString = "${auth.blacklist.sync-interval:1m}")
+    public void syncFromDatabase() {
+        if (lastSync == null) {
+            warmUp();
+            return;
+        }
+        LocalDateTime syncStartedAt = LocalDateTime.now();
+        blacklistedTokenRepository.findActiveDigestsBlacklistedAfter(lastSync.minus(syncOverlap), Instant.now())
+                .forEach(entry -> add(entry.getTokenDigest(), entry.getExpiresAt()));
+        lastSync = syncStartedAt;
+    }
+
+    /**
+     * Bulk-deletes expired rows and rebuilds the Bloom filter from what is left,
+     * since a Bloom filter cannot forget entries on its own.
+     */
+    @Scheduled(fixedDelayString = "${auth.blacklist.purge-interval:5m}", initialDelayString = "${auth.blacklist.purge-interval:5m}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = blacklistedTokenRepository.deleteAllExpiredBefore(now);
+        synchronized (writeLock) {
+            revokedDigests.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revokedDigests.size() * 2), falsePositiveRate);
+            revokedDigests.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+        log.info("Purged {} expired blacklisted tokens, {} still active", deleted, revokedDigests.size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pushes logout revocations to every node through a Postgres NOTIFY channel.
+ * Each node keeps one dedicated (non-pooled) connection in LISTEN mode and feeds
+ * received digests into its {@link TokenBlacklist}. Whenever that connection is
+ * (re)established the blacklist is re-synced from the table, so notifications
+ * missed while disconnected are caught up.
+ */
+@Component
+@Slf4j
+public class TokenRevocationBroadcaster implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final TokenBlacklist tokenBlacklist;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public TokenRevocationBroadcaster(JdbcTemplate jdbcTemplate,
+                                      DataSourceProperties dataSourceProperties,
+                                      TokenBlacklist tokenBlacklist,
+                                      @Value("${auth.blacklist.notify.enabled:true}") boolean enabled,
+                                      @Value("${auth.blacklist.notify.channel:token_revocations}") String channel,
+                                      @Value("${auth.blacklist.notify.poll-timeout:5s}") Duration pollTimeout,
+                                      @Value("${auth.blacklist.notify.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.tokenBlacklist = tokenBlacklist;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public void publish(String digest, Instant expiresAt) {
+        if (!enabled) return;
+        try {
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, digest + ":" + expiresAt.getEpochSecond());
+        } catch (DataAccessException exception) {
+            log.warn("Could not broadcast token revocation, other nodes will pick it up on their next sync", exception);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        listenerThread = new Thread(this::listen, "token-revocation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for token revocations on channel {}", channel);
+                tokenBlacklist.syncFromDatabase();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | DataAccessException exception) {
+                if (!running) return;
+                log.warn("Token revocation listener lost its connection, reconnecting in {}", reconnectDelay, exception);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.indexOf(':');
+        try {
+            String digest = payload.substring(0, separator);
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(payload.substring(separator + 1)));
+            tokenBlacklist.add(digest, expiresAt);
+        } catch (IndexOutOfBoundsException | NumberFormatException exception) {
+            log.warn("Ignoring malformed token revocation payload: {}", payload);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
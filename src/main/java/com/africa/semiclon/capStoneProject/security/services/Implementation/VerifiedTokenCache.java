@@ -0,0 +1,87 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.security.model.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.tokenDigest;
+
+/**
+ * Keeps the result of a successful JWT verification for a short while so that the
+ * same token is not run through the RSA signature check on every request.
+ * Entries are keyed by the token digest and never outlive the token's own expiry.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Duration maxTimeToLive;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries,
+                              @Value("${jwt.verified-cache.max-ttl:5m}") Duration maxTimeToLive) {
+        this.maxEntries = maxEntries;
+        this.maxTimeToLive = maxTimeToLive;
+        this.hits = Counter.builder("jwt.verified.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verified.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("jwt.verified.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public VerifiedToken getOrVerify(String token, Function<String, VerifiedToken> verifier) {
+        String key = tokenDigest(token);
+        Instant now = Instant.now();
+        CachedToken cached = entries.get(key);
+        if (cached != null && now.isBefore(cached.cacheUntil())) {
+            hits.increment();
+            return cached.token();
+        }
+        if (cached != null) entries.remove(key, cached);
+        misses.increment();
+        VerifiedToken verifiedToken = verifier.apply(token);
+        put(key, verifiedToken, now);
+        return verifiedToken;
+    }
+
+    public void invalidate(String token) {
+        entries.remove(tokenDigest(token));
+    }
+
+    private void put(String key, VerifiedToken verifiedToken, Instant now) {
+        Instant cacheUntil = now.plus(maxTimeToLive);
+        Instant expiresAt = verifiedToken.expiresAt();
+        if (expiresAt == null || !now.isBefore(expiresAt)) return;
+        if (expiresAt.isBefore(cacheUntil)) cacheUntil = expiresAt;
+        if (entries.size() >= maxEntries) removeExpired(now);
+        if (entries.size() >= maxEntries) {
+            log.debug("Verified token cache is full, skipping entry");
+            return;
+        }
+        entries.put(key, new CachedToken(verifiedToken, cacheUntil));
+    }
+
+    private void removeExpired(Instant now) {
+        entries.values().removeIf(cached -> !now.isBefore(cached.cacheUntil()));
+    }
+
+    private record CachedToken(VerifiedToken token, Instant cacheUntil) {
+    }
+}
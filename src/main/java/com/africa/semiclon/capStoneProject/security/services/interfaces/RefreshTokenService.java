@@ -0,0 +1,16 @@
+package com.africa.semiclon.capStoneProject.security.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.dtos.response.ApiResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.LoginResponse;
+
+public interface RefreshTokenService {
+    String issue(String username);
+    ApiResponse<LoginResponse> refresh(String refreshToken);
+    void revoke(String refreshToken);
+
+    /**
+     * Revokes every refresh token of {@code username}, so no login of theirs can be refreshed.
+     * Access tokens already issued stay valid until they expire.
+     */
+    void revokeAll(String username);
+}
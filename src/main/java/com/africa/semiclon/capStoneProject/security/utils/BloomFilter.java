@@ -0,0 +1,51 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over token digests (64 hex chars). The digest is already
+ * uniformly distributed, so the two base hashes are read straight from it.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int insertions = Math.max(expectedInsertions, 1);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max((optimalBits + 63) / 64, 1));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max((int) Math.round((double) bitCount / insertions * Math.log(2)), 1);
+    }
+
+    public void put(String digest) {
+        long hash1 = Long.parseUnsignedLong(digest.substring(0, 16), 16);
+        long hash2 = Long.parseUnsignedLong(digest.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            setBit(index);
+        }
+    }
+
+    public boolean mightContain(String digest) {
+        long hash1 = Long.parseUnsignedLong(digest.substring(0, 16), 16);
+        long hash2 = Long.parseUnsignedLong(digest.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) return;
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+}
@@ -0,0 +1,92 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps up to {@code maxBytes} of the request body in memory so a filter can inspect it and
+ * still hand an unread stream to the next filter. The body is read through a bounded stream
+ * whatever the declared length, so chunked requests are covered too; a longer body is
+ * forwarded as the buffered prefix followed by the rest of the original stream.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final boolean complete;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        byte[] prefix = request.getInputStream().readNBytes(maxBytes + 1);
+        this.complete = prefix.length <= maxBytes;
+        this.body = prefix;
+    }
+
+    /**
+     * The buffered body, or only its first bytes when {@link #isComplete()} is false.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * True when the whole body fitted within the limit.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        ByteArrayInputStream buffered = new ByteArrayInputStream(body);
+        ServletInputStream rest = complete ? null : super.getInputStream();
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return buffered.available() == 0 && (rest == null || rest.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return buffered.available() > 0 || rest == null || rest.isReady();
+            }
+
+            /**
+             * A body that is wholly in memory is reported straight away; otherwise the buffered
+             * prefix is offered first and the container reports the rest.
+             */
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                try {
+                    if (!isFinished()) readListener.onDataAvailable();
+                    if (rest != null) rest.setReadListener(readListener);
+                    else if (isFinished()) readListener.onAllDataRead();
+                } catch (IOException exception) {
+                    readListener.onError(exception);
+                }
+            }
+
+            @Override
+            public int read() throws IOException {
+                int next = buffered.read();
+                return next >= 0 || rest == null ? next : rest.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) return 0;
+                int read = buffered.read(buffer, offset, length);
+                return read >= 0 || rest == null ? read : rest.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One {@link TokenBucket} per key, with the number of buckets capped. Once the cap is
+ * reached, the least recently used bucket is dropped to make room, so a flood of distinct
+ * keys costs bounded memory without pushing every new key into one shared bucket. The map
+ * is guarded by the limiter itself; the buckets stay lock-free.
+ */
+public class KeyedRateLimiter {
+
+    private final Map<String, TokenBucket> buckets;
+    private final long capacity;
+    private final double tokensPerSecond;
+
+    public KeyedRateLimiter(long capacity, double tokensPerSecond, int maxBuckets) {
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxBuckets;
+            }
+        };
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanos until the key has a token again
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        TokenBucket bucket;
+        synchronized (this) {
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(capacity, tokensPerSecond, nowNanos));
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    /**
+     * Drops buckets that have refilled completely; a missing bucket behaves exactly like a full one.
+     */
+    public synchronized int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        return before - buckets.size();
+    }
+
+    public synchronized int size() {
+        return buckets.size();
+    }
+}
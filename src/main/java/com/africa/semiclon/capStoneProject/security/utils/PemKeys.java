@@ -0,0 +1,49 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Reads unencrypted PKCS#8 private keys and X.509 public keys from PEM files for any key type
+ * ({@code RSA}, {@code EC}), which Spring's RsaKeyConverters cannot do.
+ */
+public class PemKeys {
+
+    private PemKeys() {}
+
+    public static PublicKey readPublicKey(Resource resource, String keyType) {
+        try {
+            return KeyFactory.getInstance(keyType).generatePublic(new X509EncodedKeySpec(readDer(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyType + " public key in " + resource.getDescription(), e);
+        }
+    }
+
+    public static PrivateKey readPrivateKey(Resource resource, String keyType) {
+        try {
+            return KeyFactory.getInstance(keyType).generatePrivate(new PKCS8EncodedKeySpec(readDer(resource)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyType + " private key in " + resource.getDescription(), e);
+        }
+    }
+
+    private static byte[] readDer(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            String pem = new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read key from " + resource.getDescription(), e);
+        }
+    }
+}
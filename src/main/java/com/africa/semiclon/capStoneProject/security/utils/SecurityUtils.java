@@ -1,5 +1,12 @@
 package com.africa.semiclon.capStoneProject.security.utils;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 public class SecurityUtils {
@@ -8,8 +15,48 @@ public class SecurityUtils {
 
     public static final List<String> PUBLIC_ENDPOINTS = List.of("/api/v1/auth/register",
             "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
             "/api/v1/auth/logout",
-            "/api/v1/user/sellWaste");
+            "/api/v1/user/sellWaste",
+            "/api/v1/paystack/webhook");
 
     public static final String JWT_PREFIX = "Bearer ";
+
+    public static final String JWT_ISSUER = "waste_app";
+
+    /**
+     * Fixed-size (64 hex chars) SHA-256 digest of a token, used wherever a token
+     * has to be looked up or stored without keeping the raw value around.
+     */
+    public static String tokenDigest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hex HMAC-SHA512 of a raw request body, as Paystack sends it in {@code x-paystack-signature}.
+     */
+    public static String paystackSignature(byte[] payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA512");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+            return HexFormat.of().formatHex(mac.doFinal(payload));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA512 is not available", e);
+        }
+    }
+
+    /**
+     * Compares in constant time, so the check does not leak how much of a forged signature matched.
+     */
+    public static boolean isValidPaystackSignature(byte[] payload, String signature, String secret) {
+        if (signature == null) return false;
+        byte[] expected = paystackSignature(payload, secret).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII));
+    }
 }
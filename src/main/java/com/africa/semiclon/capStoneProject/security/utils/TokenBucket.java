@@ -0,0 +1,51 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. The whole state is one immutable snapshot swapped with CAS,
+ * so concurrent acquires on a hot key never block each other.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanos until one becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = refilled(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.updatedAt())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True when the bucket has refilled completely, i.e. forgetting it changes nothing.
+     */
+    public boolean isFull(long nowNanos) {
+        return refilled(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refilled(State current, long nowNanos) {
+        long elapsed = Math.max(nowNanos - current.updatedAt(), 0);
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
@@ -3,7 +3,9 @@ package com.africa.semiclon.capStoneProject.services.implemenation;
 import com.africa.semiclon.capStoneProject.data.models.*;
 import com.africa.semiclon.capStoneProject.data.repository.AdminRepository;
 import com.africa.semiclon.capStoneProject.data.repository.AgentRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserCursor;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCursor;
 import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.*;
 import com.africa.semiclon.capStoneProject.dtos.response.*;
@@ -11,17 +13,31 @@ import com.africa.semiclon.capStoneProject.exception.AdminException;
 import com.africa.semiclon.capStoneProject.exception.AgentNotFoundException;
 import com.africa.semiclon.capStoneProject.exception.WasteNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.AdminService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.africa.semiclon.capStoneProject.data.repository.UserSpecifications.*;
 
 @Service
 @AllArgsConstructor
 public class AdminServiceImpl implements AdminService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int REPORT_BUFFER_SIZE = 64 * 1024;
+
     private final UserRepository userRepository;
     private final AdminRepository adminRepository;
     private final WasteRepository wasteRepository;
@@ -29,6 +45,8 @@ public class AdminServiceImpl implements AdminService {
     private final EmailService emailService;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final WasteRollupService wasteRollupService;
+    private final ObjectMapper reportMapper = new ObjectMapper();
 
     public AdminResponse registerAdmin(AdminRequest registerRequest) {
         Admin check = adminRepository.findByUsername(registerRequest.getUsername());
@@ -45,18 +63,43 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ManageUserResponse manageUsers(ManageUsersRequest request) {
-        List<User> users = userRepository.findAll();
+        int size = pageSize(request.getSize());
+        UserCursor cursor = request.getCursor() == null || request.getCursor().isBlank()
+                ? null : UserCursor.decode(request.getCursor(), request.getSortBy());
+        Specification<User> specification = Specification.where(usernameStartsWith(request.getUsernamePrefix()))
+                .and(hasAuthority(request.getAuthority()))
+                .and(createdBetween(request.getCreatedFrom(), request.getCreatedTo()))
+                .and(after(cursor, request.getDirection()));
+        List<User> users = userRepository.findBy(specification, query -> query
+                .sortBy(sortOf(request.getSortBy(), request.getDirection()))
+                .limit(size + 1)
+                .all());
+        boolean hasMore = users.size() > size;
+        List<User> page = hasMore ? users.subList(0, size) : users;
         ManageUserResponse response = new ManageUserResponse();
-        response.setUsers(users);
+        response.setUsers(page.stream().map(UserSummary::from).toList());
+        response.setHasMore(hasMore);
+        if (hasMore) response.setNextCursor(UserCursor.after(page.get(page.size() - 1), request.getSortBy()).encode());
         return response;
     }
 
     @Override
     public ViewWasteResponse viewAllWaste(ViewWasteRequest viewWasteRequest) {
-        List<Waste> wastes = wasteRepository.findAll();
+        int size = pageSize(viewWasteRequest.getSize());
+        WasteCursor cursor = viewWasteRequest.getCursor() == null || viewWasteRequest.getCursor().isBlank()
+                ? null : WasteCursor.decode(viewWasteRequest.getCursor());
+        List<WasteSummary> wastes = wasteRepository.findSummaries(viewWasteRequest, cursor, size + 1);
+        boolean hasMore = wastes.size() > size;
+        List<WasteSummary> page = hasMore ? wastes.subList(0, size) : wastes;
         ViewWasteResponse response = new ViewWasteResponse();
-        response.setWastes(wastes);
+        response.setWastes(page);
+        response.setHasMore(hasMore);
+        if (hasMore) {
+            WasteSummary last = page.get(page.size() - 1);
+            response.setNextCursor(new WasteCursor(last.getTimeCreated(), last.getWasteId()).encode());
+        }
         return response;
 
     }
@@ -67,8 +110,10 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new WasteNotFoundException("Waste not found"));
         Agent agent = agentRepository.findById(request.getAgentId())
                 .orElseThrow(() -> new AgentNotFoundException("Agent not found"));
+        Agent previousAgent = waste.getAgent();
         waste.setAgent(agent);
         wasteRepository.save(waste);
+        wasteRollupService.recordAssignment(waste, previousAgent);
 
         AssignWasteResponse response = new AssignWasteResponse();
 
@@ -81,25 +126,43 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public WasteReportResponse generateWasteReport(GenerateWasteReportRequest request) {
-        List<Waste> wastes = wasteRepository.findAllByWasteCollectionDateBetween(request.getStartDate(), request.getEndDate());
-
-        List<WasteReport> reportItems = wastes.stream().map(waste -> {
+        List<WasteReport> reportItems = wasteRepository.findReportRows(request.getStartDate(), request.getEndDate())
+                .stream().map(row -> {
             WasteReport report = new WasteReport();
-            report.setWasteId(waste.getWasteId());
-            report.setCategory(waste.getType());
-            report.setQuantity(waste.getQuantity());
-            report.setPrice(waste.getPrice());
-            report.setAssignedAgent(waste.getAgent() != null ? waste.getAgent().getUsername() : "Unassigned");
-            report.setCollectionDate(waste.getWasteCollectionDate());
+            report.setWasteId(row.getWasteId());
+            report.setCategory(row.getCategory());
+            report.setQuantity(row.getQuantity());
+            report.setPrice(row.getPrice());
+            report.setAssignedAgent(row.getAssignedAgent() != null ? row.getAssignedAgent() : "Unassigned");
+            report.setCollectionDate(row.getCollectionDate());
             return report;
         }).collect(Collectors.toList());
 
         WasteReportResponse response = new WasteReportResponse();
         response.setReportItems(reportItems);
+        response.setCategoryTotals(wasteRollupService.totalsByCategory(
+                request.getStartDate().toLocalDate(), request.getEndDate().toLocalDate()));
         response.setMessage("Report generated successfully");
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportWasteReport(GenerateWasteReportRequest request, ReportFormat format,
+                                  OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), REPORT_BUFFER_SIZE);
+        if (format == ReportFormat.CSV) writer.write(WasteReportRow.CSV_HEADER + "\n");
+        try (Stream<WasteReportRow> rows = wasteRepository.streamReportRows(request.getStartDate(), request.getEndDate())) {
+            Iterator<WasteReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                WasteReportRow row = iterator.next();
+                writer.write(format == ReportFormat.CSV ? row.toCsv() : reportMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
     @Override
     public NotificationResponse sendNotificationRequest(NotificationRequest notificationRequest) {
         emailService.sendEmail(notificationRequest.getRecipientEmail(),
@@ -147,6 +210,7 @@ public class AdminServiceImpl implements AdminService {
         waste.setAgent(agent);
 
         Waste savedWaste = wasteRepository.save(waste);
+        wasteRollupService.recordWaste(savedWaste);
 
         RegisterWasteResponse response = modelMapper.map(savedWaste, RegisterWasteResponse.class);
         response.setMessage("Waste registered successfully for sale");
@@ -154,5 +218,8 @@ public class AdminServiceImpl implements AdminService {
 
         return response;
     }
-}
 
+    private static int pageSize(Integer requested) {
+        return requested == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(requested, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -3,9 +3,12 @@ package com.africa.semiclon.capStoneProject.services.implemenation;
 import com.africa.semiclon.capStoneProject.data.models.Address;
 import com.africa.semiclon.capStoneProject.data.models.Agent;
 import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.User;
 import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
 import com.africa.semiclon.capStoneProject.data.repository.AddressRepository;
 import com.africa.semiclon.capStoneProject.data.repository.AgentRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCollectionRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.*;
 import com.africa.semiclon.capStoneProject.dtos.response.RegisterAgentResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.SendWasteDetailResponse;
@@ -14,13 +17,17 @@ import com.africa.semiclon.capStoneProject.exception.AgentExistAlreadyException;
 import com.africa.semiclon.capStoneProject.exception.AgentNotFoundException;
 import com.africa.semiclon.capStoneProject.exception.InvalidEmailFormatException;
 import com.africa.semiclon.capStoneProject.exception.InvalidPasswordFormatException;
+import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.response.CollectWasteResponse;
 import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
 import com.africa.semiclon.capStoneProject.services.ScaleReader;
 import com.africa.semiclon.capStoneProject.services.interfaces.AgentService;
+import com.africa.semiclon.capStoneProject.services.interfaces.UserCollectionStatsService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -34,13 +41,23 @@ public class AgentServiceImplementation implements AgentService {
     private final PasswordEncoder passwordEncoder;
     private final AgentRepository agentRepository;
     private final AddressRepository addressRepository;
+    private final UserRepository userRepository;
+    private final WasteCollectionRepository wasteCollectionRepository;
+    private final WasteRollupService wasteRollupService;
+    private final UserCollectionStatsService userCollectionStatsService;
 
 
-    public AgentServiceImplementation(ModelMapper modelMapper, PasswordEncoder passwordEncoder, AgentRepository agentRepository, AuthServices authServices, AddressRepository addressRepository) {
+    public AgentServiceImplementation(ModelMapper modelMapper, PasswordEncoder passwordEncoder, AgentRepository agentRepository, AuthServices authServices, AddressRepository addressRepository,
+                                      UserRepository userRepository, WasteCollectionRepository wasteCollectionRepository, WasteRollupService wasteRollupService,
+                                      UserCollectionStatsService userCollectionStatsService) {
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
         this.agentRepository = agentRepository;
         this.addressRepository = addressRepository;
+        this.userRepository = userRepository;
+        this.wasteCollectionRepository = wasteCollectionRepository;
+        this.wasteRollupService = wasteRollupService;
+        this.userCollectionStatsService = userCollectionStatsService;
     }
 
     @Override
@@ -97,16 +114,27 @@ public class AgentServiceImplementation implements AgentService {
     }
 
     @Override
+    @Transactional
     public CollectWasteResponse collectWaste(CollectWasteRequest collectWasteRequest) {
-        Agent agent = modelMapper.map(collectWasteRequest, WasteCollection.class).getAgentId();
-        agentRepository.save(agent);
+        Agent agent = agentRepository.findById(collectWasteRequest.getAgentId())
+                .orElseThrow(() -> new AgentNotFoundException("Agent not found"));
+        User user = collectWasteRequest.getUserId() == null ? null : userRepository.findById(collectWasteRequest.getUserId())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        WasteCollection collection = new WasteCollection();
+        collection.setAgentId(agent);
+        collection.setUserId(user);
+        collection.setWasteCategory(collectWasteRequest.getWasteCategory());
+        collection.setWasteWeigh(collectWasteRequest.getWasteWeigh());
+        collection = wasteCollectionRepository.save(collection);
+        userCollectionStatsService.recordCollection(collection);
+        wasteRollupService.recordCollection(collection);
         CollectWasteResponse response = new CollectWasteResponse();
         response.setMessage("waste collected successfully");
         response.setWasteWeigh(collectWasteRequest.getWasteWeigh());
         response.setWasteCategory(collectWasteRequest.getWasteCategory());
         response.setAgentId(collectWasteRequest.getAgentId());
         response.setUserName(collectWasteRequest.getUsername());
-        response.setUserId(response.getUserId());
+        response.setUserId(collectWasteRequest.getUserId());
         return response;
 
     }
@@ -0,0 +1,105 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Failure-rate circuit breaker over the last {@code slidingWindow} calls. Once the window holds at
+ * least {@code minimumCalls} and the share of failures reaches the threshold, the circuit opens
+ * and calls are rejected without being made. After {@code openDuration} it lets
+ * {@code halfOpenProbes} calls through: if they all succeed it closes with an empty window,
+ * and the first failure opens it again.
+ */
+class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    private final Consumer<State> onTransition;
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    CircuitBreaker(int failureRateThreshold, int slidingWindow, int minimumCalls, Duration openDuration,
+                   int halfOpenProbes, LongSupplier nanoClock, Consumer<State> onTransition) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[slidingWindow];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindow);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * Whether a call may go ahead. A call that is let through must report back through
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) return false;
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) return false;
+            probesIssued++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (probesSucceeded < probesIssued && ++probesSucceeded >= halfOpenProbes) transition(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= minimumCalls && windowFailures * 100L >= (long) failureRateThreshold * windowCalls) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) windowFailures--;
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failed;
+        if (failed) windowFailures++;
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void transition(State next) {
+        state = next;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) openedAt = nanoClock.getAsLong();
+        if (next == State.CLOSED) {
+            windowNext = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+        onTransition.accept(next);
+    }
+}
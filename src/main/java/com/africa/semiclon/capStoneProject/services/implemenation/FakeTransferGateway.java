@@ -0,0 +1,55 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransferGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stands in for Paystack in tests and load runs. Every transfer succeeds straight away after a
+ * fixed per-request latency, so a payout run exercises the pipeline without a Paystack account
+ * or webhooks.
+ */
+@Component
+@ConditionalOnProperty(name = "payout.transfer-gateway", havingValue = "fake")
+public class FakeTransferGateway implements TransferGateway {
+    private final Duration latency;
+    private final Map<String, TransferResult> sent = new ConcurrentHashMap<>();
+
+    public FakeTransferGateway(@Value("${payout.fake-gateway.latency:0ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public List<TransferResult> transfer(List<TransferInstruction> transfers) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending transfers", exception);
+            }
+        }
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        for (TransferInstruction transfer : transfers) {
+            TransferResult result = new TransferResult(transfer.getReference(), "TRF_fake_" + transfer.getReference(), TransferResult.SUCCESS, null);
+            sent.put(transfer.getReference(), result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<TransferResult> find(String reference) {
+        return Optional.ofNullable(sent.get(reference));
+    }
+}
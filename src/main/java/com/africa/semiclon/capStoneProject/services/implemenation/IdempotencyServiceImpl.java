@@ -0,0 +1,98 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.IdempotencyRecord;
+import com.africa.semiclon.capStoneProject.data.models.IdempotencyStatus;
+import com.africa.semiclon.capStoneProject.data.repository.IdempotencyRecordRepository;
+import com.africa.semiclon.capStoneProject.exception.IdempotencyConflictException;
+import com.africa.semiclon.capStoneProject.services.interfaces.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Claims are committed on their own, before any side effect runs, so a concurrent duplicate
+ * sees the key straight away. Failed attempts release their key so the client can retry; a
+ * claim left {@code IN_PROGRESS} by a crash is only cleared by the retention purge.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 150;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${idempotency.retention:24h}") Duration retention) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+    }
+
+    @Override
+    public <T> Optional<T> claim(String scope, String key, Object request, Class<T> responseType) {
+        if (key == null || key.isBlank()) return Optional.empty();
+        if (key.length() > MAX_KEY_LENGTH) throw new IllegalArgumentException("Idempotency key is too long");
+        String scopedKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        if (idempotencyRecordRepository.claim(scopedKey, fingerprint, LocalDateTime.now()) == 1) return Optional.empty();
+
+        IdempotencyRecord existing = idempotencyRecordRepository.findById(scopedKey)
+                .orElseThrow(() -> new IdempotencyConflictException("Idempotency key was released, retry the request"));
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        if (existing.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new IdempotencyConflictException("A request with this idempotency key is still in progress");
+        }
+        try {
+            return Optional.of(objectMapper.readValue(existing.getResponseBody(), responseType));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", exception);
+        }
+    }
+
+    @Override
+    public void complete(String scope, String key, Object response) {
+        if (key == null || key.isBlank()) return;
+        try {
+            idempotencyRecordRepository.complete(scope + ":" + key, objectMapper.writeValueAsString(response), LocalDateTime.now());
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Idempotent response cannot be stored", exception);
+        }
+    }
+
+    @Override
+    public void release(String scope, String key) {
+        if (key == null || key.isBlank()) return;
+        idempotencyRecordRepository.release(scope + ":" + key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:1h}", initialDelayString = "${idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) log.info("Purged {} expired idempotency records", removed);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Request cannot be fingerprinted", exception);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads an uploaded file one row at a time, so memory stays flat however long the file is. A row
+ * that cannot be parsed comes back with an error instead of ending the read; only an unusable CSV
+ * header fails the whole file. Subclasses say how a CSV value lands on their row type.
+ */
+abstract class ManifestReader<T> implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ReportFormat format;
+    private final ObjectReader rowReader;
+    private final String csvHeader;
+    private final String kind;
+    private String[] columns;
+    private long lineNumber;
+
+    record Line<T>(long lineNumber, T row, String error) {
+    }
+
+    ManifestReader(InputStream input, ReportFormat format, ObjectMapper objectMapper,
+                   Class<T> rowType, String csvHeader, String kind) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+        this.rowReader = objectMapper.readerFor(rowType);
+        this.csvHeader = csvHeader;
+        this.kind = kind;
+        if (format == ReportFormat.CSV) readHeader();
+    }
+
+    abstract T newRow();
+
+    /**
+     * Sets one non-blank CSV value on the row; any runtime exception marks the value invalid.
+     */
+    abstract void setField(T row, String column, String value);
+
+    /**
+     * Returns the next non-blank row, or {@code null} once the file is exhausted.
+     */
+    Line<T> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+            lineNumber++;
+        } while (line.isBlank());
+        long startLine = lineNumber;
+        return format == ReportFormat.CSV ? parseCsv(startLine, line) : parseJson(startLine, line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) throw new IllegalArgumentException(capitalize(kind) + " is empty");
+            lineNumber++;
+        } while (line.isBlank());
+        if (line.startsWith("\uFEFF")) line = line.substring(1);
+        columns = splitCsv(line).stream().map(String::trim).toArray(String[]::new);
+        Set<String> known = Set.of(csvHeader.split(","));
+        for (String column : columns) {
+            if (!known.contains(column)) {
+                throw new IllegalArgumentException("Unknown " + kind + " column '" + column + "', expected " + csvHeader);
+            }
+        }
+    }
+
+    private Line<T> parseJson(long startLine, String line) {
+        try {
+            return new Line<>(startLine, rowReader.readValue(line), null);
+        } catch (JsonProcessingException exception) {
+            return new Line<>(startLine, null, exception.getOriginalMessage());
+        }
+    }
+
+    private Line<T> parseCsv(long startLine, String line) throws IOException {
+        StringBuilder record = new StringBuilder(line);
+        while (hasOpenQuote(record)) {
+            String continuation = reader.readLine();
+            if (continuation == null) return new Line<>(startLine, null, "Unterminated quoted field");
+            lineNumber++;
+            record.append('\n').append(continuation);
+            if (record.length() > MAX_RECORD_LENGTH) {
+                return new Line<>(startLine, null, "Quoted field runs past " + MAX_RECORD_LENGTH + " characters");
+            }
+        }
+        List<String> values = splitCsv(record);
+        if (values.size() != columns.length) {
+            return new Line<>(startLine, null, "Expected " + columns.length + " fields but found " + values.size());
+        }
+        T row = newRow();
+        for (int index = 0; index < columns.length; index++) {
+            String value = values.get(index).trim();
+            if (value.isEmpty()) continue;
+            try {
+                setField(row, columns[index], value);
+            } catch (RuntimeException exception) {
+                return new Line<>(startLine, null, columns[index] + ": invalid value '" + value + "'");
+            }
+        }
+        return new Line<>(startLine, row, null);
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static boolean hasOpenQuote(CharSequence record) {
+        int quotes = 0;
+        for (int index = 0; index < record.length(); index++) {
+            if (record.charAt(index) == '"') quotes++;
+        }
+        return quotes % 2 != 0;
+    }
+
+    private static List<String> splitCsv(CharSequence record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < record.length(); index++) {
+            char current = record.charAt(index);
+            if (quoted) {
+                if (current != '"') value.append(current);
+                else if (index + 1 < record.length() && record.charAt(index + 1) == '"') value.append(record.charAt(++index));
+                else quoted = false;
+            } else if (current == '"') {
+                quoted = true;
+            } else if (current == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (current != '\r') {
+                value.append(current);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
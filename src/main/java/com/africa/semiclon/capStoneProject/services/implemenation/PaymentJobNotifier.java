@@ -0,0 +1,38 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands finished payment jobs to the callers waiting on them in this instance. A waiter whose job
+ * is finished by another instance is never woken here; it times out and reads the job instead.
+ */
+@Component
+public class PaymentJobNotifier {
+    private final Map<String, Set<CompletableFuture<PaymentJobResponse>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * The returned future removes itself once completed or cancelled, so callers that stop
+     * waiting should cancel it.
+     */
+    public CompletableFuture<PaymentJobResponse> subscribe(String jobId) {
+        CompletableFuture<PaymentJobResponse> waiter = new CompletableFuture<>();
+        waiters.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        waiter.whenComplete((job, error) -> waiters.computeIfPresent(jobId, (id, jobWaiters) -> {
+            jobWaiters.remove(waiter);
+            return jobWaiters.isEmpty() ? null : jobWaiters;
+        }));
+        return waiter;
+    }
+
+    public void publish(PaymentJobResponse job) {
+        Set<CompletableFuture<PaymentJobResponse>> jobWaiters = waiters.remove(job.getJobId());
+        if (jobWaiters == null) return;
+        for (CompletableFuture<PaymentJobResponse> waiter : jobWaiters) waiter.complete(job);
+    }
+}
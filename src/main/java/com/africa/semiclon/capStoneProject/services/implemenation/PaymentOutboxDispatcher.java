@@ -0,0 +1,235 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.*;
+import com.africa.semiclon.capStoneProject.data.repository.PaymentJobRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PaymentOutboxRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.InitializePaymentRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentVerificationResponse;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.services.interfaces.PaymentService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WalletService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static com.africa.semiclon.capStoneProject.data.models.WalletAccount.PAYOUT_CLEARING;
+
+/**
+ * Sends due outbox entries to Paystack. Entries are claimed in a short transaction that locks
+ * them with {@code skip locked} and leases them. The claimed entries are sent one after another,
+ * so each lease is renewed right before its entry is sent and only has to outlast that one call;
+ * an entry whose lease ran out while it waited and that another dispatcher claimed again is left
+ * to that dispatcher. Paystack is called with no transaction open, and the outcome is written in
+ * a second short transaction. Transport
+ * errors, 429s and 5xx responses are retried with exponential backoff up to {@code maxAttempts}.
+ * Any other failure fails the job and gives a withdrawal's reservation back, unless a retried
+ * entry finds its reference already at Paystack.
+ */
+@Component
+@Slf4j
+public class PaymentOutboxDispatcher {
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentJobRepository paymentJobRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final PaymentService paymentService;
+    private final WalletService walletService;
+    private final PaymentJobNotifier paymentJobNotifier;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public PaymentOutboxDispatcher(PaymentOutboxRepository paymentOutboxRepository,
+                                   PaymentJobRepository paymentJobRepository,
+                                   UserRepository userRepository,
+                                   TransactionRepository transactionRepository,
+                                   PaymentService paymentService,
+                                   WalletService walletService,
+                                   PaymentJobNotifier paymentJobNotifier,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${payment.outbox.batch-size:20}") int batchSize,
+                                   @Value("${payment.outbox.lease:2m}") Duration lease,
+                                   @Value("${payment.outbox.max-attempts:5}") int maxAttempts,
+                                   @Value("${payment.outbox.retry-backoff:5s}") Duration retryBackoff) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.paymentJobRepository = paymentJobRepository;
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.paymentService = paymentService;
+        this.walletService = walletService;
+        this.paymentJobNotifier = paymentJobNotifier;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Dispatches one batch of due entries and returns how many were claimed.
+     */
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval:500ms}", initialDelayString = "${payment.outbox.poll-interval:500ms}")
+    public int dispatchDue() {
+        List<PaymentOutboxEntry> claimed = claim();
+        for (PaymentOutboxEntry entry : claimed) {
+            try {
+                if (paymentOutboxRepository.renewLease(entry.getId(), entry.getAttempts(), LocalDateTime.now().plus(lease)) == 0) {
+                    log.info("Payment job {} was claimed again by another dispatcher, leaving it", entry.getJobId());
+                    continue;
+                }
+                dispatch(entry);
+            } catch (RuntimeException exception) {
+                // The lease runs out and the entry is tried again.
+                log.error("Could not record the outcome of payment job {}", entry.getJobId(), exception);
+            }
+        }
+        return claimed.size();
+    }
+
+    private List<PaymentOutboxEntry> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PaymentOutboxEntry> due = paymentOutboxRepository.lockDue(now, batchSize);
+            for (PaymentOutboxEntry entry : due) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setAvailableAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void dispatch(PaymentOutboxEntry entry) {
+        PaymentJob job = paymentJobRepository.findById(entry.getJobId()).orElse(null);
+        if (job == null || job.getStatus() != PaymentJobStatus.PENDING) {
+            transactionTemplate.executeWithoutResult(status -> paymentOutboxRepository.deleteEntry(entry.getId()));
+            return;
+        }
+        User user = userRepository.findById(job.getUserId()).orElse(null);
+        if (user == null) {
+            fail(entry, job, "User not found", false);
+            return;
+        }
+
+        InitializePaymentRequest initializePaymentRequest = new InitializePaymentRequest();
+        initializePaymentRequest.setAmount(job.getAmount());
+        initializePaymentRequest.setEmail(user.getEmail());
+        // Paystack refuses a reused reference, so a retried entry cannot start a second payment.
+        initializePaymentRequest.setReference(job.getJobId());
+
+        InitializePaymentResponse response;
+        try {
+            response = paymentService.initializePaymentResponse(initializePaymentRequest);
+        } catch (RuntimeException exception) {
+            if (isRetryable(exception) && entry.getAttempts() < maxAttempts) {
+                Duration backoff = backoff(entry);
+                log.warn("Paystack call for payment job {} failed, retrying in {}", job.getJobId(), backoff, exception);
+                paymentOutboxRepository.reschedule(entry.getId(), LocalDateTime.now().plus(backoff), truncate(exception.getMessage()));
+            } else {
+                log.error("Paystack call for payment job {} failed", job.getJobId(), exception);
+                failUnlessAlreadySent(entry, job, exception.getMessage());
+            }
+            return;
+        }
+        if (response == null || !Boolean.TRUE.equals(response.getStatus()) || response.getData() == null) {
+            log.error("Failed to initialize payment: {}", response);
+            failUnlessAlreadySent(entry, job, response == null ? "Paystack returned no response" : "Paystack declined: " + response.getMessage());
+            return;
+        }
+        succeed(entry, job, response.getData());
+    }
+
+    /**
+     * An earlier attempt may have reached Paystack and lost its response to a timeout or an
+     * expired lease; the retry is then refused as a duplicate reference. Before failing the job and
+     * giving a withdrawal's reservation back, a retried entry asks Paystack whether the reference
+     * exists. When that cannot be answered the entry is tried again later instead.
+     */
+    private void failUnlessAlreadySent(PaymentOutboxEntry entry, PaymentJob job, String reason) {
+        if (entry.getAttempts() > 1) {
+            Optional<PaymentVerificationResponse> existing;
+            try {
+                existing = paymentService.findTransaction(job.getJobId());
+            } catch (RuntimeException exception) {
+                Duration backoff = backoff(entry);
+                log.warn("Could not look up payment job {} at Paystack, retrying in {}", job.getJobId(), backoff, exception);
+                paymentOutboxRepository.reschedule(entry.getId(), LocalDateTime.now().plus(backoff), truncate(reason));
+                return;
+            }
+            if (existing.isPresent()) {
+                log.info("Payment job {} was already accepted by Paystack on an earlier attempt", job.getJobId());
+                succeed(entry, job, new InitializePaymentResponse.Data(null, null, job.getJobId()));
+                return;
+            }
+        }
+        fail(entry, job, reason, true);
+    }
+
+    private Duration backoff(PaymentOutboxEntry entry) {
+        return retryBackoff.multipliedBy(1L << Math.min(entry.getAttempts() - 1, MAX_BACKOFF_DOUBLINGS));
+    }
+
+    private void succeed(PaymentOutboxEntry entry, PaymentJob job, InitializePaymentResponse.Data data) {
+        boolean withdrawal = job.getType() == PricingPlanType.WITHDRAWAL;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (paymentJobRepository.finish(job.getJobId(), PaymentJobStatus.SUCCEEDED, data.getReference(),
+                    data.getAuthorizationUrl(), null, LocalDateTime.now()) == 1) {
+                transactionRepository.save(Transaction.builder()
+                        .userId(job.getUserId())
+                        .reference(data.getReference())
+                        .amount(job.getAmount())
+                        .gatewayResponse(withdrawal ? "Withdrawal initialized" : "Payment initialized")
+                        .paidAt(String.valueOf(new Date()))
+                        .createdAt(String.valueOf(new Date()))
+                        .channel("Online")
+                        .currency("NGN")
+                        .planType(job.getType())
+                        .build());
+            }
+            paymentOutboxRepository.deleteEntry(entry.getId());
+        });
+        publish(job.getJobId());
+    }
+
+    private void fail(PaymentOutboxEntry entry, PaymentJob job, String reason, boolean releaseReservation) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (paymentJobRepository.finish(job.getJobId(), PaymentJobStatus.FAILED, null, null,
+                    truncate(reason), LocalDateTime.now()) == 1
+                    && releaseReservation && job.getType() == PricingPlanType.WITHDRAWAL) {
+                walletService.credit(job.getUserId(), job.getAmount(), PAYOUT_CLEARING);
+            }
+            paymentOutboxRepository.deleteEntry(entry.getId());
+        });
+        publish(job.getJobId());
+    }
+
+    private void publish(String jobId) {
+        paymentJobRepository.findById(jobId).map(PaymentJobResponse::from).ifPresent(paymentJobNotifier::publish);
+    }
+
+    static boolean isRetryable(RuntimeException exception) {
+        return !(exception instanceof PaystackException paystackException)
+                || PaystackClient.isTransient(paystackException.getStatusCode());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_REASON_LENGTH ? message : message.substring(0, MAX_REASON_LENGTH);
+    }
+}
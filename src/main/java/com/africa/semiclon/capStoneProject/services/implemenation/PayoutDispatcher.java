@@ -0,0 +1,292 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.PricingPlanType;
+import com.africa.semiclon.capStoneProject.data.models.Transaction;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransferGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends queued payout items to the {@link TransferGateway} as bulk transfers of up to
+ * {@code chunkSize} items, with at most {@code concurrency} requests in flight. Each chunk is
+ * claimed like an outbox batch: locked with {@code skip locked} and leased in a short
+ * transaction, sent with no transaction open, and recorded in a second short transaction that
+ * updates the items and inserts their {@link Transaction} rows in JDBC batches. A failed request
+ * is retried with backoff while it looks transient, and fails its whole chunk otherwise, apart
+ * from items a retried chunk finds already at the gateway.
+ * <p>
+ * Sent items are normally settled by webhook. Those still {@code SENT} {@code reconcileAfter}
+ * after being sent are looked up at the gateway and settled from what it reports, and checked
+ * again later when it has no final answer yet.
+ */
+@Component
+@Slf4j
+public class PayoutDispatcher implements DisposableBean {
+    private static final int MAX_REASON_LENGTH = 500;
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+    private static final String UNKNOWN_STATUS = "unknown";
+
+    private final PayoutItemRepository payoutItemRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferGateway transferGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration reconcileAfter;
+    private final int reconcileBatchSize;
+    private final Semaphore inFlight;
+    private final ExecutorService senders;
+
+    public PayoutDispatcher(PayoutItemRepository payoutItemRepository,
+                            UserRepository userRepository,
+                            TransactionRepository transactionRepository,
+                            TransferGateway transferGateway,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${payout.dispatch.chunk-size:100}") int chunkSize,
+                            @Value("${payout.dispatch.concurrency:4}") int concurrency,
+                            @Value("${payout.dispatch.lease:5m}") Duration lease,
+                            @Value("${payout.dispatch.max-attempts:5}") int maxAttempts,
+                            @Value("${payout.dispatch.retry-backoff:5s}") Duration retryBackoff,
+                            @Value("${payout.reconcile.after:10m}") Duration reconcileAfter,
+                            @Value("${payout.reconcile.batch-size:100}") int reconcileBatchSize) {
+        this.payoutItemRepository = payoutItemRepository;
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferGateway = transferGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.reconcileAfter = reconcileAfter;
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.inFlight = new Semaphore(concurrency);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "payout-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Claims chunks while a sender is free and hands them over; returns how many were claimed.
+     */
+    @Scheduled(fixedDelayString = "${payout.dispatch.poll-interval:1s}", initialDelayString = "${payout.dispatch.poll-interval:1s}")
+    public int dispatchDue() {
+        int claimed = 0;
+        while (inFlight.tryAcquire()) {
+            List<PayoutItem> chunk;
+            try {
+                chunk = claim();
+            } catch (RuntimeException exception) {
+                inFlight.release();
+                throw exception;
+            }
+            if (chunk.isEmpty()) {
+                inFlight.release();
+                break;
+            }
+            claimed++;
+            senders.execute(() -> {
+                try {
+                    send(chunk);
+                } catch (RuntimeException exception) {
+                    // The lease runs out and the chunk is sent again under the same references.
+                    log.error("Could not record the outcome of {} payout items", chunk.size(), exception);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        return claimed;
+    }
+
+    /**
+     * Asks the gateway about sent items whose webhook is overdue; returns how many were checked.
+     */
+    @Scheduled(fixedDelayString = "${payout.reconcile.interval:1m}", initialDelayString = "${payout.reconcile.interval:1m}")
+    public int reconcileSent() {
+        List<PayoutItem> due = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PayoutItem> items = payoutItemRepository.lockSentDue(now, reconcileBatchSize);
+            for (PayoutItem item : items) item.setAvailableAt(now.plus(reconcileAfter));
+            return items;
+        });
+        for (PayoutItem item : due) {
+            Optional<TransferResult> result;
+            try {
+                result = transferGateway.find(item.getReference());
+            } catch (RuntimeException exception) {
+                log.warn("Could not look up sent payout item {}, checking again later", item.getReference(), exception);
+                continue;
+            }
+            if (result.isEmpty()) {
+                log.warn("Sent payout item {} is unknown to the transfer gateway", item.getReference());
+                continue;
+            }
+            settle(item, result.get());
+        }
+        return due.size();
+    }
+
+    private void settle(PayoutItem item, TransferResult result) {
+        boolean succeeded = TransferResult.SUCCESS.equalsIgnoreCase(result.getStatus());
+        boolean failed = TransferResult.FAILED.equalsIgnoreCase(result.getStatus())
+                || TransferResult.REVERSED.equalsIgnoreCase(result.getStatus());
+        if (!succeeded && !failed) return;
+        String outcome;
+        if (succeeded) outcome = "Transfer successful";
+        else if (result.getMessage() != null) outcome = truncate(result.getMessage());
+        else outcome = TransferResult.REVERSED.equalsIgnoreCase(result.getStatus()) ? "Transfer reversed" : "Transfer failed";
+        transactionTemplate.executeWithoutResult(status -> {
+            if (payoutItemRepository.settleSent(item.getId(), succeeded ? PayoutItemStatus.SUCCEEDED : PayoutItemStatus.FAILED,
+                    succeeded ? null : outcome, LocalDateTime.now()) == 0) return;
+            for (Transaction transaction : transactionRepository.findAllByReferenceIn(List.of(item.getReference()))) {
+                transaction.setGatewayResponse(outcome);
+            }
+            log.info("Settled payout item {} from the transfer gateway: {}", item.getReference(), outcome);
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        senders.shutdown();
+        senders.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private List<PayoutItem> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PayoutItem> due = payoutItemRepository.lockDue(now, chunkSize);
+            for (PayoutItem item : due) {
+                item.setAttempts(item.getAttempts() + 1);
+                item.setAvailableAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void send(List<PayoutItem> chunk) {
+        Set<Long> userIds = new HashSet<>();
+        for (PayoutItem item : chunk) userIds.add(item.getUserId());
+        Map<Long, String> recipients = new HashMap<>();
+        for (UserRepository.TransferRecipientView recipient : userRepository.findTransferRecipients(userIds)) {
+            recipients.put(recipient.getUserId(), recipient.getRecipientCode());
+        }
+        List<TransferInstruction> transfers = new ArrayList<>(chunk.size());
+        for (PayoutItem item : chunk) {
+            transfers.add(new TransferInstruction(item.getReference(), item.getAmount(),
+                    recipients.get(item.getUserId()), "Payout " + item.getBatchId()));
+        }
+
+        List<TransferResult> results;
+        try {
+            results = transferGateway.transfer(transfers);
+        } catch (RuntimeException exception) {
+            int attempts = chunk.stream().mapToInt(PayoutItem::getAttempts).max().orElse(1);
+            if (PaymentOutboxDispatcher.isRetryable(exception) && attempts < maxAttempts) {
+                Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS));
+                log.warn("Bulk transfer of {} payout items failed, retrying in {}", chunk.size(), backoff, exception);
+                payoutItemRepository.reschedule(ids(chunk), LocalDateTime.now().plus(backoff), truncate(exception.getMessage()));
+            } else {
+                log.error("Bulk transfer of {} payout items failed", chunk.size(), exception);
+                record(chunk, attempts > 1 ? alreadySent(chunk) : Map.of(), exception.getMessage());
+            }
+            return;
+        }
+        Map<String, TransferResult> byReference = new HashMap<>();
+        for (TransferResult result : results) byReference.put(result.getReference(), result);
+        record(chunk, byReference, "The transfer gateway returned no result for this transfer");
+    }
+
+    /**
+     * A retried chunk may have reached the gateway on an earlier attempt and lost the response,
+     * in which case the retry is refused over duplicate references. Each item is looked up before
+     * the chunk is failed: a transfer the gateway knows is recorded as found, and one that cannot
+     * be looked up is recorded as sent so the webhook or {@link #reconcileSent} settles it instead
+     * of it being failed.
+     */
+    private Map<String, TransferResult> alreadySent(List<PayoutItem> chunk) {
+        Map<String, TransferResult> found = new HashMap<>();
+        for (PayoutItem item : chunk) {
+            try {
+                transferGateway.find(item.getReference()).ifPresent(result -> found.put(item.getReference(), result));
+            } catch (RuntimeException exception) {
+                log.warn("Could not look up payout item {}, leaving it to be reconciled", item.getReference(), exception);
+                found.put(item.getReference(), new TransferResult(item.getReference(), null, UNKNOWN_STATUS, null));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Items that a webhook or an earlier lease has already moved on are left alone.
+     */
+    private void record(List<PayoutItem> chunk, Map<String, TransferResult> results, String missingReason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Transaction> transactions = new ArrayList<>();
+            for (PayoutItem item : payoutItemRepository.findAllById(ids(chunk))) {
+                if (item.getStatus() != PayoutItemStatus.QUEUED) continue;
+                TransferResult result = results.get(item.getReference());
+                if (result == null || TransferResult.FAILED.equalsIgnoreCase(result.getStatus())) {
+                    item.setStatus(PayoutItemStatus.FAILED);
+                    item.setFailureReason(truncate(result == null ? missingReason
+                            : result.getMessage() != null ? result.getMessage() : "Transfer failed"));
+                    item.setCompletedAt(now);
+                    continue;
+                }
+                boolean succeeded = TransferResult.SUCCESS.equalsIgnoreCase(result.getStatus());
+                item.setStatus(succeeded ? PayoutItemStatus.SUCCEEDED : PayoutItemStatus.SENT);
+                item.setTransferCode(result.getTransferCode());
+                item.setFailureReason(null);
+                if (succeeded) item.setCompletedAt(now);
+                else item.setAvailableAt(now.plus(reconcileAfter));
+                transactions.add(Transaction.builder()
+                        .userId(item.getUserId())
+                        .reference(item.getReference())
+                        .amount(item.getAmount())
+                        .gatewayResponse(succeeded ? "Transfer successful" : "Transfer queued")
+                        .createdAt(String.valueOf(new Date()))
+                        .channel("Transfer")
+                        .currency("NGN")
+                        .planType(PricingPlanType.PAYMENT)
+                        .build());
+            }
+            transactionRepository.saveAll(transactions);
+        });
+    }
+
+    private static List<Long> ids(List<PayoutItem> chunk) {
+        return chunk.stream().map(PayoutItem::getId).toList();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_REASON_LENGTH ? message : message.substring(0, MAX_REASON_LENGTH);
+    }
+}
@@ -0,0 +1,33 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.PayoutRow;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+/**
+ * Reads a payout upload through {@link ManifestReader}.
+ */
+class PayoutManifestReader extends ManifestReader<PayoutRow> {
+
+    PayoutManifestReader(InputStream payouts, ReportFormat format, ObjectMapper objectMapper) throws IOException {
+        super(payouts, format, objectMapper, PayoutRow.class, PayoutRow.CSV_HEADER, "payout file");
+    }
+
+    @Override
+    PayoutRow newRow() {
+        return new PayoutRow();
+    }
+
+    @Override
+    void setField(PayoutRow row, String column, String value) {
+        switch (column) {
+            case "userId" -> row.setUserId(Long.valueOf(value));
+            case "amount" -> row.setAmount(new BigDecimal(value));
+            default -> throw new IllegalArgumentException(column);
+        }
+    }
+}
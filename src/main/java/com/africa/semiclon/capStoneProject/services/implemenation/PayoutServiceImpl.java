@@ -0,0 +1,235 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutBatch;
+import com.africa.semiclon.capStoneProject.data.models.PayoutBatchStatus;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutBatchRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.PayoutRow;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.response.PayoutBatchResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PayoutRowError;
+import com.africa.semiclon.capStoneProject.exception.IdempotencyConflictException;
+import com.africa.semiclon.capStoneProject.exception.PayoutBatchNotFoundException;
+import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
+import com.africa.semiclon.capStoneProject.services.implemenation.ManifestReader.Line;
+import com.africa.semiclon.capStoneProject.services.interfaces.PayoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a payout upload into {@link PayoutItem} rows, committing one chunk of batched inserts
+ * at a time, so {@link PayoutDispatcher} can start sending the first chunks while the rest of the
+ * file is still arriving. Rows for unknown users, and for users without a Paystack transfer
+ * recipient, are kept as failed items so the batch accounts for every payee; rows that cannot be
+ * parsed are only reported back. Recipients are created on Paystack and stored with
+ * {@link #setTransferRecipient} before the upload. An upload is keyed by its
+ * Idempotency-Key: a retry after a finished upload gets the batch back, and a retry after a broken
+ * one resumes the batch past the rows already written.
+ */
+@Service
+@Slf4j
+public class PayoutServiceImpl implements PayoutService {
+    private static final int MAX_AMOUNT_SCALE = 2;
+    private static final Pattern RECIPIENT_CODE = Pattern.compile("RCP_\\w+");
+
+    private final PayoutBatchRepository payoutBatchRepository;
+    private final PayoutItemRepository payoutItemRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public PayoutServiceImpl(PayoutBatchRepository payoutBatchRepository,
+                             PayoutItemRepository payoutItemRepository,
+                             UserRepository userRepository,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${payout.ingest.chunk-size:1000}") int chunkSize,
+                             @Value("${payout.ingest.max-reported-errors:1000}") int maxReportedErrors) {
+        this.payoutBatchRepository = payoutBatchRepository;
+        this.payoutItemRepository = payoutItemRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public PayoutBatchResponse submit(InputStream payouts, ReportFormat format, String idempotencyKey) throws IOException {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key is required");
+        }
+        PayoutBatch batch = payoutBatchRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (batch != null && batch.getIngestedAt() != null) {
+            log.info("Payout batch {} was already ingested under this Idempotency-Key", batch.getBatchId());
+            return progress(batch);
+        }
+        long resumeAfter = 0;
+        if (batch == null) {
+            batch = new PayoutBatch();
+            batch.setBatchId(UUID.randomUUID().toString());
+            batch.setIdempotencyKey(idempotencyKey);
+            batch.setCreatedAt(LocalDateTime.now());
+        } else {
+            // Chunks commit in file order, so everything up to the last written line is already queued.
+            resumeAfter = payoutItemRepository.findLastLineNumber(batch.getBatchId());
+            batch.setTotalRows(0);
+            batch.setRejectedRows(0);
+            log.info("Resuming payout batch {} after line {}", batch.getBatchId(), resumeAfter);
+        }
+        PayoutBatchResponse response = new PayoutBatchResponse();
+        List<Line<PayoutRow>> chunk = new ArrayList<>(chunkSize);
+        try (PayoutManifestReader reader = new PayoutManifestReader(payouts, format, objectMapper)) {
+            save(batch);
+            boolean complete = false;
+            try {
+                Line<PayoutRow> line;
+                while ((line = reader.next()) != null) {
+                    batch.setTotalRows(batch.getTotalRows() + 1);
+                    String problem = line.error() != null ? line.error() : validate(line.row());
+                    if (problem != null) {
+                        reject(batch, response, line.lineNumber(), problem);
+                        continue;
+                    }
+                    if (line.lineNumber() <= resumeAfter) continue;
+                    chunk.add(line);
+                    if (chunk.size() >= chunkSize) {
+                        writeChunk(batch.getBatchId(), chunk);
+                        chunk.clear();
+                    }
+                }
+                writeChunk(batch.getBatchId(), chunk);
+                complete = true;
+            } finally {
+                // Chunks already written are paid out even if the upload broke off; the batch stays
+                // open so a retry under the same key can send the rest.
+                if (complete) batch.setIngestedAt(LocalDateTime.now());
+                payoutBatchRepository.save(batch);
+            }
+        }
+        log.info("Ingested payout batch {}: {} rows, {} rejected", batch.getBatchId(), batch.getTotalRows(), batch.getRejectedRows());
+
+        PayoutBatchResponse progress = progress(batch);
+        progress.setErrors(response.getErrors());
+        progress.setErrorsTruncated(response.isErrorsTruncated());
+        return progress;
+    }
+
+    @Override
+    public PayoutBatchResponse findBatch(String batchId) {
+        return payoutBatchRepository.findById(batchId)
+                .map(this::progress)
+                .orElseThrow(() -> new PayoutBatchNotFoundException("Payout batch not found"));
+    }
+
+    @Override
+    public void setTransferRecipient(Long userId, String recipientCode) {
+        if (recipientCode == null || !RECIPIENT_CODE.matcher(recipientCode).matches()) {
+            throw new IllegalArgumentException("recipientCode must be a Paystack recipient code (RCP_...)");
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found"));
+        user.setTransferRecipientCode(recipientCode);
+        userRepository.save(user);
+        log.info("Stored transfer recipient {} for user {}", recipientCode, userId);
+    }
+
+    private void writeChunk(String batchId, List<Line<PayoutRow>> chunk) {
+        if (chunk.isEmpty()) return;
+        Set<Long> userIds = new HashSet<>();
+        for (Line<PayoutRow> line : chunk) userIds.add(line.row().getUserId());
+        Map<Long, String> recipients = new HashMap<>();
+        for (UserRepository.TransferRecipientView recipient : userRepository.findTransferRecipients(userIds)) {
+            recipients.put(recipient.getUserId(), recipient.getRecipientCode());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PayoutItem> items = new ArrayList<>(chunk.size());
+        for (Line<PayoutRow> line : chunk) {
+            PayoutItem item = new PayoutItem();
+            item.setBatchId(batchId);
+            item.setLineNumber(line.lineNumber());
+            item.setUserId(line.row().getUserId());
+            item.setAmount(line.row().getAmount());
+            item.setReference(UUID.randomUUID().toString());
+            item.setAvailableAt(now);
+            item.setCreatedAt(now);
+            String problem = !recipients.containsKey(line.row().getUserId()) ? "User not found"
+                    : recipients.get(line.row().getUserId()) == null ? "User has no transfer recipient" : null;
+            if (problem == null) {
+                item.setStatus(PayoutItemStatus.QUEUED);
+            } else {
+                item.setStatus(PayoutItemStatus.FAILED);
+                item.setFailureReason(problem);
+                item.setCompletedAt(now);
+            }
+            items.add(item);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> payoutItemRepository.saveAll(items));
+        } catch (DataIntegrityViolationException exception) {
+            throw new IdempotencyConflictException("Another upload under this Idempotency-Key is writing the same rows");
+        }
+    }
+
+    private void save(PayoutBatch batch) {
+        try {
+            payoutBatchRepository.save(batch);
+        } catch (DataIntegrityViolationException exception) {
+            throw new IdempotencyConflictException("A payout upload under this Idempotency-Key is already in progress");
+        }
+    }
+
+    private PayoutBatchResponse progress(PayoutBatch batch) {
+        Map<PayoutItemStatus, Long> counts = new EnumMap<>(PayoutItemStatus.class);
+        for (PayoutItemRepository.StatusCount count : payoutItemRepository.countByStatus(batch.getBatchId())) {
+            counts.put(count.getStatus(), count.getItems());
+        }
+        PayoutBatchResponse response = new PayoutBatchResponse();
+        response.setBatchId(batch.getBatchId());
+        response.setTotalRows(batch.getTotalRows());
+        response.setRejectedRows(batch.getRejectedRows());
+        response.setQueued(counts.getOrDefault(PayoutItemStatus.QUEUED, 0L));
+        response.setSent(counts.getOrDefault(PayoutItemStatus.SENT, 0L));
+        response.setSucceeded(counts.getOrDefault(PayoutItemStatus.SUCCEEDED, 0L));
+        response.setFailed(counts.getOrDefault(PayoutItemStatus.FAILED, 0L));
+        response.setCreatedAt(batch.getCreatedAt());
+        response.setIngestedAt(batch.getIngestedAt());
+        if (batch.getIngestedAt() == null) response.setStatus(PayoutBatchStatus.INGESTING);
+        else if (response.getQueued() + response.getSent() > 0) response.setStatus(PayoutBatchStatus.IN_PROGRESS);
+        else response.setStatus(PayoutBatchStatus.COMPLETED);
+        return response;
+    }
+
+    private static String validate(PayoutRow row) {
+        if (row.getUserId() == null) return "userId is required";
+        if (row.getAmount() == null) return "amount is required";
+        if (row.getAmount().signum() <= 0) return "amount must be positive";
+        if (row.getAmount().stripTrailingZeros().scale() > MAX_AMOUNT_SCALE) return "amount has more than two decimal places";
+        return null;
+    }
+
+    private void reject(PayoutBatch batch, PayoutBatchResponse response, long lineNumber, String message) {
+        batch.setRejectedRows(batch.getRejectedRows() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new PayoutRowError(lineNumber, message));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.config.PaystackResilienceProperties;
+import com.africa.semiclon.capStoneProject.constants.LocalDateTimeDeserializer;
+import com.africa.semiclon.capStoneProject.constants.LocalDateTimeSerializer;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.exception.PaystackUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.*;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriTemplate;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The one HTTP client every Paystack call goes through. Connections are pooled and kept alive
+ * between payments, so only the first call on a connection pays for the TCP and TLS handshake.
+ * Every call is bounded by a connect, pool-lease and read timeout. Pool usage is published as
+ * {@code httpcomponents.httpclient.pool.*}, tagged {@code httpclient=paystack}, and call latency as
+ * {@code paystack.http.requests} by path template, method and outcome. Response bodies are parsed straight from the stream.
+ * <p>
+ * Calls also pass through a bulkhead that bounds how many are in flight and a circuit breaker that
+ * stops calling a failing Paystack, so a slow Paystack sheds payment calls instead of tying up
+ * every request thread. Failures that cannot have been acted on are retried with jittered
+ * backoff within a shared {@link RetryBudget}: any transient failure of a GET, and for a POST only
+ * a connection that was never made, a 429 or a 503. Circuit state is published as
+ * {@code paystack.circuit.state}, shed calls as {@code paystack.calls.rejected} and retries as
+ * {@code paystack.retries}.
+ */
+@Component
+@Slf4j
+public class PaystackClient implements DisposableBean {
+    private static final String CLIENT_NAME = "paystack";
+    private static final int MAX_ERROR_BODY_LENGTH = 2000;
+
+    private final String baseUrl;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration bulkheadWait;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Counter rejectedByCircuit;
+    private final Counter rejectedByBulkhead;
+    private final Counter retried;
+    private final Counter retryBudgetExhausted;
+
+    public PaystackClient(MeterRegistry meterRegistry,
+                          @Value("${paystack.base-url:https://api.paystack.co}") String baseUrl,
+                          @Value("${paystack.secret.api.key}") String secretKey,
+                          @Value("${paystack.http.connect-timeout:2s}") Duration connectTimeout,
+                          @Value("${paystack.http.read-timeout:10s}") Duration readTimeout,
+                          @Value("${paystack.http.pool-timeout:1s}") Duration poolTimeout,
+                          @Value("${paystack.http.max-connections:50}") int maxConnections,
+                          @Value("${paystack.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+                          @Value("${paystack.http.idle-eviction:30s}") Duration idleEviction,
+                          @Value("${paystack.http.keep-alive:60s}") Duration keepAlive,
+                          PaystackResilienceProperties resilience) {
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity((int) Math.min(idleEviction.toMillis(), 2000));
+        bindPoolMetrics(meterRegistry);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) poolTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setDefaultHeaders(List.of(new BasicHeader(HttpHeaders.AUTHORIZATION, "Bearer " + secretKey.trim())))
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverHint > 0 ? Math.min(serverHint, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEviction.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+
+        this.objectMapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer());
+        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer());
+        this.objectMapper.registerModule(module);
+
+        this.circuitBreaker = new CircuitBreaker(resilience.failureRateThreshold(), resilience.slidingWindow(),
+                resilience.minimumCalls(), resilience.openDuration(), resilience.halfOpenProbes(), System::nanoTime,
+                state -> {
+                    log.warn("Paystack circuit is now {}", state);
+                    meterRegistry.counter("paystack.circuit.transitions", "state", tag(state)).increment();
+                });
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("paystack.circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .tag("state", tag(state))
+                    .register(meterRegistry);
+        }
+        this.bulkhead = new Semaphore(resilience.maxConcurrentCalls());
+        this.bulkheadWait = resilience.bulkheadWait();
+        Gauge.builder("paystack.bulkhead.in.use", bulkhead, semaphore -> resilience.maxConcurrentCalls() - semaphore.availablePermits())
+                .register(meterRegistry);
+        this.retryBudget = new RetryBudget(resilience.retryBudgetRatio(), resilience.minRetriesPerSecond(), System::nanoTime);
+        this.maxAttempts = Math.max(1, resilience.maxAttempts());
+        this.retryBackoff = resilience.retryBackoff();
+        this.maxRetryBackoff = resilience.maxRetryBackoff();
+        this.rejectedByCircuit = meterRegistry.counter("paystack.calls.rejected", "reason", "circuit_open");
+        this.rejectedByBulkhead = meterRegistry.counter("paystack.calls.rejected", "reason", "bulkhead_full");
+        this.retried = meterRegistry.counter("paystack.retries", "outcome", "retried");
+        this.retryBudgetExhausted = meterRegistry.counter("paystack.retries", "outcome", "budget_exhausted");
+    }
+
+    /**
+     * GETs {@code pathTemplate}, expanded with {@code uriVariables}, and reads the body as {@code type}.
+     * Latency is tagged with the unexpanded template, so references do not become separate series.
+     */
+    public <T> T get(String pathTemplate, int expectedStatus, Class<T> type, Object... uriVariables) {
+        return execute(pathTemplate, new HttpGet(expand(pathTemplate, uriVariables)), expectedStatus, type);
+    }
+
+    public <T> T post(String path, Object body, int expectedStatus, Class<T> type) {
+        HttpPost post = new HttpPost(expand(path));
+        try {
+            post.setEntity(new ByteArrayEntity(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON));
+        } catch (IOException exception) {
+            throw new PaystackException("Could not serialize the request to " + path, exception);
+        }
+        return execute(path, post, expectedStatus, type);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+
+    private <T> T execute(String path, HttpUriRequest request, int expectedStatus, Class<T> type) {
+        retryBudget.onCall();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return guarded(path, request, expectedStatus, type);
+            } catch (PaystackException exception) {
+                if (attempt >= maxAttempts || !isSafeToRetry(request, exception)) throw exception;
+                if (!retryBudget.tryRetry()) {
+                    retryBudgetExhausted.increment();
+                    throw exception;
+                }
+                retried.increment();
+                if (!sleep(backoff(attempt))) throw exception;
+            }
+        }
+    }
+
+    private <T> T guarded(String path, HttpUriRequest request, int expectedStatus, Class<T> type) {
+        if (!acquireBulkhead()) {
+            rejectedByBulkhead.increment();
+            throw new PaystackUnavailableException("Too many Paystack calls in flight, " + path + " was not sent");
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedByCircuit.increment();
+                throw new PaystackUnavailableException("Paystack circuit is open, " + path + " was not sent");
+            }
+            try {
+                T result = attempt(path, request, expectedStatus, type);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException exception) {
+                // A declined request is Paystack working as intended; only transient failures count against it.
+                if (exception instanceof PaystackException paystackException && !isTransient(paystackException.getStatusCode())) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                throw exception;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T attempt(String path, HttpUriRequest request, int expectedStatus, Class<T> type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "IO_ERROR";
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            try {
+                int statusCode = response.getStatusLine().getStatusCode();
+                outcome = String.valueOf(statusCode);
+                if (statusCode != expectedStatus) {
+                    String body = entity == null ? "" : EntityUtils.toString(entity);
+                    if (body.length() > MAX_ERROR_BODY_LENGTH) body = body.substring(0, MAX_ERROR_BODY_LENGTH);
+                    log.error("Paystack {} {} returned {}: {}", request.getMethod(), path, statusCode, body);
+                    throw new PaystackException("Paystack returned status code " + statusCode + " for " + path, statusCode);
+                }
+                if (entity == null) throw new PaystackException("Paystack returned no body for " + path, statusCode);
+                return objectMapper.readValue(entity.getContent(), type);
+            } finally {
+                // Drain what the parser left so the connection goes back to the pool instead of being closed.
+                EntityUtils.consumeQuietly(entity);
+            }
+        } catch (IOException exception) {
+            log.error("Paystack {} {} failed", request.getMethod(), path, exception);
+            throw new PaystackException("Paystack call to " + path + " failed: " + exception.getMessage(), exception);
+        } finally {
+            sample.stop(meterRegistry.timer("paystack.http.requests",
+                    "uri", path, "method", request.getMethod(), "outcome", outcome));
+        }
+    }
+
+    /**
+     * Transport errors, timeouts, rate limiting and server errors; the same failures the payment
+     * dispatchers retry later.
+     */
+    static boolean isTransient(int statusCode) {
+        return statusCode == 0 || statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private static boolean isSafeToRetry(HttpUriRequest request, PaystackException exception) {
+        if (exception instanceof PaystackUnavailableException) return false;
+        int statusCode = exception.getStatusCode();
+        if (HttpGet.METHOD_NAME.equals(request.getMethod())) return isTransient(statusCode);
+        if (statusCode == 429 || statusCode == 503) return true;
+        // ConnectionPoolTimeoutException is a ConnectTimeoutException: the request never left.
+        Throwable cause = exception.getCause();
+        return statusCode == 0 && (cause instanceof ConnectTimeoutException || cause instanceof ConnectException);
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Full jitter: a random delay below the capped exponential backoff, so callers that failed
+     * together do not retry together.
+     */
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxRetryBackoff.toNanos(), retryBackoff.toNanos() << Math.min(attempt - 1, 20));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private static boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Publishes the same pool gauges as micrometer's deprecated HttpClient 4 binder, so existing
+     * dashboards keep working.
+     */
+    private void bindPoolMetrics(MeterRegistry meterRegistry) {
+        poolGauge(meterRegistry, "httpcomponents.httpclient.pool.total.max", null, PoolStats::getMax);
+        poolGauge(meterRegistry, "httpcomponents.httpclient.pool.total.connections", "available", PoolStats::getAvailable);
+        poolGauge(meterRegistry, "httpcomponents.httpclient.pool.total.connections", "leased", PoolStats::getLeased);
+        poolGauge(meterRegistry, "httpcomponents.httpclient.pool.total.pending", null, PoolStats::getPending);
+        Gauge.builder("httpcomponents.httpclient.pool.route.max.default", connectionManager,
+                        PoolingHttpClientConnectionManager::getDefaultMaxPerRoute)
+                .tag("httpclient", CLIENT_NAME)
+                .register(meterRegistry);
+    }
+
+    private void poolGauge(MeterRegistry meterRegistry, String name, String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.Builder<PoolingHttpClientConnectionManager> gauge = Gauge.builder(name, connectionManager,
+                        manager -> value.applyAsDouble(manager.getTotalStats()))
+                .tag("httpclient", CLIENT_NAME);
+        if (state != null) gauge.tag("state", state);
+        gauge.register(meterRegistry);
+    }
+
+    private static String tag(CircuitBreaker.State state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+
+    private URI expand(String pathTemplate, Object... uriVariables) {
+        return new UriTemplate(baseUrl + pathTemplate).expand(uriVariables);
+    }
+}
@@ -0,0 +1,345 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PaymentPayStack;
+import com.africa.semiclon.capStoneProject.data.models.PaystackEvent;
+import com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.Transaction;
+import com.africa.semiclon.capStoneProject.data.repository.PayStackRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PaystackEventRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies stored Paystack events to {@link Transaction}, {@link PaymentPayStack} and
+ * {@link PayoutItem} rows. Workers
+ * drain the queue in batches of up to {@code batchSize}. Each batch locks its events with
+ * {@code skip locked}, loads the affected rows in one query per table, and commits once. The queue
+ * is only a hint: a key it drops or loses in a restart is still {@code RECEIVED} in the database,
+ * and the recovery sweep queues it again. When a batch fails, its events are applied again one
+ * per transaction, so one bad event cannot hold back the others; an event that fails on its own
+ * {@code maxAttempts} times is marked {@code FAILED} with its error.
+ */
+@Component
+@Slf4j
+public class PaystackEventProcessor implements DisposableBean {
+    private static final String CHARGE_SUCCESS = "charge.success";
+    private static final String TRANSFER_SUCCESS = "transfer.success";
+    private static final String TRANSFER_REVERSED = "transfer.reversed";
+    private static final Map<String, String> TRANSFER_OUTCOMES = Map.of(
+            TRANSFER_SUCCESS, "Transfer successful",
+            "transfer.failed", "Transfer failed",
+            TRANSFER_REVERSED, "Transfer reversed");
+    private static final int RECOVERY_LIMIT = 1000;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaystackEventRepository paystackEventRepository;
+    private final TransactionRepository transactionRepository;
+    private final PayStackRepository payStackRepository;
+    private final PayoutItemRepository payoutItemRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<String> queue;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration recoveryDelay;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final Counter processed;
+    private final Counter ignored;
+    private final Counter failed;
+    private volatile boolean running = true;
+
+    public PaystackEventProcessor(PaystackEventRepository paystackEventRepository,
+                                  TransactionRepository transactionRepository,
+                                  PayStackRepository payStackRepository,
+                                  PayoutItemRepository payoutItemRepository,
+                                  UserRepository userRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${paystack.webhook.workers:2}") int workerCount,
+                                  @Value("${paystack.webhook.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${paystack.webhook.batch-size:100}") int batchSize,
+                                  @Value("${paystack.webhook.recovery-delay:1m}") Duration recoveryDelay,
+                                  @Value("${paystack.webhook.retention:30d}") Duration retention,
+                                  @Value("${paystack.webhook.max-attempts:5}") int maxAttempts) {
+        this.paystackEventRepository = paystackEventRepository;
+        this.transactionRepository = transactionRepository;
+        this.payStackRepository = payStackRepository;
+        this.payoutItemRepository = payoutItemRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.recoveryDelay = recoveryDelay;
+        this.retention = retention;
+        this.maxAttempts = maxAttempts;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "paystack-webhook-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("paystack.webhook.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.processed = meterRegistry.counter("paystack.webhook.applied", "outcome", "processed");
+        this.ignored = meterRegistry.counter("paystack.webhook.applied", "outcome", "ignored");
+        this.failed = meterRegistry.counter("paystack.webhook.applied", "outcome", "failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int worker = 0; worker < workerCount; worker++) workers.execute(this::drain);
+    }
+
+    /**
+     * Never blocks the webhook request; when the queue is full the event waits for the recovery sweep.
+     */
+    public void submit(String eventKey) {
+        if (!queue.offer(eventKey)) log.warn("Paystack event queue is full, leaving {} for the recovery sweep", eventKey);
+    }
+
+    @Scheduled(fixedDelayString = "${paystack.webhook.recovery-interval:1m}", initialDelayString = "${paystack.webhook.recovery-interval:1m}")
+    public void requeueStale() {
+        List<String> stale = paystackEventRepository.findReceivedBefore(LocalDateTime.now().minus(recoveryDelay), RECOVERY_LIMIT);
+        if (stale.isEmpty()) return;
+        log.info("Requeueing {} unprocessed Paystack events", stale.size());
+        stale.forEach(this::submit);
+    }
+
+    /**
+     * Handled events only have to outlive Paystack's redelivery window to keep deduplicating.
+     */
+    @Scheduled(cron = "${paystack.webhook.purge-cron:0 15 3 * * *}")
+    public void purgeHandled() {
+        int removed = paystackEventRepository.deleteHandledBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) log.info("Purged {} handled Paystack events", removed);
+    }
+
+    /**
+     * Applies one batch in a single transaction; events already handled elsewhere are skipped.
+     */
+    void process(List<String> eventKeys) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<PaystackEvent> events = paystackEventRepository.lockReceived(eventKeys);
+            if (events.isEmpty()) return;
+            Set<String> references = events.stream().map(PaystackEvent::getReference)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+            Map<String, List<Transaction>> transactions = references.isEmpty() ? Map.of()
+                    : transactionRepository.findAllByReferenceIn(references).stream()
+                    .collect(Collectors.groupingBy(Transaction::getReference));
+            Map<String, PaymentPayStack> payments = references.isEmpty() ? new HashMap<>()
+                    : payStackRepository.findAllByReferenceIn(references).stream()
+                    .collect(Collectors.toMap(PaymentPayStack::getReference, payment -> payment, (first, second) -> first, HashMap::new));
+            Map<String, PayoutItem> payouts = references.isEmpty() ? Map.of()
+                    : payoutItemRepository.findAllByReferenceIn(references).stream()
+                    .collect(Collectors.toMap(PayoutItem::getReference, item -> item));
+            LocalDateTime now = LocalDateTime.now();
+
+            List<PaymentPayStack> created = new ArrayList<>();
+            List<String> applied = new ArrayList<>();
+            List<String> skipped = new ArrayList<>();
+            for (PaystackEvent event : events) {
+                JsonNode data = data(event);
+                List<Transaction> matches = transactions.getOrDefault(event.getReference(), List.of());
+                boolean matched;
+                if (CHARGE_SUCCESS.equals(event.getEventType())) {
+                    matched = applyCharge(event.getReference(), data, matches, payments, created);
+                } else if (TRANSFER_OUTCOMES.containsKey(event.getEventType())) {
+                    PayoutItem item = payouts.get(event.getReference());
+                    if (item != null && item.getStatus() == PayoutItemStatus.QUEUED) {
+                        // The dispatcher has not recorded the send yet; the event stays RECEIVED and
+                        // the recovery sweep brings it back.
+                        log.info("Payout item {} is not recorded as sent yet, leaving {} for later", item.getReference(), event.getEventKey());
+                        continue;
+                    }
+                    String outcome = TRANSFER_OUTCOMES.get(event.getEventType());
+                    matched = applyTransfer(outcome, matches, payments.get(event.getReference()))
+                            | applyPayout(event.getEventType(), outcome, item, now);
+                } else {
+                    matched = false;
+                }
+                (matched ? applied : skipped).add(event.getEventKey());
+            }
+            payStackRepository.saveAll(created);
+            if (!applied.isEmpty()) paystackEventRepository.markAll(applied, PaystackEventStatus.PROCESSED, now);
+            if (!skipped.isEmpty()) paystackEventRepository.markAll(skipped, PaystackEventStatus.IGNORED, now);
+            processed.increment(applied.size());
+            ignored.increment(skipped.size());
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                apply(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch, and when it fails, each of its events in a transaction of its own.
+     */
+    void apply(List<String> eventKeys) {
+        try {
+            process(eventKeys);
+            return;
+        } catch (RuntimeException exception) {
+            if (eventKeys.size() == 1) {
+                recordFailure(eventKeys.get(0), exception);
+                return;
+            }
+            log.warn("Could not apply {} Paystack events together, applying them one at a time", eventKeys.size(), exception);
+        }
+        for (String eventKey : eventKeys) {
+            try {
+                process(List.of(eventKey));
+            } catch (RuntimeException exception) {
+                recordFailure(eventKey, exception);
+            }
+        }
+    }
+
+    private void recordFailure(String eventKey, RuntimeException exception) {
+        log.error("Could not apply Paystack event {}", eventKey, exception);
+        String error = String.valueOf(exception.getMessage());
+        try {
+            if (paystackEventRepository.recordFailure(eventKey,
+                    error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH),
+                    maxAttempts, LocalDateTime.now()) == 1) {
+                failed.increment();
+            }
+        } catch (RuntimeException recordException) {
+            // The event stays RECEIVED and the recovery sweep queues it again.
+            log.error("Could not record the failure of Paystack event {}", eventKey, recordException);
+        }
+    }
+
+    private boolean applyCharge(String reference, JsonNode data, List<Transaction> matches,
+                                Map<String, PaymentPayStack> payments, List<PaymentPayStack> created) {
+        for (Transaction transaction : matches) {
+            setIfPresent(data, "gateway_response", transaction::setGatewayResponse);
+            setIfPresent(data, "paid_at", transaction::setPaidAt);
+            setIfPresent(data, "channel", transaction::setChannel);
+            setIfPresent(data, "currency", transaction::setCurrency);
+            setIfPresent(data, "ip_address", transaction::setIpAddress);
+        }
+        PaymentPayStack payment = payments.get(reference);
+        if (payment == null && !matches.isEmpty() && matches.get(0).getUserId() != null) {
+            Transaction transaction = matches.get(0);
+            payment = PaymentPayStack.builder()
+                    .user(userRepository.getReferenceById(transaction.getUserId()))
+                    .reference(reference)
+                    .pricingPlanType(transaction.getPlanType())
+                    .build();
+            payments.put(reference, payment);
+            created.add(payment);
+        }
+        if (payment == null) return !matches.isEmpty();
+        if (data.hasNonNull("amount")) payment.setAmount(new BigDecimal(data.get("amount").asText()));
+        setIfPresent(data, "gateway_response", payment::setGatewayResponse);
+        setIfPresent(data, "channel", payment::setChannel);
+        setIfPresent(data, "currency", payment::setCurrency);
+        setIfPresent(data, "ip_address", payment::setIpAddress);
+        LocalDateTime paidAt = timestamp(data, "paid_at");
+        if (paidAt != null) payment.setPaidAt(paidAt);
+        LocalDateTime createdAt = timestamp(data, "created_at");
+        if (createdAt != null) payment.setCreatedAt(createdAt);
+        return true;
+    }
+
+    private static boolean applyTransfer(String outcome, List<Transaction> matches, PaymentPayStack payment) {
+        for (Transaction transaction : matches) transaction.setGatewayResponse(outcome);
+        if (payment != null) payment.setGatewayResponse(outcome);
+        return !matches.isEmpty() || payment != null;
+    }
+
+    /**
+     * A payout waiting on Paystack is settled, and a reversal fails a payout that had succeeded,
+     * since the payee did not keep the money. Any other late or replayed outcome is only logged;
+     * it is still recorded on the item's transaction.
+     */
+    private static boolean applyPayout(String eventType, String outcome, PayoutItem item, LocalDateTime now) {
+        if (item == null) return false;
+        boolean reversed = TRANSFER_REVERSED.equals(eventType) && item.getStatus() == PayoutItemStatus.SUCCEEDED;
+        if (item.getStatus() != PayoutItemStatus.SENT && !reversed) {
+            log.warn("Ignoring transfer outcome '{}' for payout item {} in status {}", outcome, item.getReference(), item.getStatus());
+            return false;
+        }
+        boolean succeeded = TRANSFER_SUCCESS.equals(eventType);
+        item.setStatus(succeeded ? PayoutItemStatus.SUCCEEDED : PayoutItemStatus.FAILED);
+        item.setFailureReason(succeeded ? null : outcome);
+        item.setCompletedAt(now);
+        return true;
+    }
+
+    private JsonNode data(PaystackEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload()).path("data");
+        } catch (IOException exception) {
+            throw new IllegalStateException("Stored Paystack event " + event.getEventKey() + " is not JSON", exception);
+        }
+    }
+
+    private static void setIfPresent(JsonNode data, String field, Consumer<String> setter) {
+        if (data.hasNonNull(field)) setter.accept(data.get(field).asText());
+    }
+
+    /**
+     * Paystack sends UTC instants ({@code 2024-05-01T10:15:30.000Z}); they are stored in local time
+     * like the rest of the schema.
+     */
+    private static LocalDateTime timestamp(JsonNode data, String field) {
+        if (!data.hasNonNull(field)) return null;
+        try {
+            return OffsetDateTime.parse(data.get(field).asText()).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException exception) {
+            return null;
+        }
+    }
+}
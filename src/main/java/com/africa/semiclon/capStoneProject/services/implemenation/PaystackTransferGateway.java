@@ -0,0 +1,82 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.BulkTransferRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.BulkTransferResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferVerificationResponse;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransferGateway;
+import org.apache.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.africa.semiclon.capStoneProject.constants.ApiConstants.PAYSTACK_BULK_TRANSFER;
+import static com.africa.semiclon.capStoneProject.constants.ApiConstants.PAYSTACK_VERIFY_TRANSFER;
+
+/**
+ * Sends transfers through Paystack's bulk transfer endpoint, which takes up to 100 transfers from
+ * the balance per request. A transfer without a recipient code is failed locally rather than
+ * sent, since Paystack would refuse the whole request over it.
+ */
+@Component
+@ConditionalOnProperty(name = "payout.transfer-gateway", havingValue = "paystack", matchIfMissing = true)
+public class PaystackTransferGateway implements TransferGateway {
+    static final int MAX_TRANSFERS_PER_REQUEST = 100;
+    private static final BigDecimal KOBO_PER_NAIRA = BigDecimal.valueOf(100);
+
+    private final PaystackClient paystackClient;
+
+    public PaystackTransferGateway(PaystackClient paystackClient) {
+        this.paystackClient = paystackClient;
+    }
+
+    @Override
+    public List<TransferResult> transfer(List<TransferInstruction> transfers) {
+        if (transfers.size() > MAX_TRANSFERS_PER_REQUEST) {
+            throw new IllegalArgumentException("Paystack takes at most " + MAX_TRANSFERS_PER_REQUEST + " transfers per request");
+        }
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        List<BulkTransferRequest.Transfer> sendable = new ArrayList<>(transfers.size());
+        for (TransferInstruction transfer : transfers) {
+            if (transfer.getRecipient() == null || transfer.getRecipient().isBlank()) {
+                results.add(new TransferResult(transfer.getReference(), null, TransferResult.FAILED, "User has no transfer recipient"));
+                continue;
+            }
+            sendable.add(new BulkTransferRequest.Transfer(transfer.getAmount().multiply(KOBO_PER_NAIRA).longValueExact(),
+                    transfer.getRecipient(), transfer.getReference(), transfer.getReason()));
+        }
+        if (sendable.isEmpty()) return results;
+
+        BulkTransferResponse response = paystackClient.post(PAYSTACK_BULK_TRANSFER,
+                new BulkTransferRequest("NGN", "balance", sendable), HttpStatus.SC_OK, BulkTransferResponse.class);
+        if (response == null || !Boolean.TRUE.equals(response.getStatus()) || response.getData() == null) {
+            throw new PaystackException("Paystack declined the bulk transfer: " + (response == null ? null : response.getMessage()),
+                    HttpStatus.SC_BAD_REQUEST);
+        }
+        results.addAll(response.getData());
+        return results;
+    }
+
+    @Override
+    public Optional<TransferResult> find(String reference) {
+        TransferVerificationResponse response;
+        try {
+            response = paystackClient.get(PAYSTACK_VERIFY_TRANSFER, HttpStatus.SC_OK, TransferVerificationResponse.class, reference);
+        } catch (PaystackException exception) {
+            if (exception.getStatusCode() == HttpStatus.SC_BAD_REQUEST || exception.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return Optional.empty();
+            }
+            throw exception;
+        }
+        if (response == null || !Boolean.TRUE.equals(response.getStatus()) || response.getData() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(response.getData());
+    }
+}
@@ -0,0 +1,89 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.repository.PaystackEventRepository;
+import com.africa.semiclon.capStoneProject.exception.InvalidWebhookSignatureException;
+import com.africa.semiclon.capStoneProject.services.interfaces.PaystackWebhookService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.isValidPaystackSignature;
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.tokenDigest;
+
+/**
+ * Acknowledges a Paystack webhook after one insert: the signature is checked, the event is stored
+ * under its key, and the key goes to {@link PaystackEventProcessor}. A redelivery hits the
+ * existing key and is acknowledged without being processed again.
+ */
+@Service
+@Slf4j
+public class PaystackWebhookServiceImpl implements PaystackWebhookService {
+    private final PaystackEventRepository paystackEventRepository;
+    private final PaystackEventProcessor paystackEventProcessor;
+    private final ObjectMapper objectMapper;
+    private final String secret;
+    private final int maxPayloadBytes;
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter rejected;
+
+    public PaystackWebhookServiceImpl(PaystackEventRepository paystackEventRepository,
+                                      PaystackEventProcessor paystackEventProcessor,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${paystack.webhook.secret:${paystack.secret.api.key}}") String secret,
+                                      @Value("${paystack.webhook.max-payload-bytes:262144}") int maxPayloadBytes) {
+        this.paystackEventRepository = paystackEventRepository;
+        this.paystackEventProcessor = paystackEventProcessor;
+        this.objectMapper = objectMapper;
+        this.secret = secret.trim();
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.accepted = meterRegistry.counter("paystack.webhook.events", "outcome", "accepted");
+        this.duplicates = meterRegistry.counter("paystack.webhook.events", "outcome", "duplicate");
+        this.rejected = meterRegistry.counter("paystack.webhook.events", "outcome", "rejected");
+    }
+
+    @Override
+    public void receive(byte[] payload, String signature) {
+        if (payload == null || payload.length == 0 || payload.length > maxPayloadBytes) {
+            rejected.increment();
+            throw new IllegalArgumentException("Webhook payload is empty or too large");
+        }
+        if (!isValidPaystackSignature(payload, signature, secret)) {
+            rejected.increment();
+            throw new InvalidWebhookSignatureException("Invalid Paystack signature");
+        }
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (IOException exception) {
+            rejected.increment();
+            throw new IllegalArgumentException("Webhook payload is not JSON");
+        }
+        String eventType = event.path("event").asText("");
+        if (eventType.isBlank()) {
+            rejected.increment();
+            throw new IllegalArgumentException("Webhook payload has no event type");
+        }
+        JsonNode data = event.path("data");
+        String body = new String(payload, StandardCharsets.UTF_8);
+        String eventKey = eventType + ":" + (data.hasNonNull("id") ? data.get("id").asText() : tokenDigest(body));
+        String reference = data.hasNonNull("reference") ? data.get("reference").asText() : null;
+
+        if (paystackEventRepository.record(eventKey, eventType, reference, body, LocalDateTime.now()) == 0) {
+            duplicates.increment();
+            log.debug("Ignoring redelivered Paystack event {}", eventKey);
+            return;
+        }
+        accepted.increment();
+        paystackEventProcessor.submit(eventKey);
+    }
+}
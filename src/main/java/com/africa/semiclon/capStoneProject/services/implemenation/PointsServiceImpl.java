@@ -1,63 +1,208 @@
 package com.africa.semiclon.capStoneProject.services.implemenation;
 
 import com.africa.semiclon.capStoneProject.data.models.Points;
-import com.africa.semiclon.capStoneProject.data.models.User;
-import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.models.PointsLedgerEntry;
+import com.africa.semiclon.capStoneProject.data.repository.LedgerTotals;
 import com.africa.semiclon.capStoneProject.data.repository.PointRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PointsLedgerRepository;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
 import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository.WasteQuantityView;
 import com.africa.semiclon.capStoneProject.dtos.request.AwardPointRequest;
-import com.africa.semiclon.capStoneProject.dtos.response.AwardPointResponse;
-import com.africa.semiclon.capStoneProject.dtos.response.WeightCollectedResponse;
+import com.africa.semiclon.capStoneProject.dtos.request.BatchAwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.RedeemPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.*;
+import com.africa.semiclon.capStoneProject.exception.InsufficientPointsException;
 import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.exception.WasteNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.PointsService;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
+import static com.africa.semiclon.capStoneProject.data.models.PointsEntryType.EARN;
+import static com.africa.semiclon.capStoneProject.data.models.PointsEntryType.REDEEM;
+import static com.africa.semiclon.capStoneProject.data.repository.PointsLedgerRepository.COMPACTION_LOCK_KEY;
+
+/**
+ * Points are an append-only ledger: awards and redemptions only insert rows, and a balance is
+ * the user's {@link Points} snapshot plus the entries written after it. Compaction periodically
+ * folds older entries into the snapshots.
+ */
 @Service
+@Slf4j
 public class PointsServiceImpl implements PointsService {
-    @Autowired
-    private UserRepository userRepository;
+    private static final BigDecimal POINTS_PER_KG = new BigDecimal("10");
+    private static final int DEFAULT_HISTORY_SIZE = 20;
+    private static final int MAX_HISTORY_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final WasteRepository wasteRepository;
+    private final PointRepository pointsRepository;
+    private final PointsLedgerRepository ledgerRepository;
+    private final Duration compactionSafetyWindow;
 
-    @Autowired
-    private WasteRepository wasteRepository;
+    public PointsServiceImpl(UserRepository userRepository,
+                             WasteRepository wasteRepository,
+                             PointRepository pointsRepository,
+                             PointsLedgerRepository ledgerRepository,
+                             @Value("${points.ledger.compaction-safety-window:10m}") Duration compactionSafetyWindow) {
+        this.userRepository = userRepository;
+        this.wasteRepository = wasteRepository;
+        this.pointsRepository = pointsRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.compactionSafetyWindow = compactionSafetyWindow;
+    }
 
-    @Autowired
-    private PointRepository pointsRepository;
     @Override
+    @Transactional
     public AwardPointResponse awardPoint(AwardPointRequest request) {
-        User user = userRepository.findById(request.getUserId()).orElseThrow(() -> new UserNotFoundException("User not found"));
-        Waste waste = wasteRepository.findById(request.getWasteId()).orElseThrow(() -> new WasteNotFoundException("Waste not found"));
-        BigDecimal pointsEarned = calculatePoints(waste);
-        Points points = user.getPoints();
-        if (points == null) {
-            points = new Points();
-            points.setUserId(user.getUserId());
-            points.setTotalPoints(BigDecimal.ZERO);
-            points.setPointEarned(BigDecimal.ZERO);
-            points.setPointRedeemed(BigDecimal.ZERO);
-        }
-        points.setPointEarned(points.getPointEarned().add(pointsEarned));
-        points.setTotalPoints(points.getTotalPoints().add(pointsEarned));
-        pointsRepository.save(points);
-        user.setPoints(points);
-        userRepository.save(user);
+        if (!userRepository.existsById(request.getUserId())) throw new UserNotFoundException("User not found");
+        Integer quantity = wasteRepository.findQuantities(List.of(request.getWasteId())).stream()
+                .findFirst().map(WasteQuantityView::getQuantity)
+                .orElseThrow(() -> new WasteNotFoundException("Waste not found"));
+        BigDecimal pointsEarned = calculatePoints(quantity);
+        ledgerRepository.save(new PointsLedgerEntry(request.getUserId(), EARN, pointsEarned, request.getWasteId()));
         AwardPointResponse response = new AwardPointResponse();
         response.setMessage("Points awarded successfully");
         response.setAwardedPoints(pointsEarned);
-        response.setTotalPoints(points.getTotalPoints());
+        response.setTotalPoints(balanceOf(request.getUserId()).getTotalPoints());
+
+        return response;
+    }
+
+    /**
+     * Credits every award in one transaction as one ledger entry per pair, written as JDBC
+     * batches. Any unknown user or waste fails the whole batch.
+     */
+    @Override
+    @Transactional
+    public BatchAwardPointResponse awardPoints(BatchAwardPointRequest request) {
+        List<AwardPointRequest> awards = request.getAwards() == null ? List.of() : request.getAwards();
+        Set<Long> userIds = awards.stream().map(AwardPointRequest::getUserId).collect(Collectors.toSet());
+        Set<Long> wasteIds = awards.stream().map(AwardPointRequest::getWasteId).collect(Collectors.toSet());
+        if (userIds.contains(null) || wasteIds.contains(null)) throw new IllegalArgumentException("userId and wasteId are required");
+
+        Set<Long> missingUsers = new HashSet<>(userIds);
+        if (!userIds.isEmpty()) userRepository.findExistingIds(userIds).forEach(missingUsers::remove);
+        if (!missingUsers.isEmpty()) throw new UserNotFoundException("Users not found: " + missingUsers);
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (!wasteIds.isEmpty()) {
+            for (WasteQuantityView waste : wasteRepository.findQuantities(wasteIds)) {
+                quantities.put(waste.getWasteId(), waste.getQuantity());
+            }
+        }
+        if (quantities.size() < wasteIds.size()) {
+            Set<Long> missingWastes = new HashSet<>(wasteIds);
+            missingWastes.removeAll(quantities.keySet());
+            throw new WasteNotFoundException("Waste not found: " + missingWastes);
+        }
+
+        List<PointsLedgerEntry> entries = awards.stream()
+                .map(award -> new PointsLedgerEntry(award.getUserId(), EARN,
+                        calculatePoints(quantities.get(award.getWasteId())), award.getWasteId()))
+                .toList();
+        if (!entries.isEmpty()) ledgerRepository.appendAll(entries);
+
+        BatchAwardPointResponse response = new BatchAwardPointResponse();
+        response.setMessage("Points awarded successfully");
+        response.setAwardCount(entries.size());
+        response.setUserCount(userIds.size());
+        response.setAwardedPoints(entries.stream().map(PointsLedgerEntry::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        return response;
+    }
+
+    /**
+     * Redemptions must see a stable balance, so they take a per-user advisory lock; awards never
+     * wait on it because crediting cannot overdraw.
+     */
+    @Override
+    @Transactional
+    public PointsBalanceResponse redeemPoints(RedeemPointRequest request) {
+        if (request.getPoints() == null || request.getPoints().signum() <= 0) {
+            throw new IllegalArgumentException("points must be positive");
+        }
+        if (!userRepository.existsById(request.getUserId())) throw new UserNotFoundException("User not found");
+        ledgerRepository.acquireTransactionLock(request.getUserId());
+        PointsBalanceResponse balance = balanceOf(request.getUserId());
+        if (balance.getTotalPoints().compareTo(request.getPoints()) < 0) {
+            throw new InsufficientPointsException("Insufficient points");
+        }
+        ledgerRepository.save(new PointsLedgerEntry(request.getUserId(), REDEEM, request.getPoints(), null));
+        balance.setTotalPoints(balance.getTotalPoints().subtract(request.getPoints()));
+        balance.setPointRedeemed(balance.getPointRedeemed().add(request.getPoints()));
+        return balance;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PointsBalanceResponse getBalance(Long userId) {
+        return balanceOf(userId);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PointsHistoryResponse getHistory(Long userId, Long before, Integer size) {
+        int pageSize = size == null ? DEFAULT_HISTORY_SIZE : Math.min(Math.max(size, 1), MAX_HISTORY_SIZE);
+        List<PointsLedgerEntry> entries = ledgerRepository.findHistory(userId, before, Limit.of(pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        List<PointsLedgerEntry> page = hasMore ? entries.subList(0, pageSize) : entries;
+        PointsHistoryResponse response = new PointsHistoryResponse();
+        response.setEntries(page.stream().map(PointsEntrySummary::from).toList());
+        response.setHasMore(hasMore);
+        if (hasMore) response.setNextBefore(page.get(page.size() - 1).getEntryId());
         return response;
     }
 
+    /**
+     * Only entries older than {@code createdBefore} are folded in, which leaves transactions that
+     * were still in flight when their identity value was drawn time to commit before the
+     * snapshot moves past their id.
+     */
+    @Override
+    @Transactional
+    public int compactLedger(LocalDateTime createdBefore) {
+        ledgerRepository.acquireTransactionLock(COMPACTION_LOCK_KEY);
+        Optional<Long> through = ledgerRepository.findLastEntryIdBefore(createdBefore);
+        if (through.isEmpty()) return 0;
+        int users = ledgerRepository.compactThrough(through.get(), LocalDateTime.now());
+        userRepository.linkAllPoints();
+        log.info("Compacted points ledger through entry {} for {} users", through.get(), users);
+        return users;
+    }
+
+    @Transactional
+    @Scheduled(cron = "${points.ledger.compaction-cron:0 0 3 * * *}")
+    public void compactOlderEntries() {
+        compactLedger(LocalDateTime.now().minus(compactionSafetyWindow));
+    }
 
+    private PointsBalanceResponse balanceOf(Long userId) {
+        Optional<Points> snapshot = pointsRepository.findById(userId);
+        LedgerTotals tail = ledgerRepository.sumSince(userId, snapshot.map(Points::getLastEntryId).orElse(0L));
+        BigDecimal earned = snapshot.map(Points::getPointEarned).orElse(BigDecimal.ZERO).add(tail.earned());
+        BigDecimal redeemed = snapshot.map(Points::getPointRedeemed).orElse(BigDecimal.ZERO).add(tail.redeemed());
+        BigDecimal total = snapshot.map(Points::getTotalPoints).orElse(BigDecimal.ZERO)
+                .add(tail.earned()).subtract(tail.redeemed());
+        PointsBalanceResponse response = new PointsBalanceResponse();
+        response.setUserId(userId);
+        response.setTotalPoints(total);
+        response.setPointEarned(earned);
+        response.setPointRedeemed(redeemed);
+        return response;
+    }
 
-    private BigDecimal calculatePoints(Waste waste) {
-        BigDecimal quantityInKg = new BigDecimal(waste.getQuantity());
-        BigDecimal pointsPerKg = new BigDecimal("10");
-        return quantityInKg.multiply(pointsPerKg);
+    private BigDecimal calculatePoints(Integer quantity) {
+        BigDecimal quantityInKg = new BigDecimal(quantity == null ? 0 : quantity);
+        return quantityInKg.multiply(POINTS_PER_KG);
     }
 }
@@ -0,0 +1,44 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.security.utils.TokenBucket;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries at a share of the calls being made, across every caller, so that when Paystack
+ * struggles retries cannot multiply the load on it. Each call deposits {@code ratio} of a retry
+ * and each retry withdraws a whole one. The balance is capped, so a long healthy spell cannot bank
+ * an unbounded burst, and a small token bucket allows {@code minRetriesPerSecond} regardless.
+ */
+class RetryBudget {
+    private static final int MAX_BANKED_CALLS = 1000;
+
+    private final double ratio;
+    private final double maxBalance;
+    private final TokenBucket floor;
+    private final LongSupplier nanoClock;
+    private double balance;
+
+    RetryBudget(double ratio, double minRetriesPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.maxBalance = Math.max(1, ratio * MAX_BANKED_CALLS);
+        this.nanoClock = nanoClock;
+        this.floor = minRetriesPerSecond > 0
+                ? new TokenBucket((long) Math.max(1, Math.ceil(minRetriesPerSecond)), minRetriesPerSecond, nanoClock.getAsLong())
+                : null;
+    }
+
+    synchronized void onCall() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    boolean tryRetry() {
+        synchronized (this) {
+            if (balance >= 1) {
+                balance -= 1;
+                return true;
+            }
+        }
+        return floor != null && floor.tryAcquire(nanoClock.getAsLong()) == 0;
+    }
+}
@@ -1,117 +1,121 @@
 package com.africa.semiclon.capStoneProject.services.implemenation;
 
+import com.africa.semiclon.capStoneProject.data.models.PaymentJob;
+import com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus;
+import com.africa.semiclon.capStoneProject.data.models.PaymentOutboxEntry;
 import com.africa.semiclon.capStoneProject.data.models.PricingPlanType;
-import com.africa.semiclon.capStoneProject.data.models.Transaction;
-import com.africa.semiclon.capStoneProject.data.models.User;
-import com.africa.semiclon.capStoneProject.data.repository.AdminRepository;
-import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PaymentJobRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PaymentOutboxRepository;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
-import com.africa.semiclon.capStoneProject.dtos.request.InitializePaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
-import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+import com.africa.semiclon.capStoneProject.exception.PaymentJobNotFoundException;
 import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
-import com.africa.semiclon.capStoneProject.services.interfaces.PaymentService;
+import com.africa.semiclon.capStoneProject.services.interfaces.IdempotencyService;
 import com.africa.semiclon.capStoneProject.services.interfaces.TransactionService;
-import jakarta.transaction.Transactional;
+import com.africa.semiclon.capStoneProject.services.interfaces.WalletService;
 import lombok.AllArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.util.Date;
-
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.africa.semiclon.capStoneProject.data.models.WalletAccount.PAYOUT_CLEARING;
+
+/**
+ * Records payments and withdrawals as jobs; {@link PaymentOutboxDispatcher} makes the Paystack
+ * calls. A submission is one short transaction that writes the job and its outbox entry and, for
+ * a withdrawal, reserves the amount with a conditional debit. No request holds a database
+ * connection while Paystack is working.
+ */
 @Service
 @AllArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
-    private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
-
-    private final AdminRepository adminRepository;
     private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
-    private final PaymentService paystackService;
-
-    @Transactional
-    public InitializePaymentResponse makePaymentToUser(PaymentRequest request) {
-        // Find the user by ID
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
-        // Prepare payment initialization request
-        InitializePaymentRequest initializePaymentRequest = new InitializePaymentRequest();
-        initializePaymentRequest.setAmount(BigDecimal.valueOf(request.getAmount()));
-        initializePaymentRequest.setEmail(user.getEmail());
+    private final PaymentJobRepository paymentJobRepository;
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final WalletService walletService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentJobNotifier paymentJobNotifier;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String PAYMENT_SCOPE = "payment";
+    private static final String WITHDRAWAL_SCOPE = "withdrawal";
+
+    @Override
+    public PaymentJobResponse submitPayment(PaymentRequest request, String idempotencyKey) {
+        if (request.getAmount() <= 0) throw new IllegalArgumentException("Amount must be positive");
+        return submit(PAYMENT_SCOPE, idempotencyKey, request,
+                () -> enqueue(PricingPlanType.PAYMENT, request.getUserId(), BigDecimal.valueOf(request.getAmount())));
+    }
 
-        // Call Paystack service to initialize payment and get the response
-        InitializePaymentResponse initializePaymentResponse = paystackService.initializePaymentResponse(initializePaymentRequest);
+    @Override
+    public PaymentJobResponse submitWithdrawal(WithdrawRequest request, String idempotencyKey) {
+        return submit(WITHDRAWAL_SCOPE, idempotencyKey, request,
+                () -> enqueue(PricingPlanType.WITHDRAWAL, request.getUserId(), BigDecimal.valueOf(request.getAmount())));
+    }
 
-        // Validate payment response and generate the URL
-        if (initializePaymentResponse != null && Boolean.TRUE.equals(initializePaymentResponse.getStatus())) {
-            // Save the transaction details
-            transactionRepository.save(Transaction.builder()
-                    .userId(request.getUserId())
-                    .reference(initializePaymentResponse.getData().getReference())
-                    .amount(BigDecimal.valueOf(request.getAmount()))
-                    .gatewayResponse("Payment initialized")
-                    .paidAt(String.valueOf(new Date()))
-                    .createdAt(String.valueOf(new Date()))
-                    .channel("Online")
-                    .currency("NGN")
-                    .planType(PricingPlanType.PAYMENT)
-                    .build());
+    @Override
+    public PaymentJobResponse findPaymentJob(String jobId) {
+        return paymentJobRepository.findById(jobId)
+                .map(PaymentJobResponse::from)
+                .orElseThrow(() -> new PaymentJobNotFoundException("Payment job not found"));
+    }
 
-            // Return the payment response which contains the URL
-            return initializePaymentResponse;
-        } else {
-            log.error("Failed to initialize payment: {}", initializePaymentResponse);
-            throw new IllegalStateException("Payment initialization failed");
+    /**
+     * Completes once the job has left {@code PENDING}. The job is read again after subscribing,
+     * so an outcome published in between is not missed.
+     */
+    @Override
+    public CompletableFuture<PaymentJobResponse> awaitPaymentJob(String jobId) {
+        CompletableFuture<PaymentJobResponse> waiter = paymentJobNotifier.subscribe(jobId);
+        try {
+            PaymentJobResponse job = findPaymentJob(jobId);
+            if (job.getStatus() != PaymentJobStatus.PENDING) waiter.complete(job);
+        } catch (RuntimeException exception) {
+            waiter.completeExceptionally(exception);
         }
+        return waiter;
     }
 
-    @Transactional
-    public void processWithdrawal(WithdrawRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
-        // Handle null balance, assuming null balance is considered as zero
-        BigDecimal userBalance = user.getBalance() != null ? user.getBalance() : BigDecimal.ZERO;
-
-        // Check if user has enough balance
-        if (userBalance.compareTo(BigDecimal.valueOf(request.getAmount())) < 0) {
-            throw new IllegalArgumentException("Insufficient balance");
+    private PaymentJobResponse submit(String scope, String idempotencyKey, Object request,
+                                      Supplier<PaymentJobResponse> enqueue) {
+        Optional<PaymentJobResponse> previous =
+                idempotencyService.claim(scope, idempotencyKey, request, PaymentJobResponse.class);
+        if (previous.isPresent()) return previous.get();
+        try {
+            PaymentJobResponse response = enqueue.get();
+            idempotencyService.complete(scope, idempotencyKey, response);
+            return response;
+        } catch (RuntimeException exception) {
+            idempotencyService.release(scope, idempotencyKey);
+            throw exception;
         }
+    }
 
-        // Prepare payment initialization request
-        InitializePaymentRequest initializePaymentRequest = new InitializePaymentRequest();
-        initializePaymentRequest.setAmount(BigDecimal.valueOf(request.getAmount()));
-        initializePaymentRequest.setEmail(user.getEmail());
-
-        // Call Paystack service to initialize payment
-        InitializePaymentResponse initializePaymentResponse = paystackService.initializePaymentResponse(initializePaymentRequest);
-
-        // Validate payment response
-        if (initializePaymentResponse != null && Boolean.TRUE.equals(initializePaymentResponse.getStatus())) {
-            // Save the transaction details
-            transactionRepository.save(Transaction.builder()
-                    .userId(request.getUserId())
-                    .reference(initializePaymentResponse.getData().getReference())
-                    .amount(BigDecimal.valueOf(request.getAmount()))
-                    .gatewayResponse("Withdrawal initialized")
-                    .paidAt(String.valueOf(new Date())) // Ideally use proper date handling
-                    .createdAt(String.valueOf(new Date()))
-                    .channel("Online")
-                    .currency("NGN")
-                    .planType(PricingPlanType.WITHDRAWAL)
-                    .build());
-
-            // Update user balance
-            user.setBalance(userBalance.subtract(BigDecimal.valueOf(request.getAmount())));
-            userRepository.save(user);
-        } else {
-            log.error("Failed to initialize payment: {}", initializePaymentResponse);
-            throw new IllegalStateException("Payment initialization failed");
-        }
+    private PaymentJobResponse enqueue(PricingPlanType type, Long userId, BigDecimal amount) {
+        return transactionTemplate.execute(status -> {
+            if (userId == null || !userRepository.existsById(userId)) throw new UserNotFoundException("User not found");
+            LocalDateTime now = LocalDateTime.now();
+            PaymentJob job = new PaymentJob();
+            job.setJobId(UUID.randomUUID().toString());
+            job.setType(type);
+            job.setUserId(userId);
+            job.setAmount(amount);
+            job.setStatus(PaymentJobStatus.PENDING);
+            job.setCreatedAt(now);
+            // Check and reserve the balance in one statement
+            if (type == PricingPlanType.WITHDRAWAL) job.setJournalId(walletService.debit(userId, amount, PAYOUT_CLEARING));
+            paymentJobRepository.save(job);
+            paymentOutboxRepository.save(new PaymentOutboxEntry(job.getJobId(), now));
+            return PaymentJobResponse.from(job);
+        });
     }
 }
@@ -0,0 +1,69 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+import com.africa.semiclon.capStoneProject.data.repository.UserCollectionStatsRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserCollectionTotals;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCollectionRepository;
+import com.africa.semiclon.capStoneProject.services.interfaces.UserCollectionStatsService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@AllArgsConstructor
+public class UserCollectionStatsServiceImpl implements UserCollectionStatsService {
+    private final UserCollectionStatsRepository statsRepository;
+    private final WasteCollectionRepository wasteCollectionRepository;
+
+    /**
+     * Joins the caller's transaction, so the totals move together with the collection row.
+     */
+    @Override
+    @Transactional
+    public void recordCollection(WasteCollection collection) {
+        if (collection.getUserId() == null) return;
+        Category category = collection.getWasteCategory();
+        statsRepository.increment(collection.getUserId().getUserId(),
+                collection.getWasteWeigh() == null ? 0 : collection.getWasteWeigh(), 1,
+                category == Category.eWASTE ? 1 : 0,
+                category == Category.POLYTHENEBAG ? 1 : 0,
+                category == Category.PLASTIC ? 1 : 0,
+                category == Category.PAPER ? 1 : 0,
+                collection.getDateAndTimeCollected());
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Long userId) {
+        wasteCollectionRepository.sumForUser(userId).ifPresentOrElse(this::replace,
+                () -> statsRepository.deleteById(userId));
+    }
+
+    @Override
+    @Transactional
+    public long rebuildAll() {
+        int removed = statsRepository.deleteWithoutCollections();
+        long rebuilt = 0;
+        try (Stream<UserCollectionTotals> totals = wasteCollectionRepository.streamUserTotals()) {
+            Iterator<UserCollectionTotals> iterator = totals.iterator();
+            while (iterator.hasNext()) {
+                replace(iterator.next());
+                rebuilt++;
+            }
+        }
+        log.info("Rebuilt collection statistics for {} users, removed {} without collections", rebuilt, removed);
+        return rebuilt;
+    }
+
+    private void replace(UserCollectionTotals totals) {
+        statsRepository.replace(totals.userId(), totals.totalWeight(), totals.collectionCount(),
+                totals.ewasteCount(), totals.polythenebagCount(), totals.plasticCount(), totals.paperCount(),
+                totals.lastCollectedAt());
+    }
+}
@@ -2,8 +2,11 @@
 package com.africa.semiclon.capStoneProject.services.implemenation;
 
 import  com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.Category;
 import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.UserCollectionStats;
 import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.UserCollectionStatsRepository;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
 import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.CreateUserRequest;
@@ -19,8 +22,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -31,6 +36,7 @@ public class UserServiceImpl implements UserService {
     private final CustomAuthenticationProvider customUsernameProvider;
 
     private final UserRepository userRepository;
+    private final UserCollectionStatsRepository userCollectionStatsRepository;
     private final WasteRepository wasteRepository;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
@@ -113,15 +119,19 @@ public class UserServiceImpl implements UserService {
 //        userRepository.save(user);
 //    }
     @Override
-    public WeightCollectedResponse getTotalWeightCollectedByUser(User user) {
-        List<Waste> wasteList = user.getWastes();
-
-        int totalWeight = wasteList.stream()
-                .mapToInt(Waste::getQuantity)
-                .sum();
+    public WeightCollectedResponse getTotalWeightCollectedByUser(Long userId) {
+        UserCollectionStats stats = userCollectionStatsRepository.findById(userId).orElseGet(() -> {
+            if (!userRepository.existsById(userId)) throw new UserNotFoundException("User not found with ID: " + userId);
+            return new UserCollectionStats();
+        });
 
         WeightCollectedResponse response = new WeightCollectedResponse();
-        response.setWeight(totalWeight);
+        response.setWeight(stats.getTotalWeight());
+        response.setCollectionCount(stats.getCollectionCount());
+        Map<Category, Long> countByCategory = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) countByCategory.put(category, stats.countFor(category));
+        response.setCountByCategory(countByCategory);
+        response.setLastCollectedAt(stats.getLastCollectedAt());
         return response;
     }
     private void validateSellWasteRequest(SellWasteRequest sellWasteRequest) {
@@ -171,4 +181,11 @@ public class UserServiceImpl implements UserService {
                         String.format("user with id %d not found", id)));
 
     }
+
+    @Override
+    public User getWithHistoryById(long id) {
+        return userRepository.findWithHistoryByUserId(id).
+                orElseThrow(() -> new UserNotFoundException(
+                        String.format("user with id %d not found", id)));
+    }
 }
@@ -0,0 +1,63 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.EntryDirection;
+import com.africa.semiclon.capStoneProject.data.models.WalletAccount;
+import com.africa.semiclon.capStoneProject.data.models.WalletEntry;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WalletEntryRepository;
+import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
+import com.africa.semiclon.capStoneProject.services.interfaces.WalletService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.africa.semiclon.capStoneProject.data.models.EntryDirection.CREDIT;
+import static com.africa.semiclon.capStoneProject.data.models.EntryDirection.DEBIT;
+import static com.africa.semiclon.capStoneProject.data.models.WalletAccount.USER_WALLET;
+
+/**
+ * Moves money between a user's wallet and a system account. The cached {@code users.balance}
+ * is changed by a single conditional statement and the movement is journaled as a balanced
+ * pair of immutable entries in the same transaction.
+ */
+@Service
+@AllArgsConstructor
+public class WalletServiceImpl implements WalletService {
+    private final UserRepository userRepository;
+    private final WalletEntryRepository walletEntryRepository;
+
+    @Override
+    @Transactional
+    public String debit(Long userId, BigDecimal amount, WalletAccount counterAccount) {
+        requirePositive(amount);
+        if (userRepository.debitBalance(userId, amount) == 0) {
+            if (!userRepository.existsById(userId)) throw new UserNotFoundException("User not found");
+            throw new IllegalArgumentException("Insufficient balance");
+        }
+        return journal(userId, amount, DEBIT, counterAccount);
+    }
+
+    @Override
+    @Transactional
+    public String credit(Long userId, BigDecimal amount, WalletAccount counterAccount) {
+        requirePositive(amount);
+        if (userRepository.creditBalance(userId, amount) == 0) throw new UserNotFoundException("User not found");
+        return journal(userId, amount, CREDIT, counterAccount);
+    }
+
+    private String journal(Long userId, BigDecimal amount, EntryDirection walletSide, WalletAccount counterAccount) {
+        String journalId = UUID.randomUUID().toString();
+        walletEntryRepository.saveAll(List.of(
+                new WalletEntry(journalId, USER_WALLET, userId, walletSide, amount),
+                new WalletEntry(journalId, counterAccount, null, walletSide == DEBIT ? CREDIT : DEBIT, amount)));
+        return journalId;
+    }
+
+    private static void requirePositive(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) throw new IllegalArgumentException("Amount must be positive");
+    }
+}
@@ -0,0 +1,146 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.request.WasteManifestRow;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteManifestError;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteManifestResponse;
+import com.africa.semiclon.capStoneProject.services.implemenation.ManifestReader.Line;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteIngestionService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Streams a depot manifest through validation into chunked JDBC inserts. Each chunk commits on
+ * its own, so a bad row, or a chunk the database refuses, is reported without losing the rest of
+ * the file. Only the current chunk and at most {@code maxReportedErrors} errors are held in memory.
+ */
+@Service
+@Slf4j
+public class WasteIngestionServiceImpl implements WasteIngestionService {
+    private final WasteRepository wasteRepository;
+    private final UserRepository userRepository;
+    private final WasteRollupService wasteRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public WasteIngestionServiceImpl(WasteRepository wasteRepository,
+                                     UserRepository userRepository,
+                                     WasteRollupService wasteRollupService,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${waste.ingest.chunk-size:1000}") int chunkSize,
+                                     @Value("${waste.ingest.max-reported-errors:1000}") int maxReportedErrors) {
+        this.wasteRepository = wasteRepository;
+        this.userRepository = userRepository;
+        this.wasteRollupService = wasteRollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public WasteManifestResponse ingest(InputStream manifest, ReportFormat format) throws IOException {
+        WasteManifestResponse response = new WasteManifestResponse();
+        List<Line<WasteManifestRow>> chunk = new ArrayList<>(chunkSize);
+        try (WasteManifestReader reader = new WasteManifestReader(manifest, format, objectMapper)) {
+            Line<WasteManifestRow> line;
+            while ((line = reader.next()) != null) {
+                response.setTotalRows(response.getTotalRows() + 1);
+                String problem = line.error() != null ? line.error() : validate(line.row());
+                if (problem != null) {
+                    reject(response, line.lineNumber(), problem);
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, response);
+                    chunk.clear();
+                }
+            }
+        }
+        writeChunk(chunk, response);
+        log.info("Ingested waste manifest: {} rows, {} accepted, {} rejected",
+                response.getTotalRows(), response.getAcceptedRows(), response.getRejectedRows());
+        return response;
+    }
+
+    private void writeChunk(List<Line<WasteManifestRow>> chunk, WasteManifestResponse response) {
+        if (chunk.isEmpty()) return;
+        Set<Long> userIds = new HashSet<>();
+        for (Line<WasteManifestRow> line : chunk) {
+            if (line.row().getUserId() != null) userIds.add(line.row().getUserId());
+        }
+        Set<Long> knownUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        List<Waste> wastes = new ArrayList<>(chunk.size());
+        List<Long> lineNumbers = new ArrayList<>(chunk.size());
+        for (Line<WasteManifestRow> line : chunk) {
+            Long userId = line.row().getUserId();
+            if (userId != null && !knownUsers.contains(userId)) {
+                reject(response, line.lineNumber(), "User " + userId + " not found");
+                continue;
+            }
+            wastes.add(toWaste(line.row()));
+            lineNumbers.add(line.lineNumber());
+        }
+        if (wastes.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> wasteRepository.insertAll(wastes));
+        } catch (DataAccessException exception) {
+            log.warn("Could not save manifest rows {}..{}", lineNumbers.get(0), lineNumbers.get(lineNumbers.size() - 1), exception);
+            String message = "Could not be saved: " + exception.getMostSpecificCause().getMessage();
+            for (Long lineNumber : lineNumbers) reject(response, lineNumber, message);
+            return;
+        }
+        response.setAcceptedRows(response.getAcceptedRows() + wastes.size());
+        wasteRollupService.recordWastes(wastes);
+    }
+
+    private static String validate(WasteManifestRow row) {
+        if (row.getCategory() == null) return "category is required";
+        if (row.getQuantity() == null) return "quantity is required";
+        if (row.getQuantity() <= 0) return "quantity must be positive";
+        if (row.getPrice() != null && row.getPrice().signum() < 0) return "price must not be negative";
+        return null;
+    }
+
+    private static Waste toWaste(WasteManifestRow row) {
+        Waste waste = new Waste();
+        waste.setType(row.getCategory());
+        waste.setQuantity(row.getQuantity());
+        waste.setPrice(row.getPrice());
+        waste.setDescription(row.getDescription());
+        waste.setWasteCollectionDate(row.getCollectionDate());
+        if (row.getUserId() != null) {
+            User uploader = new User();
+            uploader.setUserId(row.getUserId());
+            waste.setUploader(uploader);
+        }
+        return waste;
+    }
+
+    private void reject(WasteManifestResponse response, long lineNumber, String message) {
+        response.setRejectedRows(response.getRejectedRows() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new WasteManifestError(lineNumber, message));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+}
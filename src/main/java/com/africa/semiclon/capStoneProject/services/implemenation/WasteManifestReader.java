@@ -0,0 +1,48 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.request.WasteManifestRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reads a waste manifest through {@link ManifestReader}; quoted descriptions may span lines.
+ */
+class WasteManifestReader extends ManifestReader<WasteManifestRow> {
+
+    WasteManifestReader(InputStream manifest, ReportFormat format, ObjectMapper objectMapper) throws IOException {
+        super(manifest, format, objectMapper, WasteManifestRow.class, WasteManifestRow.CSV_HEADER, "manifest");
+    }
+
+    @Override
+    WasteManifestRow newRow() {
+        return new WasteManifestRow();
+    }
+
+    @Override
+    void setField(WasteManifestRow row, String column, String value) {
+        switch (column) {
+            case "category" -> row.setCategory(category(value));
+            case "quantity" -> row.setQuantity(Integer.valueOf(value));
+            case "price" -> row.setPrice(new BigDecimal(value));
+            case "description" -> row.setDescription(value);
+            case "collectionDate" -> row.setCollectionDate(value.length() == 10
+                    ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value));
+            case "userId" -> row.setUserId(Long.valueOf(value));
+            default -> throw new IllegalArgumentException(column);
+        }
+    }
+
+    private static Category category(String value) {
+        for (Category category : Category.values()) {
+            if (category.name().equalsIgnoreCase(value)) return category;
+        }
+        throw new IllegalArgumentException(value);
+    }
+}
@@ -0,0 +1,256 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.Agent;
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCollectionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCollectionTotal;
+import com.africa.semiclon.capStoneProject.data.repository.WasteDailyRollupRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.WasteRollupRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.africa.semiclon.capStoneProject.data.models.WasteDailyRollup.NO_AGENT;
+
+/**
+ * Keeps {@code waste_daily_rollup} in step with the waste and collection tables. Incremental
+ * updates are best effort: they run once the caller's transaction has committed, in a
+ * transaction of their own, so a failed upsert is logged and counted rather than rolling back
+ * the business operation, and the scheduled reconciliation rebuilds recent days from the raw rows,
+ * counting the buckets it finds drifted in {@code waste.rollup.drift.buckets}.
+ */
+@Service
+@Slf4j
+public class WasteRollupServiceImpl implements WasteRollupService {
+    private static final double WEIGHT_TOLERANCE = 1e-6;
+
+    private final WasteDailyRollupRepository rollupRepository;
+    private final WasteCollectionRepository wasteCollectionRepository;
+    private final TransactionTemplate updateTransaction;
+    private final Counter updateFailures;
+    private final Counter driftedBuckets;
+    private final int reconcileDays;
+
+    public WasteRollupServiceImpl(WasteDailyRollupRepository rollupRepository,
+                                  WasteCollectionRepository wasteCollectionRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${waste.rollup.reconcile-days:3}") int reconcileDays) {
+        this.rollupRepository = rollupRepository;
+        this.wasteCollectionRepository = wasteCollectionRepository;
+        this.updateTransaction = new TransactionTemplate(transactionManager);
+        this.updateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.updateFailures = meterRegistry.counter("waste.rollup.update.failures");
+        this.driftedBuckets = meterRegistry.counter("waste.rollup.drift.buckets");
+        this.reconcileDays = reconcileDays;
+    }
+
+    @Override
+    public void recordWaste(Waste waste) {
+        if (waste.getType() == null) return;
+        applyWaste(waste, agentIdOf(waste.getAgent()), 1);
+    }
+
+    /**
+     * Folds the wastes into one upsert per bucket, so a bulk import costs as many statements as
+     * the distinct days, categories and agents it touches rather than one per row.
+     */
+    @Override
+    public void recordWastes(Collection<Waste> wastes) {
+        Map<BucketKey, BucketTotals> buckets = new HashMap<>();
+        for (Waste waste : wastes) {
+            if (waste.getType() == null) continue;
+            BucketTotals totals = buckets.computeIfAbsent(
+                    new BucketKey(reportDay(waste), waste.getType(), agentIdOf(waste.getAgent())),
+                    key -> new BucketTotals());
+            totals.wasteCount++;
+            totals.quantity += waste.getQuantity() == null ? 0 : waste.getQuantity();
+            if (waste.getPrice() != null) totals.price = totals.price.add(waste.getPrice());
+        }
+        buckets.forEach((key, totals) -> increment(key.day(), key.category(), key.agentId(),
+                totals.wasteCount, totals.quantity, totals.price, 0, 0));
+    }
+
+    @Override
+    public void recordAssignment(Waste waste, Agent previousAgent) {
+        long previous = agentIdOf(previousAgent);
+        long current = agentIdOf(waste.getAgent());
+        if (waste.getType() == null || previous == current) return;
+        applyWaste(waste, previous, -1);
+        applyWaste(waste, current, 1);
+    }
+
+    @Override
+    public void recordCollection(WasteCollection collection) {
+        if (collection.getWasteCategory() == null) return;
+        LocalDate day = collection.getDateAndTimeCollected().toLocalDate();
+        double weight = collection.getWasteWeigh() == null ? 0 : collection.getWasteWeigh();
+        increment(day, collection.getWasteCategory(), agentIdOf(collection.getAgentId()),
+                0, 0, BigDecimal.ZERO, 1, weight);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<WasteRollupSummary> before = rollupRepository.snapshotDays(from, to);
+        int removed = rollupRepository.deleteDaysBetween(from, to);
+        int rebuilt = rollupRepository.rebuildWasteTotals(start, end);
+        List<WasteCollectionTotal> collections = wasteCollectionRepository.sumByDayCategoryAndAgent(start, end);
+        for (WasteCollectionTotal total : collections) {
+            rollupRepository.increment(total.day(), total.category().name(),
+                    total.agentId() == null ? NO_AGENT : total.agentId(),
+                    0, 0, BigDecimal.ZERO, total.collectionCount(), total.collectedWeight());
+        }
+        log.info("Rebuilt waste rollup for {}..{}: removed {} buckets, wrote {} waste and {} collection buckets",
+                from, to, removed, rebuilt, collections.size());
+        int drifted = drift(before, rollupRepository.snapshotDays(from, to));
+        if (drifted > 0) {
+            driftedBuckets.increment(drifted);
+            log.warn("Waste rollup for {}..{} had drifted from the raw rows in {} buckets", from, to, drifted);
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${waste.rollup.reconcile-cron:0 30 2 * * *}")
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(reconcileDays), today);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WasteRollupResponse summarize(WasteRollupRequest request) {
+        LocalDate to = request.getTo() == null ? LocalDate.now() : request.getTo();
+        LocalDate from = request.getFrom() == null ? to.minusDays(30) : request.getFrom();
+        if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+        WasteRollupResponse response = new WasteRollupResponse();
+        response.setDays(rollupRepository.findDays(from, to, request.getCategory(), request.getAgentId())
+                .stream().map(WasteRollupSummary::from).toList());
+        response.setTotals(rollupRepository.sumByCategory(from, to));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WasteRollupSummary> totalsByCategory(LocalDate from, LocalDate to) {
+        return rollupRepository.sumByCategory(from, to);
+    }
+
+    static LocalDate reportDay(Waste waste) {
+        LocalDateTime reportedAt = waste.getWasteCollectionDate() != null
+                ? waste.getWasteCollectionDate() : waste.getTimeCreated();
+        return Objects.requireNonNullElseGet(reportedAt, LocalDateTime::now).toLocalDate();
+    }
+
+    private void applyWaste(Waste waste, long agentId, int sign) {
+        long quantity = waste.getQuantity() == null ? 0 : waste.getQuantity();
+        BigDecimal price = waste.getPrice() == null ? BigDecimal.ZERO : waste.getPrice();
+        increment(reportDay(waste), waste.getType(), agentId,
+                sign, sign * quantity, sign < 0 ? price.negate() : price, 0, 0);
+    }
+
+    /**
+     * Defers the upsert until the surrounding transaction commits, so a rolled-back operation
+     * never reaches the rollup and a failed upsert cannot mark the caller rollback-only. Resources
+     * of the committed transaction are still bound at that point, hence the new transaction.
+     */
+    private void increment(LocalDate day, Category category, long agentId, long wasteCount, long quantity,
+                           BigDecimal price, long collectionCount, double collectedWeight) {
+        Runnable update = () -> {
+            try {
+                updateTransaction.executeWithoutResult(status -> rollupRepository.increment(day, category.name(), agentId,
+                        wasteCount, quantity, price, collectionCount, collectedWeight));
+            } catch (DataAccessException | TransactionException exception) {
+                updateFailures.increment();
+                log.warn("Could not update waste rollup bucket {}/{}/{}; it will be repaired by the next rebuild",
+                        day, category, agentId, exception);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    /**
+     * Counts the buckets whose incrementally kept totals differ from the rebuilt ones. A bucket
+     * that incremental updates emptied out is not drift, though a rebuild no longer writes it.
+     */
+    static int drift(List<WasteRollupSummary> before, List<WasteRollupSummary> after) {
+        Map<BucketKey, WasteRollupSummary> rebuilt = new HashMap<>();
+        for (WasteRollupSummary bucket : after) rebuilt.put(keyOf(bucket), bucket);
+        int drifted = 0;
+        for (WasteRollupSummary bucket : before) {
+            WasteRollupSummary expected = rebuilt.remove(keyOf(bucket));
+            if (expected == null ? !isEmpty(bucket) : !sameTotals(bucket, expected)) drifted++;
+        }
+        for (WasteRollupSummary missing : rebuilt.values()) {
+            if (!isEmpty(missing)) drifted++;
+        }
+        return drifted;
+    }
+
+    private static BucketKey keyOf(WasteRollupSummary bucket) {
+        return new BucketKey(bucket.getDay(), bucket.getCategory(), bucket.getAgentId());
+    }
+
+    private static boolean isEmpty(WasteRollupSummary bucket) {
+        return bucket.getWasteCount() == 0 && bucket.getTotalQuantity() == 0 && bucket.getTotalPrice().signum() == 0
+                && bucket.getCollectionCount() == 0 && bucket.getCollectedWeight() == 0;
+    }
+
+    private static boolean sameTotals(WasteRollupSummary kept, WasteRollupSummary rebuilt) {
+        return kept.getWasteCount().equals(rebuilt.getWasteCount())
+                && kept.getTotalQuantity().equals(rebuilt.getTotalQuantity())
+                && kept.getTotalPrice().compareTo(rebuilt.getTotalPrice()) == 0
+                && kept.getCollectionCount().equals(rebuilt.getCollectionCount())
+                && Math.abs(kept.getCollectedWeight() - rebuilt.getCollectedWeight()) < WEIGHT_TOLERANCE;
+    }
+
+    private static long agentIdOf(Agent agent) {
+        return agent == null || agent.getId() == null ? NO_AGENT : agent.getId();
+    }
+
+    private record BucketKey(LocalDate day, Category category, long agentId) {
+    }
+
+    private static final class BucketTotals {
+        private long wasteCount;
+        private long quantity;
+        private BigDecimal price = BigDecimal.ZERO;
+    }
+}
@@ -7,6 +7,7 @@ import com.africa.semiclon.capStoneProject.dtos.request.UploadWasteRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.UploadWasteResponse;
 import com.africa.semiclon.capStoneProject.exception.WasteUploadFailedException;
 import com.africa.semiclon.capStoneProject.services.interfaces.UserService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
 import com.africa.semiclon.capStoneProject.services.interfaces.WasteService;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Uploader;
@@ -28,6 +29,7 @@ public class WasteServiceImpl implements WasteService {
     private final Cloudinary cloudinary;
     private final WasteRepository wasteRepository;
     private final UserService userService;
+    private final WasteRollupService wasteRollupService;
     @Override
     public UploadWasteResponse upload(UploadWasteRequest request) {
         User user= userService.getById(request.getUserId());
@@ -42,6 +44,7 @@ public class WasteServiceImpl implements WasteService {
             waste.setUrl(url);
             waste.setUploader(user);
             waste = wasteRepository.save(waste);
+            wasteRollupService.recordWaste(waste);
             return modelMapper.map(waste, UploadWasteResponse.class);
         }catch(Exception exception){
             throw new WasteUploadFailedException(exception.getMessage());
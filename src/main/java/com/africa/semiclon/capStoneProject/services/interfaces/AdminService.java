@@ -3,12 +3,16 @@ package com.africa.semiclon.capStoneProject.services.interfaces;
 import com.africa.semiclon.capStoneProject.dtos.request.*;
 import com.africa.semiclon.capStoneProject.dtos.response.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface AdminService {
     AdminResponse registerAdmin(AdminRequest registerRequest);
     ManageUserResponse manageUsers(ManageUsersRequest request);
     ViewWasteResponse viewAllWaste(ViewWasteRequest viewWasteRequest);
     AssignWasteResponse assignWasteToAgent(AssignWasteRequest request);
     WasteReportResponse generateWasteReport(GenerateWasteReportRequest request);
+    void exportWasteReport(GenerateWasteReportRequest request, ReportFormat format, OutputStream outputStream) throws IOException;
     NotificationResponse sendNotificationRequest(NotificationRequest notificationRequest);
     DeleteUserResponse deleteUser(DeleteUserRequest deleteRequest);
     RegisterAgentResponse registerAgent(RegisterAgentRequest registerRequest);
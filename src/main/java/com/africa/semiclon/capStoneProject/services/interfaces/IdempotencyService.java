@@ -0,0 +1,9 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+    <T> Optional<T> claim(String scope, String key, Object request, Class<T> responseType);
+    void complete(String scope, String key, Object response);
+    void release(String scope, String key);
+}
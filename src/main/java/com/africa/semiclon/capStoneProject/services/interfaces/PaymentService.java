@@ -6,9 +6,17 @@ import com.africa.semiclon.capStoneProject.dtos.response.CreatePlanResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.PaymentVerificationResponse;
 
+import java.util.Optional;
+
 public interface PaymentService {
     CreatePlanResponse createPlanResponse(CreatePlanRequest createPlanRequest) throws RuntimeException;
     PaymentVerificationResponse paymentVerificationResponse(String reference, String plan, Long id) throws RuntimeException;
 
     InitializePaymentResponse initializePaymentResponse(InitializePaymentRequest initializePaymentRequest);
+
+    /**
+     * Looks a transaction up by reference without recording anything; empty when Paystack has
+     * never seen the reference.
+     */
+    Optional<PaymentVerificationResponse> findTransaction(String reference);
 }
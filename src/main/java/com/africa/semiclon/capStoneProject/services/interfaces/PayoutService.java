@@ -0,0 +1,13 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.response.PayoutBatchResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PayoutService {
+    PayoutBatchResponse submit(InputStream payouts, ReportFormat format, String idempotencyKey) throws IOException;
+    PayoutBatchResponse findBatch(String batchId);
+    void setTransferRecipient(Long userId, String recipientCode);
+}
@@ -0,0 +1,5 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+public interface PaystackWebhookService {
+    void receive(byte[] payload, String signature);
+}
@@ -1,10 +1,27 @@
 package com.africa.semiclon.capStoneProject.services.interfaces;
 
 import com.africa.semiclon.capStoneProject.dtos.request.AwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.BatchAwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.RedeemPointRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.AwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.BatchAwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsBalanceResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsHistoryResponse;
+
+import java.time.LocalDateTime;
 
 public interface PointsService {
 
     AwardPointResponse awardPoint(AwardPointRequest request);
 
+    BatchAwardPointResponse awardPoints(BatchAwardPointRequest request);
+
+    PointsBalanceResponse redeemPoints(RedeemPointRequest request);
+
+    PointsBalanceResponse getBalance(Long userId);
+
+    PointsHistoryResponse getHistory(Long userId, Long before, Integer size);
+
+    int compactLedger(LocalDateTime createdBefore);
+
 }
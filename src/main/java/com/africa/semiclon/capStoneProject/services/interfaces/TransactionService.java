@@ -2,9 +2,13 @@ package com.africa.semiclon.capStoneProject.services.interfaces;
 
 import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
-import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface TransactionService {
-    InitializePaymentResponse makePaymentToUser(PaymentRequest request);
-    void processWithdrawal(WithdrawRequest request);
+    PaymentJobResponse submitPayment(PaymentRequest request, String idempotencyKey);
+    PaymentJobResponse submitWithdrawal(WithdrawRequest request, String idempotencyKey);
+    PaymentJobResponse findPaymentJob(String jobId);
+    CompletableFuture<PaymentJobResponse> awaitPaymentJob(String jobId);
 }
@@ -0,0 +1,26 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sends money out in bulk. Paystack is the real gateway; setting {@code payout.transfer-gateway=fake}
+ * swaps in a local stand-in for tests and load runs.
+ */
+public interface TransferGateway {
+
+    /**
+     * Sends the transfers as one bulk request and returns a result per reference. Throws when the
+     * request as a whole fails, in which case none of the transfers should be assumed sent.
+     */
+    List<TransferResult> transfer(List<TransferInstruction> transfers);
+
+    /**
+     * Looks a transfer up by reference; empty when the gateway has never seen the reference.
+     * Throws when that cannot be told.
+     */
+    Optional<TransferResult> find(String reference);
+}
@@ -0,0 +1,9 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+
+public interface UserCollectionStatsService {
+    void recordCollection(WasteCollection collection);
+    void rebuild(Long userId);
+    long rebuildAll();
+}
@@ -14,12 +14,14 @@ public interface UserService {
 
     User getById(long l);
 
+    User getWithHistoryById(long id);
+
     CreateUserResponse register(CreateUserRequest createUserRequest);
 
     UpdateUserResponse updateProfile(UpdateUserRequest updateUserRequest);
 
     SellWasteResponse sellWaste(SellWasteRequest sellWasteRequest);
-    WeightCollectedResponse getTotalWeightCollectedByUser(User user);
+    WeightCollectedResponse getTotalWeightCollectedByUser(Long userId);
 
 
 }
@@ -0,0 +1,10 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.data.models.WalletAccount;
+
+import java.math.BigDecimal;
+
+public interface WalletService {
+    String debit(Long userId, BigDecimal amount, WalletAccount counterAccount);
+    String credit(Long userId, BigDecimal amount, WalletAccount counterAccount);
+}
@@ -0,0 +1,11 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteManifestResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface WasteIngestionService {
+    WasteManifestResponse ingest(InputStream manifest, ReportFormat format) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.africa.semiclon.capStoneProject.services.interfaces;
+
+import com.africa.semiclon.capStoneProject.data.models.Agent;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+import com.africa.semiclon.capStoneProject.dtos.request.WasteRollupRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface WasteRollupService {
+    void recordWaste(Waste waste);
+    void recordWastes(Collection<Waste> wastes);
+    void recordAssignment(Waste waste, Agent previousAgent);
+    void recordCollection(WasteCollection collection);
+    void rebuild(LocalDate from, LocalDate to);
+    WasteRollupResponse summarize(WasteRollupRequest request);
+    List<WasteRollupSummary> totalsByCategory(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,4 @@
+-- Reconciliation polls only the sent items whose webhook is overdue
+-- (status = 'SENT' and available_at <= now() order by available_at, id).
+create index if not exists idx_payout_items_sent on payout_items (available_at, id)
+    where status = 'SENT';
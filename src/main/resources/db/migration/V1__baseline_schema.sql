@@ -0,0 +1,300 @@
+-- Baseline: the schema as mapped by the entities when migrations took over from
+-- ddl-auto=update. Every statement is guarded so the script also applies cleanly to
+-- databases that update already created.
+
+create sequence if not exists address_seq start with 1 increment by 50;
+create sequence if not exists admin_seq start with 1 increment by 50;
+create sequence if not exists agent_seq start with 1 increment by 50;
+create sequence if not exists blacklisted_tokens_seq start with 1 increment by 50;
+create sequence if not exists notification_seq start with 1 increment by 50;
+create sequence if not exists payment_pay_stack_seq start with 1 increment by 50;
+create sequence if not exists refresh_tokens_seq start with 1 increment by 50;
+create sequence if not exists transaction_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists wallet_entries_seq start with 1 increment by 50;
+create sequence if not exists waste_collection_seq start with 1 increment by 50;
+create sequence if not exists waste_report_seq start with 1 increment by 50;
+create sequence if not exists waste_seq start with 1 increment by 50;
+
+create table if not exists address (
+    id bigint not null,
+    city varchar(255),
+    postal_code varchar(255),
+    street_name varchar(255),
+    zip_code varchar(255),
+    primary key (id)
+);
+
+create table if not exists admin (
+    id bigint not null,
+    time_created timestamp(6),
+    time_updated timestamp(6),
+    admin_email varchar(255) unique,
+    admin_password varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists admin_authority (
+    admin_id bigint not null,
+    authority varchar(255) check (authority in ('USER','ADMIN','AGENT'))
+);
+
+create table if not exists admin_transactions (
+    admin_id bigint not null,
+    transactions_transaction_id bigint not null unique
+);
+
+create table if not exists agent_authorities (
+    agent_id bigint not null,
+    authorities varchar(255) check (authorities in ('USER','ADMIN','AGENT'))
+);
+
+create table if not exists agents (
+    address_id_id bigint unique,
+    id bigint not null,
+    time_created timestamp(6),
+    time_updated timestamp(6),
+    email varchar(255) not null unique,
+    password varchar(255),
+    phone_number varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists blacklisted_tokens (
+    blacklisted_at timestamp(6),
+    expires_at timestamp(6) with time zone,
+    id bigint not null,
+    token_digest varchar(64),
+    token varchar(600) not null,
+    primary key (id)
+);
+
+create table if not exists idempotency_records (
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    idempotency_key varchar(200) not null,
+    fingerprint varchar(255) not null,
+    response_body text,
+    status varchar(255) not null check (status in ('IN_PROGRESS','COMPLETED')),
+    primary key (idempotency_key)
+);
+
+create table if not exists notification (
+    notification_id bigint not null,
+    time_created timestamp(6),
+    time_updated timestamp(6),
+    user_id bigint,
+    message varchar(255),
+    primary key (notification_id)
+);
+
+create table if not exists payment_pay_stack (
+    amount numeric(38,2),
+    created_at timestamp(6),
+    id bigint not null,
+    paid_at timestamp(6),
+    time_created timestamp(6),
+    user_id bigint not null,
+    channel varchar(255),
+    currency varchar(255),
+    gateway_response varchar(255),
+    ip_address varchar(255),
+    pricing_plan_type varchar(255) check (pricing_plan_type in ('WITHDRAWAL','PAYMENT')),
+    reference varchar(255) unique,
+    primary key (id)
+);
+
+create table if not exists points (
+    point_earned numeric(38,2),
+    point_redeemed numeric(38,2),
+    total_points numeric(38,2),
+    last_entry_id bigint,
+    snapshot_at timestamp(6),
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+create table if not exists points_ledger (
+    amount numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    entry_id bigint generated by default as identity,
+    user_id bigint not null,
+    waste_id bigint,
+    type varchar(255) not null check (type in ('EARN','REDEEM')),
+    primary key (entry_id)
+);
+
+create table if not exists refresh_tokens (
+    revoked boolean not null,
+    created_at timestamp(6) with time zone,
+    expires_at timestamp(6) with time zone not null,
+    id bigint not null,
+    used_at timestamp(6) with time zone,
+    family_id varchar(36) not null,
+    token_digest varchar(64) not null,
+    username varchar(255) not null,
+    primary key (id),
+    constraint idx_refresh_tokens_token_digest unique (token_digest)
+);
+
+create table if not exists transaction (
+    amount numeric(38,2),
+    plan_type smallint check (plan_type between 0 and 1),
+    admin_id bigint,
+    created_on timestamp(6),
+    points_user_id bigint unique,
+    transaction_id bigint not null,
+    user_id bigint,
+    channel varchar(255),
+    created_at varchar(255),
+    currency varchar(255),
+    gateway_response varchar(255),
+    ip_address varchar(255),
+    paid_at varchar(255),
+    reference varchar(255),
+    primary key (transaction_id)
+);
+
+create table if not exists user_authorities (
+    user_user_id bigint not null,
+    authorities varchar(255) check (authorities in ('USER','ADMIN','AGENT'))
+);
+
+create table if not exists user_collection_stats (
+    total_weight float(53) not null,
+    collection_count bigint not null,
+    ewaste_count bigint not null,
+    last_collected_at timestamp(6),
+    paper_count bigint not null,
+    plastic_count bigint not null,
+    polythenebag_count bigint not null,
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+create table if not exists users (
+    balance numeric(38,2),
+    address_id bigint unique,
+    points_user_id bigint unique,
+    time_created timestamp(6),
+    time_updated timestamp(6),
+    user_id bigint not null,
+    email varchar(255) unique,
+    password varchar(255),
+    phone_number varchar(255),
+    username varchar(255),
+    primary key (user_id)
+);
+
+create table if not exists users_transactions (
+    transactions_transaction_id bigint not null unique,
+    user_user_id bigint not null
+);
+
+create table if not exists users_wastes (
+    user_user_id bigint not null,
+    wastes_waste_id bigint not null unique
+);
+
+create table if not exists wallet_entries (
+    amount numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    entry_id bigint not null,
+    user_id bigint,
+    account varchar(255) not null check (account in ('USER_WALLET','PAYOUT_CLEARING')),
+    direction varchar(255) not null check (direction in ('DEBIT','CREDIT')),
+    journal_id varchar(255) not null,
+    primary key (entry_id)
+);
+
+create table if not exists waste (
+    price numeric(38,2),
+    quantity integer,
+    agent_id bigint unique,
+    time_created timestamp(6),
+    time_updated timestamp(6),
+    uploader_user_id bigint,
+    user_id bigint,
+    waste_collection_date timestamp(6),
+    waste_id bigint not null,
+    description varchar(255),
+    type varchar(255) check (type in ('eWASTE','POLYTHENEBAG','PLASTIC','PAPER')),
+    url varchar(255),
+    primary key (waste_id)
+);
+
+create table if not exists waste_daily_rollup (
+    collected_weight float(53) not null,
+    rollup_day date not null,
+    total_price numeric(38,2),
+    agent_id bigint not null,
+    collection_count bigint not null,
+    total_quantity bigint not null,
+    waste_count bigint not null,
+    category varchar(255) not null check (category in ('eWASTE','POLYTHENEBAG','PLASTIC','PAPER')),
+    primary key (rollup_day, agent_id, category)
+);
+
+create table if not exists waste_collection (
+    waste_category smallint check (waste_category between 0 and 3),
+    waste_weigh float(53),
+    agent_id_id bigint,
+    date_and_time_collected timestamp(6),
+    id bigint not null,
+    user_id_user_id bigint,
+    primary key (id)
+);
+
+create table if not exists waste_report (
+    category smallint check (category between 0 and 3),
+    price numeric(38,2),
+    quantity integer,
+    collection_date timestamp(6),
+    waste_id bigint not null,
+    assigned_agent varchar(255),
+    primary key (waste_id)
+);
+
+create index if not exists idx_blacklisted_tokens_token_digest on blacklisted_tokens (token_digest);
+create index if not exists idx_blacklisted_tokens_expires_at on blacklisted_tokens (expires_at);
+create index if not exists idx_idempotency_records_created_at on idempotency_records (created_at);
+create index if not exists idx_points_ledger_user_entry on points_ledger (user_id, entry_id);
+create index if not exists idx_points_ledger_created_at on points_ledger (created_at);
+create index if not exists idx_refresh_tokens_family_id on refresh_tokens (family_id);
+create index if not exists idx_refresh_tokens_username on refresh_tokens (username);
+create index if not exists idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
+create index if not exists idx_user_authorities_authority_user on user_authorities (authorities, user_user_id);
+create index if not exists idx_users_username on users (username);
+create index if not exists idx_users_time_created_user_id on users (time_created, user_id);
+create index if not exists idx_wallet_entries_user_id on wallet_entries (user_id, entry_id);
+create index if not exists idx_wallet_entries_journal_id on wallet_entries (journal_id);
+create index if not exists idx_waste_time_created_waste_id on waste (time_created, waste_id);
+create index if not exists idx_waste_type_time_created on waste (type, time_created, waste_id);
+create index if not exists idx_waste_agent_time_created on waste (agent_id, time_created, waste_id);
+create index if not exists idx_waste_collection_date on waste (waste_collection_date);
+create index if not exists idx_waste_rollup_agent_day on waste_daily_rollup (agent_id, rollup_day);
+
+do $$
+begin
+    begin alter table admin_authority add constraint FKcvohriyanypidhl2apguwpgt4 foreign key (admin_id) references admin; exception when duplicate_object then null; end;
+    begin alter table admin_transactions add constraint FK1xse0hsgp3i90b7fn86icwuwc foreign key (transactions_transaction_id) references transaction; exception when duplicate_object then null; end;
+    begin alter table admin_transactions add constraint FK2adi9t5d5t3umatrhfxllctis foreign key (admin_id) references admin; exception when duplicate_object then null; end;
+    begin alter table agent_authorities add constraint FKpd6yeu5d6v0k4pngdufjhmae7 foreign key (agent_id) references agents; exception when duplicate_object then null; end;
+    begin alter table agents add constraint FKjni010ejjtf8ju8yijm96v1oe foreign key (address_id_id) references address; exception when duplicate_object then null; end;
+    begin alter table payment_pay_stack add constraint FKr7f0bu44dbj6qrfdn57xt3fs6 foreign key (user_id) references users; exception when duplicate_object then null; end;
+    begin alter table transaction add constraint FK612u857wlex1elm1g2ipmucpx foreign key (points_user_id) references points; exception when duplicate_object then null; end;
+    begin alter table user_authorities add constraint FKswqqnqcyqob25xy8l2iw1mi9 foreign key (user_user_id) references users; exception when duplicate_object then null; end;
+    begin alter table users add constraint FKditu6lr4ek16tkxtdsne0gxib foreign key (address_id) references address; exception when duplicate_object then null; end;
+    begin alter table users add constraint FKg1qq7uq31ah7sfegwxh90ursx foreign key (points_user_id) references points; exception when duplicate_object then null; end;
+    begin alter table users_transactions add constraint FKv1ybblkf6b75lui00573njll foreign key (transactions_transaction_id) references transaction; exception when duplicate_object then null; end;
+    begin alter table users_transactions add constraint FKa1ncuywtuee9lxoubhfij0tms foreign key (user_user_id) references users; exception when duplicate_object then null; end;
+    begin alter table users_wastes add constraint FK8vywk2umtba2gj2vfeoeb5y7k foreign key (wastes_waste_id) references waste; exception when duplicate_object then null; end;
+    begin alter table users_wastes add constraint FKtqijdqufwcc2i0ugmsrpvx62u foreign key (user_user_id) references users; exception when duplicate_object then null; end;
+    begin alter table waste add constraint FKbl1yp1gq0jvcn1shm9tiymm1i foreign key (agent_id) references agents; exception when duplicate_object then null; end;
+    begin alter table waste add constraint FK5u4v8m2n9xhjxk3uwhupv5ml1 foreign key (uploader_user_id) references users; exception when duplicate_object then null; end;
+    begin alter table waste add constraint FK28iksswx9y6ftqtn1u5smblvn foreign key (user_id) references users; exception when duplicate_object then null; end;
+    begin alter table waste_collection add constraint FK8lg75ai81hbx1y7qvsimrn3js foreign key (agent_id_id) references agents; exception when duplicate_object then null; end;
+    begin alter table waste_collection add constraint FKsx83wylgd3cocfjb1jevuuwmd foreign key (user_id_user_id) references users; exception when duplicate_object then null; end;
+end $$;
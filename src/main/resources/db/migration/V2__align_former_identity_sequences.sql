@@ -0,0 +1,18 @@
+-- users, waste_report, blacklisted_tokens, refresh_tokens and wallet_entries moved from identity
+-- columns to pooled sequences. Move each sequence past the highest id already in its table;
+-- sequences that are already ahead, and empty tables, are left alone.
+
+select setval('users_seq', m) from (select max(user_id) m from users) t
+where m >= (select last_value from users_seq);
+
+select setval('waste_report_seq', m) from (select max(waste_id) m from waste_report) t
+where m >= (select last_value from waste_report_seq);
+
+select setval('blacklisted_tokens_seq', m) from (select max(id) m from blacklisted_tokens) t
+where m >= (select last_value from blacklisted_tokens_seq);
+
+select setval('refresh_tokens_seq', m) from (select max(id) m from refresh_tokens) t
+where m >= (select last_value from refresh_tokens_seq);
+
+select setval('wallet_entries_seq', m) from (select max(entry_id) m from wallet_entries) t
+where m >= (select last_value from wallet_entries_seq);
@@ -0,0 +1,25 @@
+-- Indexes for the lookups the application makes on every request or job run.
+
+-- Login looks usernames up by equality and the admin user search by prefix (username like 'abc%').
+-- text_pattern_ops serves both, so it replaces the plain btree.
+drop index if exists idx_users_username;
+create index if not exists idx_users_username_pattern on users (username text_pattern_ops);
+create index if not exists idx_users_phone_number on users (phone_number);
+
+create index if not exists idx_agents_username on agents (username);
+
+-- Blacklist checks go through token_digest (indexed in V1); the periodic sync with other nodes reads by
+-- blacklisted_at.
+create index if not exists idx_blacklisted_tokens_blacklisted_at on blacklisted_tokens (blacklisted_at);
+
+create index if not exists idx_waste_user_id on waste (user_id);
+create index if not exists idx_waste_uploader_user_id on waste (uploader_user_id);
+-- The admin "unassigned waste" page, newest first. Assigned waste never enters this index.
+create index if not exists idx_waste_unassigned_time_created on waste (time_created desc, waste_id desc)
+    where agent_id is null;
+
+create index if not exists idx_waste_collection_user_id on waste_collection (user_id_user_id);
+
+create index if not exists idx_transaction_user_id on transaction (user_id);
+create index if not exists idx_transaction_reference on transaction (reference);
+-- payment_pay_stack.reference is already covered by its unique constraint.
@@ -0,0 +1,32 @@
+-- Payments and withdrawals are recorded as jobs with an outbox entry and sent to Paystack by a
+-- background dispatcher, so no request holds a database connection across the Paystack call.
+create sequence if not exists payment_outbox_seq start with 1 increment by 50;
+
+create table if not exists payment_jobs (
+    job_id varchar(36) not null,
+    type varchar(255) not null check (type in ('WITHDRAWAL','PAYMENT')),
+    user_id bigint not null,
+    amount numeric(38,2) not null,
+    status varchar(255) not null check (status in ('PENDING','SUCCEEDED','FAILED')),
+    journal_id varchar(255),
+    reference varchar(255),
+    authorization_url varchar(255),
+    failure_reason varchar(500),
+    created_at timestamp(6) not null,
+    completed_at timestamp(6),
+    primary key (job_id)
+);
+
+create table if not exists payment_outbox (
+    id bigint not null,
+    job_id varchar(36) not null unique,
+    available_at timestamp(6) not null,
+    attempts integer not null,
+    last_error varchar(500),
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index if not exists idx_payment_jobs_user_id on payment_jobs (user_id, created_at);
+-- Dispatchers poll for due entries (available_at <= now() order by available_at, id).
+create index if not exists idx_payment_outbox_available_at on payment_outbox (available_at, id);
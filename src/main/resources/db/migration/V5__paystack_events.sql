@@ -0,0 +1,15 @@
+-- Paystack webhook deliveries. The event key is the primary key, so a redelivery is dropped on insert.
+create table if not exists paystack_events (
+    event_key varchar(200) not null,
+    event_type varchar(100) not null,
+    reference varchar(255),
+    payload text not null,
+    status varchar(255) not null check (status in ('RECEIVED','PROCESSED','IGNORED')),
+    received_at timestamp(6) not null,
+    processed_at timestamp(6),
+    primary key (event_key)
+);
+
+-- The recovery sweep reads only the unprocessed backlog, oldest first.
+create index if not exists idx_paystack_events_received on paystack_events (received_at)
+    where status = 'RECEIVED';
@@ -0,0 +1,38 @@
+-- Bulk payouts: one batch per upload, one item per transfer, sent to Paystack in bulk by a
+-- background dispatcher.
+create sequence if not exists payout_items_seq start with 1 increment by 50;
+
+create table if not exists payout_batches (
+    batch_id varchar(36) not null,
+    total_rows bigint not null,
+    rejected_rows bigint not null,
+    created_at timestamp(6) not null,
+    ingested_at timestamp(6),
+    primary key (batch_id)
+);
+
+create table if not exists payout_items (
+    id bigint not null,
+    batch_id varchar(36) not null,
+    line_number bigint not null,
+    user_id bigint not null,
+    amount numeric(38,2) not null,
+    reference varchar(36) not null unique,
+    status varchar(255) not null check (status in ('QUEUED','SENT','SUCCEEDED','FAILED')),
+    attempts integer not null,
+    available_at timestamp(6) not null,
+    transfer_code varchar(255),
+    failure_reason varchar(500),
+    created_at timestamp(6) not null,
+    completed_at timestamp(6),
+    primary key (id)
+);
+
+-- Paystack identifies a payee by a transfer recipient code created for their bank account.
+alter table users add column if not exists transfer_recipient_code varchar(255);
+
+-- Progress is a count per status within one batch.
+create index if not exists idx_payout_items_batch_id on payout_items (batch_id, status);
+-- Dispatchers poll only the queued items (status = 'QUEUED' and available_at <= now() order by available_at, id).
+create index if not exists idx_payout_items_queued on payout_items (available_at, id)
+    where status = 'QUEUED';
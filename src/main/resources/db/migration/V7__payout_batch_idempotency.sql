@@ -0,0 +1,7 @@
+-- A payout upload is keyed by the client's Idempotency-Key, so a retried upload resumes the same
+-- batch instead of paying everyone again.
+alter table payout_batches add column if not exists idempotency_key varchar(255);
+create unique index if not exists uk_payout_batches_idempotency_key on payout_batches (idempotency_key);
+
+-- A resumed upload skips the lines already written; two uploads of the same batch cannot both write one.
+create unique index if not exists uk_payout_items_batch_line on payout_items (batch_id, line_number);
@@ -0,0 +1,6 @@
+-- Waste is paged by (time_created, waste_id); a null time_created cannot be put in a cursor and
+-- falls out of the keyset predicate. Every insert path sets it, so only old rows are backfilled,
+-- from the collection date where there is one.
+update waste set time_created = coalesce(waste_collection_date, timestamp '1970-01-01')
+    where time_created is null;
+alter table waste alter column time_created set not null;
@@ -0,0 +1,7 @@
+-- An event that keeps failing on its own is parked as FAILED with its error, so the recovery sweep
+-- stops handing it back together with the events queued behind it.
+alter table paystack_events add column if not exists attempts integer not null default 0;
+alter table paystack_events add column if not exists last_error varchar(500);
+alter table paystack_events drop constraint if exists paystack_events_status_check;
+alter table paystack_events add constraint paystack_events_status_check
+    check (status in ('RECEIVED','PROCESSED','IGNORED','FAILED'));
@@ -0,0 +1,130 @@
+package com.africa.semiclon.capStoneProject.benchmark;
+
+import com.africa.semiclon.capStoneProject.dtos.request.RegisterRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.ApiResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.RegisterResponse;
+import com.africa.semiclon.capStoneProject.security.config.JwtKeyRing;
+import com.africa.semiclon.capStoneProject.security.config.JwtProperties;
+import com.africa.semiclon.capStoneProject.security.config.RsaKeyProperties;
+import com.africa.semiclon.capStoneProject.security.filters.CustomAuthorizationFilter;
+import com.africa.semiclon.capStoneProject.security.services.Implementation.VerifiedTokenCache;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_ISSUER;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Compares authorization filter throughput with and without the verified token cache.
+ * Run with {@code mvn test-compile} followed by {@code java -cp <test classpath> ...AuthorizationFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationFilterBenchmark {
+
+    private CustomAuthorizationFilter cachedFilter;
+    private CustomAuthorizationFilter uncachedFilter;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        RsaKeyProperties rsaKeys = new RsaKeyProperties(readPublicKey(), readPrivateKey());
+        var jwtKeyRing = new JwtKeyRing(rsaKeys,
+                new JwtProperties(JwtKeyRing.LEGACY_KEY_ID, Duration.ofHours(1), List.of()));
+        AuthServices authServices = new NoBlacklistAuthServices();
+        cachedFilter = new CustomAuthorizationFilter(authServices, jwtKeyRing,
+                new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5)));
+        uncachedFilter = new CustomAuthorizationFilter(authServices, jwtKeyRing,
+                new VerifiedTokenCache(new SimpleMeterRegistry(), 0, Duration.ofMinutes(5)));
+        Instant now = Instant.now();
+        token = JWT.create()
+                .withIssuer(JWT_ISSUER)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(1, HOURS))
+                .withSubject("user")
+                .withClaim("principal", "user")
+                .withClaim("credentials", "[PROTECTED]")
+                .withArrayClaim("roles", new String[]{"USER"})
+                .sign(Algorithm.RSA512(rsaKeys.publicKey(), rsaKeys.privateKey()));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cached() throws Exception {
+        return authorize(cachedFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse uncached() throws Exception {
+        return authorize(uncachedFilter);
+    }
+
+    private MockHttpServletResponse authorize(CustomAuthorizationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/1");
+        request.addHeader(AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private static RSAPublicKey readPublicKey() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("keys/public.pem").getInputStream()) {
+            return RsaKeyConverters.x509().convert(inputStream);
+        }
+    }
+
+    private static RSAPrivateKey readPrivateKey() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("keys/private.pem").getInputStream()) {
+            return RsaKeyConverters.pkcs8().convert(inputStream);
+        }
+    }
+
+    private static class NoBlacklistAuthServices implements AuthServices {
+        @Override
+        public ApiResponse<RegisterResponse> register(RegisterRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void blacklist(String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isTokenBlacklisted(String token) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthorizationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,146 @@
+package com.africa.semiclon.capStoneProject.benchmark;
+
+import com.africa.semiclon.capStoneProject.CapStoneProjectApplication;
+import com.africa.semiclon.capStoneProject.data.models.Notification;
+import com.africa.semiclon.capStoneProject.data.models.PricingPlanType;
+import com.africa.semiclon.capStoneProject.data.models.Transaction;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.NotificationRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.africa.semiclon.capStoneProject.data.models.Category.PLASTIC;
+
+/**
+ * Bulk-inserts waste, transactions and notifications through the repositories, with JDBC
+ * batching turned off ({@code jdbcBatchSize = 1}, one statement per row as before) and on. The
+ * statements prepared per inserted row, sequence calls included, are printed after each
+ * iteration. Every invocation is rolled back after the flush, so it needs the configured
+ * database but leaves no rows behind.
+ * Run with {@code mvn test-compile} followed by {@code java -cp <test classpath> ...BulkInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int ROWS_PER_ENTITY = 1000;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private WasteRepository wasteRepository;
+    private TransactionRepository transactionRepository;
+    private NotificationRepository notificationRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CapStoneProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+        wasteRepository = context.getBean(WasteRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerRow() {
+        long rows = statistics.getEntityInsertCount();
+        if (rows == 0) return;
+        System.out.printf("%nbatch size %d: %d statements for %d rows, %.3f per row%n", jdbcBatchSize,
+                statistics.getPrepareStatementCount(), rows, (double) statistics.getPrepareStatementCount() / rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertWasteTransactionsAndNotifications() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            wasteRepository.saveAll(wastes());
+            transactionRepository.saveAll(transactions());
+            notificationRepository.saveAll(notifications());
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+    private static List<Waste> wastes() {
+        List<Waste> wastes = new ArrayList<>(ROWS_PER_ENTITY);
+        for (int row = 0; row < ROWS_PER_ENTITY; row++) {
+            Waste waste = new Waste();
+            waste.setType(PLASTIC);
+            waste.setQuantity(row % 20 + 1);
+            waste.setPrice(BigDecimal.valueOf(row % 500, 2));
+            wastes.add(waste);
+        }
+        return wastes;
+    }
+
+    private static List<Transaction> transactions() {
+        List<Transaction> transactions = new ArrayList<>(ROWS_PER_ENTITY);
+        for (int row = 0; row < ROWS_PER_ENTITY; row++) {
+            transactions.add(Transaction.builder()
+                    .reference("bench-" + row)
+                    .amount(BigDecimal.valueOf(row))
+                    .currency("NGN")
+                    .planType(PricingPlanType.PAYMENT)
+                    .build());
+        }
+        return transactions;
+    }
+
+    private static List<Notification> notifications() {
+        List<Notification> notifications = new ArrayList<>(ROWS_PER_ENTITY);
+        for (int row = 0; row < ROWS_PER_ENTITY; row++) {
+            Notification notification = new Notification();
+            notification.setMessage("Bulk insert benchmark " + row);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.africa.semiclon.capStoneProject.benchmark;
+
+import com.africa.semiclon.capStoneProject.security.config.JwtAlgorithm;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_ISSUER;
+import static java.time.temporal.ChronoUnit.HOURS;
+
+/**
+ * Sign and verify throughput for each {@link JwtAlgorithm}, using the same claims as a login token.
+ * The encoded token size per algorithm is printed during setup.
+ * Run with {@code mvn test-compile} followed by {@code java -cp <test classpath> ...JwtSigningBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "RS512", "ES256", "ES384"})
+    private JwtAlgorithm algorithm;
+
+    private Algorithm signingAlgorithm;
+    private JWTVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = generateKeyPair(algorithm);
+        signingAlgorithm = algorithm.toAlgorithm(keyPair.getPublic(), keyPair.getPrivate());
+        verifier = JWT.require(signingAlgorithm).withIssuer(JWT_ISSUER).build();
+        token = sign();
+        System.out.printf("%n%s token size: %d bytes%n", algorithm, token.length());
+    }
+
+    @Benchmark
+    public String sign() {
+        Instant now = Instant.now();
+        return JWT.create()
+                .withKeyId("benchmark")
+                .withIssuer(JWT_ISSUER)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(1, HOURS))
+                .withSubject("user")
+                .withClaim("principal", "user")
+                .withClaim("credentials", "[PROTECTED]")
+                .withArrayClaim("roles", new String[]{"USER"})
+                .sign(signingAlgorithm);
+    }
+
+    @Benchmark
+    public DecodedJWT verify() {
+        return verifier.verify(token);
+    }
+
+    private static KeyPair generateKeyPair(JwtAlgorithm algorithm) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyType());
+        switch (algorithm) {
+            case RS256, RS512 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case ES384 -> generator.initialize(new ECGenParameterSpec("secp384r1"));
+            default -> throw new NoSuchAlgorithmException(algorithm.name());
+        }
+        return generator.generateKeyPair();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plans of the hot lookups against the migrated schema. Sequential scans are turned
+ * off for the test transaction because the test tables are too small for the planner to prefer
+ * an index on its own; what is checked is that a usable index exists for each query shape.
+ */
+@SpringBootTest
+@Transactional
+class SchemaIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void preferIndexes() {
+        jdbcTemplate.execute("set local enable_seqscan = off");
+    }
+
+    @Test
+    void userLookupsUseIndexes() {
+        assertThat(plan("select user_id from users where username = 'ada'")).contains("idx_users_username_pattern");
+        assertThat(plan("select user_id from users where username like 'ad%'")).contains("idx_users_username_pattern");
+        assertThat(plan("select user_id from users where phone_number = '08000000000'")).contains("idx_users_phone_number");
+        assertThat(plan("select id from agents where username = 'agent'")).contains("idx_agents_username");
+    }
+
+    @Test
+    void wasteLookupsUseIndexes() {
+        assertThat(plan("select waste_id from waste where uploader_user_id = 1")).contains("idx_waste_uploader_user_id");
+        assertThat(plan("select waste_id from waste where user_id = 1")).contains("idx_waste_user_id");
+        assertThat(plan("select waste_id from waste where waste_collection_date >= now() - interval '1 day'"))
+                .contains("idx_waste_collection_date");
+        assertThat(plan("select waste_id from waste where agent_id is null " +
+                "order by time_created desc, waste_id desc limit 20")).contains("idx_waste_unassigned_time_created");
+    }
+
+    @Test
+    void paymentLookupsUseIndexes() {
+        assertThat(plan("select transaction_id from transaction where reference = 'ref'")).contains("idx_transaction_reference");
+        assertThat(plan("select transaction_id from transaction where user_id = 1")).contains("idx_transaction_user_id");
+        assertThat(plan("select id from payment_pay_stack where reference = 'ref'")).contains("Index");
+    }
+
+    @Test
+    void payoutLookupsUseIndexes() {
+        assertThat(plan("select id from payout_items where status = 'QUEUED' and available_at <= now() " +
+                "order by available_at, id limit 100")).contains("idx_payout_items_queued");
+        assertThat(plan("select status, count(*) from payout_items where batch_id = 'batch' group by status"))
+                .contains("idx_payout_items_batch_id");
+    }
+
+    private String plan(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + query, String.class));
+    }
+}
@@ -0,0 +1,22 @@
+package com.africa.semiclon.capStoneProject.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaMigratorTest {
+
+    @Test
+    void migrationsAreNumberedWithoutGaps() throws Exception {
+        List<SchemaMigrator.Migration> migrations =
+                new SchemaMigrator(null, "classpath:db/migration").loadMigrations();
+
+        assertThat(migrations).isNotEmpty();
+        for (int index = 0; index < migrations.size(); index++) {
+            assertThat(migrations.get(index).version()).isEqualTo(index + 1);
+            assertThat(migrations.get(index).checksum()).hasSize(64);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.africa.semiclon.capStoneProject.controller;
 import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.CreatePlanResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
 import com.africa.semiclon.capStoneProject.exception.AdminException;
 import com.africa.semiclon.capStoneProject.exception.UserNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.TransactionService;
@@ -54,7 +55,7 @@ public class AdminControlTest {
     @WithMockUser(roles = "ADMIN")
     public void testMakePaymentToUserFailure() throws Exception {
         PaymentRequest request = new PaymentRequest(); // Populate as needed
-        Mockito.when(transactionService.makePaymentToUser(Mockito.any(PaymentRequest.class)))
+        Mockito.when(transactionService.submitPayment(Mockito.any(PaymentRequest.class), Mockito.isNull()))
                 .thenThrow(new AdminException("Admin not found"));
         mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/payments/make-payment")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -69,12 +70,13 @@ public class AdminControlTest {
         // Prepare request object
         WithdrawRequest request = new WithdrawRequest(); // Populate as needed
 
-        Mockito.doNothing().when(transactionService).processWithdrawal(Mockito.any(WithdrawRequest.class));
+        Mockito.when(transactionService.submitWithdrawal(Mockito.any(WithdrawRequest.class), Mockito.isNull()))
+                .thenReturn(new PaymentJobResponse());
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/payments/process-withdrawal")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{ \"userId\": \"10\", \"amount\": 500 }"))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andDo(MockMvcResultHandlers.print());
     }
 
@@ -82,8 +84,8 @@ public class AdminControlTest {
     public void testProcessWithdrawalFailure() throws Exception {
         WithdrawRequest request = new WithdrawRequest(); // Populate as needed
 
-        Mockito.doThrow(new UserNotFoundException("User not found")).when(transactionService)
-                .processWithdrawal(Mockito.any(WithdrawRequest.class));
+        Mockito.when(transactionService.submitWithdrawal(Mockito.any(WithdrawRequest.class), Mockito.isNull()))
+                .thenThrow(new UserNotFoundException("User not found"));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/payments/process-withdrawal")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -12,10 +12,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -136,5 +141,37 @@ public class AdminControllerTest {
 
     }
 
+    @Test
+    @WithMockUser(authorities = {"USER"})
+    public void payoutAndMaintenanceEndpointsNeedAdmin() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/payouts")
+                        .header("Idempotency-Key", "payout-1")
+                        .contentType("text/csv")
+                        .content("userId,amount\n1,10\n"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/admin/payouts/batch-1"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/v1/admin/payouts/recipients/1")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"recipientCode\": \"RCP_0aq6qvyydu5lr3w\"}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/admin/wasteRollup/rebuild").param("from", "2024-01-01").param("to", "2024-01-31"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/admin/collectionStats/rebuild"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/admin/pointsLedger/compact").param("createdBefore", "2024-01-01T00:00:00"))
+                .andExpect(status().isForbidden());
+    }
 
+    @Test
+    @WithMockUser(authorities = {"ADMIN"})
+    public void wasteReportExportHasItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/wasteReport/export")
+                        .param("startDate", "2024-01-01T00:00:00")
+                        .param("endDate", "2024-01-31T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+    }
 }
@@ -79,6 +79,19 @@ class AuthControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    public void logoutEverywhereNeedsAValidTokenTest() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/logoutAll"))
+                .andExpect(status().isForbidden());
+        String token = getToken();
+        mockMvc.perform(post("/api/v1/auth/logoutAll")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/user")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     public void testThatBlacklistedTokenCannotBeAuthorized() throws Exception {
         mockMvc.perform(get("/api/v1/user")
@@ -0,0 +1,181 @@
+package com.africa.semiclon.capStoneProject.controller;
+
+import com.africa.semiclon.capStoneProject.data.models.PaystackEvent;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus;
+import com.africa.semiclon.capStoneProject.data.models.Transaction;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.PayStackRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PaystackEventRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaystackWebhookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaystackEventRepository paystackEventRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PayStackRepository payStackRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PayoutItemRepository payoutItemRepository;
+
+    @Value("${paystack.secret.api.key}")
+    private String secret;
+
+    private PaystackWebhookSender paystack;
+
+    @BeforeEach
+    void setUp() {
+        paystack = new PaystackWebhookSender(mockMvc, secret);
+    }
+
+    @Test
+    void eventWithABadSignatureIsRejectedAndNotStored() throws Exception {
+        String id = eventId();
+        byte[] payload = PaystackWebhookSender.captured("charge-success", Map.of("id", id, "reference", "ref-" + id));
+
+        paystack.send(payload, "0".repeat(128)).andExpect(status().isUnauthorized());
+
+        assertThat(paystackEventRepository.findById("charge.success:" + id)).isEmpty();
+    }
+
+    @Test
+    void chargeSuccessUpdatesTheTransactionAndRecordsThePayment() throws Exception {
+        String id = eventId();
+        String reference = "ref-" + id;
+        Transaction transaction = saveTransaction(reference);
+
+        paystack.send(PaystackWebhookSender.captured("charge-success", Map.of("id", id, "reference", reference)))
+                .andExpect(status().isOk());
+
+        assertThat(awaitHandled("charge.success:" + id)).isEqualTo(PaystackEventStatus.PROCESSED);
+        Transaction updated = transactionRepository.findById(transaction.getTransactionId()).orElseThrow();
+        assertThat(updated.getGatewayResponse()).isEqualTo("Successful");
+        assertThat(updated.getChannel()).isEqualTo("card");
+        assertThat(payStackRepository.findAllByReferenceIn(List.of(reference))).hasSize(1);
+    }
+
+    @Test
+    void redeliveredEventIsAcknowledgedButAppliedOnce() throws Exception {
+        String id = eventId();
+        String reference = "ref-" + id;
+        saveTransaction(reference);
+        byte[] payload = PaystackWebhookSender.captured("charge-success", Map.of("id", id, "reference", reference));
+
+        paystack.send(payload).andExpect(status().isOk());
+        paystack.send(payload).andExpect(status().isOk());
+        awaitHandled("charge.success:" + id);
+        paystack.send(payload).andExpect(status().isOk());
+
+        assertThat(paystackEventRepository.findById("charge.success:" + id)).isPresent();
+        assertThat(payStackRepository.findAllByReferenceIn(List.of(reference))).hasSize(1);
+    }
+
+    @Test
+    void eventForAnUnknownReferenceIsIgnored() throws Exception {
+        String id = eventId();
+
+        paystack.send(PaystackWebhookSender.captured("transfer-success", Map.of("id", id, "reference", "missing-" + id)))
+                .andExpect(status().isOk());
+
+        assertThat(awaitHandled("transfer.success:" + id)).isEqualTo(PaystackEventStatus.IGNORED);
+    }
+
+    @Test
+    void transferOutcomeSettlesOnlyPayoutsAwaitingIt() throws Exception {
+        String successId = eventId();
+        String replayId = eventId();
+        String reversalId = eventId();
+        PayoutItem sent = savePayoutItem("sent-" + successId, PayoutItemStatus.SENT);
+
+        paystack.send(PaystackWebhookSender.captured("transfer-success", Map.of("id", successId, "reference", sent.getReference())))
+                .andExpect(status().isOk());
+        assertThat(awaitHandled("transfer.success:" + successId)).isEqualTo(PaystackEventStatus.PROCESSED);
+        assertThat(payoutItemRepository.findById(sent.getId()).orElseThrow().getStatus()).isEqualTo(PayoutItemStatus.SUCCEEDED);
+
+        paystack.send(PaystackWebhookSender.captured("transfer-success", Map.of("id", replayId, "reference", sent.getReference())))
+                .andExpect(status().isOk());
+        assertThat(awaitHandled("transfer.success:" + replayId)).isEqualTo(PaystackEventStatus.IGNORED);
+
+        paystack.send(PaystackWebhookSender.captured("transfer-reversed", Map.of("id", reversalId, "reference", sent.getReference())))
+                .andExpect(status().isOk());
+        assertThat(awaitHandled("transfer.reversed:" + reversalId)).isEqualTo(PaystackEventStatus.PROCESSED);
+        PayoutItem reversed = payoutItemRepository.findById(sent.getId()).orElseThrow();
+        assertThat(reversed.getStatus()).isEqualTo(PayoutItemStatus.FAILED);
+        assertThat(reversed.getFailureReason()).isEqualTo("Transfer reversed");
+    }
+
+    private PaystackEventStatus awaitHandled(String eventKey) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        PaystackEventStatus status = null;
+        while (System.currentTimeMillis() < deadline) {
+            status = paystackEventRepository.findById(eventKey).map(PaystackEvent::getStatus).orElse(null);
+            if (status != null && status != PaystackEventStatus.RECEIVED) return status;
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    private PayoutItem savePayoutItem(String reference, PayoutItemStatus status) {
+        PayoutItem item = new PayoutItem();
+        item.setBatchId("webhook-batch");
+        item.setLineNumber(System.nanoTime());
+        item.setUserId(1L);
+        item.setAmount(BigDecimal.TEN);
+        item.setReference(reference);
+        item.setStatus(status);
+        item.setAvailableAt(LocalDateTime.now().plusHours(1));
+        item.setCreatedAt(LocalDateTime.now());
+        return payoutItemRepository.save(item);
+    }
+
+    private Transaction saveTransaction(String reference) {
+        String username = "webhook" + System.nanoTime();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        user = userRepository.save(user);
+        return transactionRepository.save(Transaction.builder()
+                .userId(user.getUserId())
+                .reference(reference)
+                .amount(new BigDecimal("100"))
+                .build());
+    }
+
+    private static String eventId() {
+        return String.valueOf(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2));
+    }
+}
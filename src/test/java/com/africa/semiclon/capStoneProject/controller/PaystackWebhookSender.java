@@ -0,0 +1,51 @@
+package com.africa.semiclon.capStoneProject.controller;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.paystackSignature;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Stands in for Paystack: replays events captured under {@code paystack/} with their
+ * {@code {{placeholders}}} filled in, signed the way Paystack signs them.
+ */
+class PaystackWebhookSender {
+    private static final String WEBHOOK = "/api/v1/paystack/webhook";
+
+    private final MockMvc mockMvc;
+    private final String secret;
+
+    PaystackWebhookSender(MockMvc mockMvc, String secret) {
+        this.mockMvc = mockMvc;
+        this.secret = secret.trim();
+    }
+
+    static byte[] captured(String name, Map<String, String> values) throws IOException {
+        try (InputStream event = new ClassPathResource("paystack/" + name + ".json").getInputStream()) {
+            String payload = new String(event.readAllBytes(), StandardCharsets.UTF_8);
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                payload = payload.replace("{{" + value.getKey() + "}}", value.getValue());
+            }
+            return payload.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    ResultActions send(byte[] payload) throws Exception {
+        return send(payload, paystackSignature(payload, secret));
+    }
+
+    ResultActions send(byte[] payload, String signature) throws Exception {
+        return mockMvc.perform(post(WEBHOOK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("x-paystack-signature", signature)
+                .content(payload));
+    }
+}
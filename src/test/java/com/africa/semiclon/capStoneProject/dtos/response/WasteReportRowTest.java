@@ -0,0 +1,32 @@
+package com.africa.semiclon.capStoneProject.dtos.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.africa.semiclon.capStoneProject.data.models.Category.PLASTIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WasteReportRowTest {
+
+    @Test
+    void agentNamesThatLookLikeFormulasAreExportedAsText() {
+        assertThat(row("=HYPERLINK(\"http://x\",\"y\")").toCsv()).endsWith(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",2024-01-01T00:00");
+        assertThat(row("+1").toCsv()).contains(",'+1,");
+        assertThat(row("-1").toCsv()).contains(",'-1,");
+        assertThat(row("@SUM(A1)").toCsv()).contains(",'@SUM(A1),");
+        assertThat(row("Ada=Agent").toCsv()).contains(",Ada=Agent,");
+    }
+
+    @Test
+    void numericCellsAreNotPrefixed() {
+        WasteReportRow row = new WasteReportRow(1L, PLASTIC, -2, new BigDecimal("-3.50"), null, null);
+
+        assertThat(row.toCsv()).isEqualTo("1,PLASTIC,-2,-3.50,,");
+    }
+
+    private static WasteReportRow row(String assignedAgent) {
+        return new WasteReportRow(1L, PLASTIC, 2, null, assignedAgent, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,112 @@
+package com.africa.semiclon.capStoneProject.security.config;
+
+import com.africa.semiclon.capStoneProject.security.config.JwtProperties.SigningKey;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.converter.RsaKeyConverters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static com.africa.semiclon.capStoneProject.security.config.JwtKeyRing.LEGACY_KEY_ID;
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.JWT_ISSUER;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final SigningKey EC_KEY = throwawayEcKey("es256-test");
+
+    private RsaKeyProperties rsaKeys;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        try (InputStream publicKey = new ClassPathResource("keys/public.pem").getInputStream();
+             InputStream privateKey = new ClassPathResource("keys/private.pem").getInputStream()) {
+            rsaKeys = new RsaKeyProperties(RsaKeyConverters.x509().convert(publicKey),
+                    RsaKeyConverters.pkcs8().convert(privateKey));
+        }
+    }
+
+    @Test
+    public void tokensSignedWithActiveKeyCarryItsKeyIdTest() {
+        JwtKeyRing keyRing = keyRing("es256-test", List.of(EC_KEY));
+        DecodedJWT decodedJWT = keyRing.verify(keyRing.sign(claims()));
+        assertThat(decodedJWT.getKeyId()).isEqualTo("es256-test");
+        assertThat(decodedJWT.getAlgorithm()).isEqualTo("ES256");
+    }
+
+    @Test
+    public void tokensSignedBeforeRotationStillVerifyTest() {
+        String legacyToken = keyRing(LEGACY_KEY_ID, List.of()).sign(claims());
+        JwtKeyRing rotated = keyRing("es256-test", List.of(EC_KEY));
+        assertThat(JWT.decode(legacyToken).getKeyId()).isNull();
+        assertThat(rotated.verify(legacyToken).getClaim("principal").asString()).isEqualTo("user");
+    }
+
+    @Test
+    public void tokensWithUnknownKeyIdAreRejectedTest() {
+        String token = keyRing("es256-test", List.of(EC_KEY)).sign(claims());
+        JwtKeyRing withoutKey = keyRing(LEGACY_KEY_ID, List.of());
+        assertThatThrownBy(() -> withoutKey.verify(token)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    public void activeKeyWithoutPrivateKeyFailsAtStartupTest() {
+        SigningKey publicOnly = new SigningKey("es256-test", JwtAlgorithm.ES256, EC_KEY.publicKey(), null);
+        assertThatThrownBy(() -> keyRing("es256-test", List.of(publicOnly)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no private key");
+        assertThat(keyRing(LEGACY_KEY_ID, List.of(publicOnly)).verify(keyRing("es256-test", List.of(EC_KEY)).sign(claims())))
+                .extracting(DecodedJWT::getKeyId).isEqualTo("es256-test");
+    }
+
+    private JwtKeyRing keyRing(String activeKeyId, List<SigningKey> keys) {
+        return new JwtKeyRing(rsaKeys, new JwtProperties(activeKeyId, Duration.ofHours(1), keys));
+    }
+
+    private static SigningKey throwawayEcKey(String id) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            return new SigningKey(id, JwtAlgorithm.ES256,
+                    pem("PUBLIC KEY", keyPair.getPublic().getEncoded()), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Resource pem(String type, byte[] der) {
+        String pem = "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static JWTCreator.Builder claims() {
+        Instant now = Instant.now();
+        return JWT.create()
+                .withIssuer(JWT_ISSUER)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(1, HOURS))
+                .withClaim("principal", "user")
+                .withClaim("credentials", "[PROTECTED]")
+                .withArrayClaim("roles", new String[]{"USER"});
+    }
+}
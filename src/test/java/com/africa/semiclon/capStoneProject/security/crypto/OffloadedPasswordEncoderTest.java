@@ -0,0 +1,65 @@
+package com.africa.semiclon.capStoneProject.security.crypto;
+
+import com.africa.semiclon.capStoneProject.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OffloadedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        if (passwordEncoder != null) passwordEncoder.destroy();
+    }
+
+    @Test
+    public void encodedPasswordMatchesTest() {
+        passwordEncoder = new OffloadedPasswordEncoder(4, 2, 10, Duration.ofSeconds(5), meterRegistry);
+        String encoded = passwordEncoder.encode("password");
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("op", "match").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void hashesWithLowerCostNeedUpgradeTest() {
+        passwordEncoder = new OffloadedPasswordEncoder(5, 1, 10, Duration.ofSeconds(5), meterRegistry);
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+    }
+
+    @Test
+    public void requestsBeyondQueueCapacityAreShedTest() {
+        passwordEncoder = new OffloadedPasswordEncoder(12, 1, 1, Duration.ofSeconds(30), meterRegistry);
+        ExecutorService requestThreads = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<String>> burst = new ArrayList<>();
+        for (int request = 0; request < 8; request++) {
+            burst.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode("password"), requestThreads));
+        }
+        assertThatThrownBy(() -> CompletableFuture.allOf(burst.toArray(CompletableFuture[]::new)).join())
+                .hasCauseInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isPositive();
+        requestThreads.shutdownNow();
+    }
+
+    @Test
+    public void calibratedStrengthStaysWithinBoundsTest() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(1), 4, 6);
+        assertThat(strength).isBetween(4, 6);
+    }
+}
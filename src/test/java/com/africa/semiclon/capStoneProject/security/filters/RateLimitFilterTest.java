@@ -0,0 +1,170 @@
+package com.africa.semiclon.capStoneProject.security.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    public void setUp() {
+        rateLimitFilter = new RateLimitFilter(new SimpleMeterRegistry(), true,
+                3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 2);
+    }
+
+    @Test
+    @DisplayName("test that a client over its IP budget gets 429 with Retry-After")
+    public void ipOverLimitIsRejectedTest() throws Exception {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThat(login("10.0.0.1", "user" + attempt).getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse response = login("10.0.0.1", "another");
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(response.getHeader(RETRY_AFTER))).isPositive();
+        assertThat(login("10.0.0.2", "another").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("test that one username is throttled across many IPs")
+    public void usernameOverLimitIsRejectedTest() throws Exception {
+        assertThat(login("10.0.1.1", "victim").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.1.2", "Victim").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.1.3", "victim").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("test that a chunked body without a Content-Length is still checked against the username")
+    public void chunkedBodyIsThrottledByUsernameTest() throws Exception {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThat(filter(chunked(loginRequest("10.0.3." + attempt, "chunked"))).getStatus()).isEqualTo(200);
+        }
+        assertThat(filter(chunked(loginRequest("10.0.3.9", "chunked"))).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void oversizedBodyIsForwardedWholeTest() throws Exception {
+        String padding = "x".repeat(20 * 1024);
+        MockHttpServletRequest request = loginRequest("10.0.4.1", "large");
+        request.setContent(("{\"username\":\"large\",\"padding\":\"" + padding + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockFilterChain filterChain = new MockFilterChain();
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        String forwarded = new String(filterChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(forwarded).startsWith("{\"username\":\"large\"").endsWith(padding + "\"}");
+    }
+
+    @Test
+    @DisplayName("test that new usernames evict the least recently used bucket instead of sharing one")
+    public void fullLimiterEvictsTheLeastRecentlyUsedBucketTest() throws Exception {
+        assertThat(login("10.0.5.1", "first").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.5.2", "second").getStatus()).isEqualTo(200);
+
+        assertThat(login("10.0.6.1", "newcomer").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.6.2", "newcomer").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.6.3", "newcomer").getStatus()).isEqualTo(429);
+        assertThat(login("10.0.6.4", "another").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void bodyIsStillReadableDownstreamTest() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitFilter.doFilter(loginRequest("10.0.2.1", "reader"), new MockHttpServletResponse(), filterChain);
+        byte[] forwardedBody = filterChain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(forwardedBody, StandardCharsets.UTF_8)).contains("reader");
+    }
+
+    @Test
+    public void bodyCanBeReadAsynchronouslyDownstreamTest() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitFilter.doFilter(loginRequest("10.0.2.2", "async"), new MockHttpServletResponse(), filterChain);
+        ServletInputStream input = filterChain.getRequest().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    int read = input.read(buffer);
+                    if (read > 0) received.write(buffer, 0, read);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+        });
+
+        assertThat(allRead).isTrue();
+        assertThat(received.toString(StandardCharsets.UTF_8)).contains("async");
+    }
+
+    @Test
+    public void unlimitedEndpointsPassThroughTest() throws Exception {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            rateLimitFilter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        return filter(loginRequest(ip, username));
+    }
+
+    private MockHttpServletResponse filter(HttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static HttpServletRequest chunked(MockHttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+    }
+
+    private static MockHttpServletRequest loginRequest(String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType(APPLICATION_JSON_VALUE);
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"password\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
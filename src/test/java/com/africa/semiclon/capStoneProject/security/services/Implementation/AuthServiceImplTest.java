@@ -1,10 +1,12 @@
 package com.africa.semiclon.capStoneProject.security.services.Implementation;
 
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.tokenDigest;
 import static com.africa.semiclon.capStoneProject.utils.TestUtils.buildRegisterRequest;
 
 import com.africa.semiclon.capStoneProject.dtos.request.RegisterRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.RegisterResponse;
 import com.africa.semiclon.capStoneProject.exception.UsernameExistsException;
+import com.africa.semiclon.capStoneProject.security.repository.BlacklistedTokenRepository;
 import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +24,9 @@ class AuthServiceTest {
     @Autowired
     private AuthServices authService;
 
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
     @Test
     public void registerUserTest() {
         RegisterRequest request = buildRegisterRequest();
@@ -40,4 +45,14 @@ class AuthServiceTest {
         assertThat(response).isNotNull();
         assertThrows(UsernameExistsException.class, ()-> authService.register(request));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("test that a logged out token is reported as blacklisted")
+    public void blacklistedTokenIsReportedAsBlacklistedTest() {
+        String token = "logged.out." + System.nanoTime();
+        assertThat(authService.isTokenBlacklisted(token)).isFalse();
+        authService.blacklist(token);
+        assertThat(authService.isTokenBlacklisted(token)).isTrue();
+        assertThat(blacklistedTokenRepository.existsByTokenDigest(tokenDigest(token))).isTrue();
+    }
+}
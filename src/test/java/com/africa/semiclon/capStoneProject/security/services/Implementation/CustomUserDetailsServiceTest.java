@@ -0,0 +1,102 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Slf4j
+class CustomUserDetailsServiceTest {
+
+    private static final int HEAVY_HISTORY_SIZE = 2_000;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("test that login lookups cost the same for new users and users with a long history")
+    public void loginLookupDoesNotDependOnHistorySize() {
+        String newUser = saveUser("newuser" + System.nanoTime(), 0).getUsername();
+        String heavyUser = saveUser("heavyuser" + System.nanoTime(), HEAVY_HISTORY_SIZE).getUsername();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        LookupCost newUserCost = measure(statistics, newUser);
+        LookupCost heavyUserCost = measure(statistics, heavyUser);
+        log.info("Login lookup for new user: {}, for user with {} wastes: {}", newUserCost, HEAVY_HISTORY_SIZE, heavyUserCost);
+
+        assertThat(heavyUserCost.statements()).isEqualTo(newUserCost.statements());
+        assertThat(heavyUserCost.entitiesLoaded()).isZero();
+        assertThat(heavyUserCost.collectionsLoaded()).isZero();
+    }
+
+    @Test
+    public void loadedUserDetailsCarryAuthoritiesTest() {
+        User user = saveUser("creds" + System.nanoTime(), 0);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+        assertThat(userDetails.getPassword()).isEqualTo(user.getPassword());
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("USER");
+    }
+
+    private LookupCost measure(Statistics statistics, String username) {
+        userDetailsService.loadUserByUsername(username);
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            userDetailsService.loadUserByUsername(username);
+        }
+        long averageMicros = (System.nanoTime() - startedAt) / ROUNDS / 1_000;
+        return new LookupCost(statistics.getPrepareStatementCount() / ROUNDS,
+                statistics.getEntityLoadCount(), statistics.getCollectionLoadCount(), averageMicros);
+    }
+
+    private User saveUser(String username, int historySize) {
+        List<Waste> wastes = new ArrayList<>();
+        for (int index = 0; index < historySize; index++) {
+            Waste waste = new Waste();
+            waste.setType(Category.PLASTIC);
+            waste.setQuantity(1);
+            wastes.add(waste);
+        }
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOa5P8o6PJ4S6nGfN9/QG8HY4fT9.uGGa");
+        user.setAuthorities(new HashSet<>(Set.of(Authority.USER)));
+        user.setWastes(wasteRepository.saveAll(wastes));
+        return userRepository.save(user);
+    }
+
+    private record LookupCost(long statements, long entitiesLoaded, long collectionsLoaded, long averageMicros) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.RegisterRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.LoginResponse;
+import com.africa.semiclon.capStoneProject.exception.InvalidRefreshTokenException;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.africa.semiclon.capStoneProject.utils.TestUtils.buildRegisterRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthServices authService;
+
+    private String username;
+
+    @BeforeEach
+    public void setUp() {
+        RegisterRequest request = buildRegisterRequest();
+        request.setUsername("refresh" + System.nanoTime());
+        request.setEmail(request.getUsername() + "@example.com");
+        username = authService.register(request).getData().getUsername();
+    }
+
+    @Test
+    public void refreshRotatesTokensTest() {
+        String refreshToken = refreshTokenService.issue(username);
+        LoginResponse response = refreshTokenService.refresh(refreshToken).getData();
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isNotBlank().isNotEqualTo(refreshToken);
+    }
+
+    @Test
+    @DisplayName("test that replaying a rotated refresh token revokes the whole family")
+    public void reusedRefreshTokenRevokesFamilyTest() {
+        String refreshToken = refreshTokenService.issue(username);
+        String rotated = refreshTokenService.refresh(refreshToken).getData().getRefreshToken();
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(refreshToken));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(rotated));
+    }
+
+    @Test
+    public void revokedRefreshTokenIsRejectedTest() {
+        String refreshToken = refreshTokenService.issue(username);
+        refreshTokenService.revoke(refreshToken);
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(refreshToken));
+    }
+
+    @Test
+    public void revokeAllEndsEveryLoginOfTheUserTest() {
+        String firstLogin = refreshTokenService.issue(username);
+        String secondLogin = refreshTokenService.issue(username);
+        refreshTokenService.revokeAll(username);
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(firstLogin));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(secondLogin));
+    }
+
+    @Test
+    public void unknownRefreshTokenIsRejectedTest() {
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("not-a-refresh-token"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.africa.semiclon.capStoneProject.security.services.Implementation;
+
+import com.africa.semiclon.capStoneProject.security.model.BlacklistedToken;
+import com.africa.semiclon.capStoneProject.security.repository.BlacklistedTokenRepository;
+import com.africa.semiclon.capStoneProject.security.services.interfaces.AuthServices;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.tokenDigest;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenRevocationBroadcasterTest {
+
+    @Autowired
+    private TokenRevocationBroadcaster tokenRevocationBroadcaster;
+
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @Autowired
+    private AuthServices authService;
+
+    @Test
+    @DisplayName("test that a revocation published by another node is picked up through LISTEN")
+    public void revocationFromAnotherNodeIsApplied() throws InterruptedException {
+        String token = "other.node." + System.nanoTime();
+        String digest = tokenDigest(token);
+        Instant expiresAt = Instant.now().plus(1, HOURS);
+        BlacklistedToken blacklistedToken = new BlacklistedToken();
+        blacklistedToken.setToken(token);
+        blacklistedToken.setTokenDigest(digest);
+        blacklistedToken.setExpiresAt(expiresAt);
+        blacklistedTokenRepository.save(blacklistedToken);
+        assertThat(authService.isTokenBlacklisted(token)).isFalse();
+
+        tokenRevocationBroadcaster.publish(digest, expiresAt);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!authService.isTokenBlacklisted(token) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(authService.isTokenBlacklisted(token)).isTrue();
+    }
+}
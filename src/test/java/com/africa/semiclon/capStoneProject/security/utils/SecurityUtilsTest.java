@@ -0,0 +1,32 @@
+package com.africa.semiclon.capStoneProject.security.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.isValidPaystackSignature;
+import static com.africa.semiclon.capStoneProject.security.utils.SecurityUtils.paystackSignature;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityUtilsTest {
+
+    private static final byte[] PAYLOAD = "{\"event\":\"charge.success\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String SECRET = "sk_test_secret";
+    private static final String SIGNATURE = "d2c20958e71984927bee0613f77fa295c3fa82f681cebac2f292d603fbc0ec52" +
+            "d7302b91f7beb43b3e289b0cee9b9867daf70f7a5b1af70eb4d8da1909b5fd36";
+
+    @Test
+    void paystackSignatureIsHexHmacSha512OfTheBody() {
+        assertThat(paystackSignature(PAYLOAD, SECRET)).isEqualTo(SIGNATURE);
+    }
+
+    @Test
+    void onlyTheExactSignatureForTheBodyIsAccepted() {
+        assertThat(isValidPaystackSignature(PAYLOAD, SIGNATURE, SECRET)).isTrue();
+        assertThat(isValidPaystackSignature(PAYLOAD, SIGNATURE.toUpperCase(), SECRET)).isTrue();
+        assertThat(isValidPaystackSignature(PAYLOAD, null, SECRET)).isFalse();
+        assertThat(isValidPaystackSignature(PAYLOAD, SIGNATURE, "sk_test_other")).isFalse();
+        assertThat(isValidPaystackSignature("{\"event\":\"charge.failed\"}".getBytes(StandardCharsets.UTF_8),
+                SIGNATURE, SECRET)).isFalse();
+    }
+}
@@ -8,7 +8,14 @@ import com.africa.semiclon.capStoneProject.data.repository.PointRepository;
 import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
 import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.AwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.BatchAwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.RedeemPointRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.AwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.BatchAwardPointResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsBalanceResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PointsEntrySummary;
+import com.africa.semiclon.capStoneProject.exception.InsufficientPointsException;
+import com.africa.semiclon.capStoneProject.exception.WasteNotFoundException;
 import com.africa.semiclon.capStoneProject.services.interfaces.PointsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +23,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 
@@ -63,9 +76,8 @@ public class PointServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getMessage()).isEqualTo("Points awarded successfully");
         assertThat(response.getAwardedPoints()).isEqualByComparingTo(BigDecimal.valueOf(100.00).setScale(2));
-        User updatedUser = userRepository.findById(user.getUserId()).orElse(null);
-        assertThat(updatedUser).isNotNull();
-        assertThat(updatedUser.getPoints().getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(100.00).setScale(2));
+        assertThat(response.getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(100.00).setScale(2));
+        assertThat(pointsService.getBalance(user.getUserId()).getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(100.00).setScale(2));
     }
 
     @Test
@@ -102,9 +114,8 @@ public class PointServiceTest {
         assertThat(response.getMessage()).isEqualTo("Points awarded successfully");
         assertThat(response.getAwardedPoints()).isEqualByComparingTo(BigDecimal.valueOf(20.00).setScale(2));
 
-        User updatedUser = userRepository.findById(user.getUserId()).orElse(null);
-        assertThat(updatedUser).isNotNull();
-        assertThat(updatedUser.getPoints().getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
+        assertThat(response.getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
+        assertThat(pointsService.getBalance(user.getUserId()).getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
     }
 
     @Test
@@ -139,10 +150,134 @@ public class PointServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getMessage()).isEqualTo("Points awarded successfully");
         assertThat(response.getAwardedPoints()).isEqualByComparingTo(BigDecimal.valueOf(20.00).setScale(2));
-        User updatedUser = userRepository.findById(user.getUserId()).orElse(null);
-        assertThat(updatedUser).isNotNull();
-        assertThat(updatedUser.getPoints().getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
+        assertThat(response.getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
+        assertThat(pointsService.getBalance(user.getUserId()).getTotalPoints()).isEqualByComparingTo(BigDecimal.valueOf(70.00).setScale(2));
+    }
+
+    @Test
+    public void testConcurrentAwardsToOneUserAreNotLost() throws Exception {
+        User user = saveUser("concurrent" + System.nanoTime());
+        Waste waste = new Waste();
+        waste.setType(Category.PLASTIC);
+        waste.setQuantity(1);
+        wasteRepository.save(waste);
+        int threads = 16;
+        int awardsPerThread = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int award = 0; award < awardsPerThread; award++) {
+                    AwardPointRequest request = new AwardPointRequest();
+                    request.setUserId(user.getUserId());
+                    request.setWasteId(waste.getWasteId());
+                    pointsService.awardPoint(request);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) result.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        BigDecimal expected = BigDecimal.TEN.multiply(BigDecimal.valueOf((long) threads * awardsPerThread));
+        PointsBalanceResponse balance = pointsService.getBalance(user.getUserId());
+        assertThat(balance.getTotalPoints()).isEqualByComparingTo(expected);
+        assertThat(balance.getPointEarned()).isEqualByComparingTo(expected);
+        assertThat(pointsService.getHistory(user.getUserId(), null, 100).getEntries()).hasSize(100);
     }
 
+    @Test
+    public void testBatchAwardCreditsEveryPairInOneCall() {
+        User first = saveUser("batch-a" + System.nanoTime());
+        User second = saveUser("batch-b" + System.nanoTime());
+        Waste small = new Waste();
+        small.setType(Category.PAPER);
+        small.setQuantity(2);
+        wasteRepository.save(small);
+        Waste large = new Waste();
+        large.setType(Category.PLASTIC);
+        large.setQuantity(5);
+        wasteRepository.save(large);
 
-}
\ No newline at end of file
+        BatchAwardPointRequest request = new BatchAwardPointRequest();
+        request.setAwards(List.of(award(first, small), award(first, large), award(second, small)));
+        BatchAwardPointResponse response = pointsService.awardPoints(request);
+
+        assertThat(response.getAwardCount()).isEqualTo(3);
+        assertThat(response.getUserCount()).isEqualTo(2);
+        assertThat(response.getAwardedPoints()).isEqualByComparingTo("90");
+        assertThat(pointsService.getBalance(first.getUserId()).getTotalPoints()).isEqualByComparingTo("70");
+        assertThat(pointsService.getBalance(second.getUserId()).getTotalPoints()).isEqualByComparingTo("20");
+        assertThat(pointsService.getHistory(first.getUserId(), null, null).getEntries())
+                .extracting(PointsEntrySummary::getWasteId).containsExactly(large.getWasteId(), small.getWasteId());
+    }
+
+    @Test
+    public void testBatchAwardWithUnknownWasteCreditsNothing() {
+        User user = saveUser("batch-missing" + System.nanoTime());
+        AwardPointRequest unknown = new AwardPointRequest();
+        unknown.setUserId(user.getUserId());
+        unknown.setWasteId(Long.MAX_VALUE);
+        BatchAwardPointRequest request = new BatchAwardPointRequest();
+        request.setAwards(List.of(unknown));
+
+        assertThatThrownBy(() -> pointsService.awardPoints(request)).isInstanceOf(WasteNotFoundException.class);
+        assertThat(pointsService.getHistory(user.getUserId(), null, null).getEntries()).isEmpty();
+    }
+
+    @Test
+    public void testCompactionFoldsLedgerIntoSnapshotWithoutChangingBalance() {
+        User user = saveUser("compaction" + System.nanoTime());
+        Waste waste = new Waste();
+        waste.setType(Category.PAPER);
+        waste.setQuantity(3);
+        wasteRepository.save(waste);
+        pointsService.awardPoint(award(user, waste));
+        pointsService.awardPoint(award(user, waste));
+        RedeemPointRequest redeem = new RedeemPointRequest();
+        redeem.setUserId(user.getUserId());
+        redeem.setPoints(new BigDecimal("15"));
+        pointsService.redeemPoints(redeem);
+
+        pointsService.compactLedger(LocalDateTime.now().plusSeconds(1));
+        pointsService.awardPoint(award(user, waste));
+
+        Points snapshot = pointsRepository.findById(user.getUserId()).orElseThrow();
+        assertThat(snapshot.getTotalPoints()).isEqualByComparingTo("45");
+        assertThat(snapshot.getPointRedeemed()).isEqualByComparingTo("15");
+        PointsBalanceResponse balance = pointsService.getBalance(user.getUserId());
+        assertThat(balance.getTotalPoints()).isEqualByComparingTo("75");
+        assertThat(balance.getPointEarned()).isEqualByComparingTo("90");
+        assertThat(userRepository.findById(user.getUserId()).orElseThrow().getPoints()).isNotNull();
+    }
+
+    @Test
+    public void testRedeemingMoreThanTheBalanceIsRejected() {
+        User user = saveUser("overdraw" + System.nanoTime());
+        RedeemPointRequest redeem = new RedeemPointRequest();
+        redeem.setUserId(user.getUserId());
+        redeem.setPoints(BigDecimal.ONE);
+
+        assertThatThrownBy(() -> pointsService.redeemPoints(redeem)).isInstanceOf(InsufficientPointsException.class);
+    }
+
+    private AwardPointRequest award(User user, Waste waste) {
+        AwardPointRequest request = new AwardPointRequest();
+        request.setUserId(user.getUserId());
+        request.setWasteId(waste.getWasteId());
+        return request;
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,160 @@
+package com.africa.semiclon.capStoneProject.service;
+
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.models.WasteCollection;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteCollectionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.AwardPointRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WeightCollectedResponse;
+import com.africa.semiclon.capStoneProject.services.interfaces.PointsService;
+import com.africa.semiclon.capStoneProject.services.interfaces.UserCollectionStatsService;
+import com.africa.semiclon.capStoneProject.services.interfaces.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Slf4j
+public class UserAggregateFetchTest {
+
+    private static final int HEAVY_HISTORY_SIZE = 1_000;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WasteRepository wasteRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private PointsService pointsService;
+    @Autowired
+    private WasteCollectionRepository wasteCollectionRepository;
+    @Autowired
+    private UserCollectionStatsService userCollectionStatsService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User lightUser;
+    private User heavyUser;
+
+    @BeforeEach
+    public void setUp() {
+        lightUser = saveUser("light" + System.nanoTime(), 1);
+        heavyUser = saveUser("heavy" + System.nanoTime(), HEAVY_HISTORY_SIZE);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("test that loading a user for a balance check does not load its history")
+    public void balanceCheckDoesNotLoadHistoryTest() {
+        FetchCost light = measure(() -> userRepository.findById(lightUser.getUserId()).orElseThrow().getBalance());
+        FetchCost heavy = measure(() -> userRepository.findById(heavyUser.getUserId()).orElseThrow().getBalance());
+        log.info("Balance check for light user: {}, heavy user: {}", light, heavy);
+
+        assertThat(heavy.statements()).isEqualTo(light.statements()).isEqualTo(1);
+        assertThat(heavy.collectionsLoaded()).isZero();
+        assertThat(heavy.entitiesLoaded()).isEqualTo(light.entitiesLoaded());
+    }
+
+    @Test
+    @DisplayName("test that awarding points costs the same for any history size")
+    public void awardPointDoesNotLoadHistoryTest() {
+        FetchCost light = measure(() -> pointsService.awardPoint(awardPointRequest(lightUser)));
+        FetchCost heavy = measure(() -> pointsService.awardPoint(awardPointRequest(heavyUser)));
+        log.info("Award point for light user: {}, heavy user: {}", light, heavy);
+
+        assertThat(heavy.statements()).isEqualTo(light.statements());
+        assertThat(heavy.collectionsLoaded()).isZero();
+    }
+
+    @Test
+    @DisplayName("test that total weight is served from the collection statistics row")
+    public void totalWeightIsReadFromStatisticsRowTest() {
+        List<WasteCollection> collections = new ArrayList<>();
+        for (int index = 0; index < HEAVY_HISTORY_SIZE; index++) {
+            WasteCollection collection = new WasteCollection();
+            collection.setUserId(heavyUser);
+            collection.setWasteCategory(index % 2 == 0 ? Category.PLASTIC : Category.PAPER);
+            collection.setWasteWeigh(2.0);
+            collections.add(collection);
+        }
+        wasteCollectionRepository.saveAll(collections);
+        userCollectionStatsService.rebuild(heavyUser.getUserId());
+
+        FetchCost cost = measure(() -> userService.getTotalWeightCollectedByUser(heavyUser.getUserId()));
+        WeightCollectedResponse response = userService.getTotalWeightCollectedByUser(heavyUser.getUserId());
+
+        assertThat(response.getWeight()).isEqualTo(HEAVY_HISTORY_SIZE * 2.0);
+        assertThat(response.getCollectionCount()).isEqualTo(HEAVY_HISTORY_SIZE);
+        assertThat(response.getCountByCategory()).containsEntry(Category.PLASTIC, HEAVY_HISTORY_SIZE / 2L);
+        assertThat(cost.statements()).isEqualTo(1);
+        assertThat(cost.collectionsLoaded()).isZero();
+        assertThat(cost.entitiesLoaded()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("test that the full profile is loaded with one statement through the entity graph")
+    public void profileIsLoadedThroughEntityGraphTest() {
+        FetchCost cost = measure(() -> userService.getWithHistoryById(heavyUser.getUserId()));
+        User user = userService.getWithHistoryById(heavyUser.getUserId());
+
+        assertThat(user.getWastes()).hasSize(HEAVY_HISTORY_SIZE);
+        assertThat(user.getAuthorities()).containsExactly(Authority.USER);
+        assertThat(cost.statements()).isEqualTo(1);
+    }
+
+    private FetchCost measure(Runnable action) {
+        statistics.clear();
+        action.run();
+        return new FetchCost(statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(), statistics.getCollectionLoadCount());
+    }
+
+    private AwardPointRequest awardPointRequest(User user) {
+        AwardPointRequest request = new AwardPointRequest();
+        request.setUserId(user.getUserId());
+        request.setWasteId(user.getWastes().get(0).getWasteId());
+        return request;
+    }
+
+    private User saveUser(String username, int historySize) {
+        List<Waste> wastes = new ArrayList<>();
+        for (int index = 0; index < historySize; index++) {
+            Waste waste = new Waste();
+            waste.setType(Category.PLASTIC);
+            waste.setQuantity(2);
+            wastes.add(waste);
+        }
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        user.setAuthorities(new HashSet<>(Set.of(Authority.USER)));
+        user.setWastes(wasteRepository.saveAll(wastes));
+        return userRepository.save(user);
+    }
+
+    private record FetchCost(long statements, long entitiesLoaded, long collectionsLoaded) {
+    }
+}
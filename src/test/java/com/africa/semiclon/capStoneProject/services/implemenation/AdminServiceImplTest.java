@@ -1,6 +1,21 @@
 package com.africa.semiclon.capStoneProject.services.implemenation;
 
+import com.africa.semiclon.capStoneProject.data.models.Authority;
+import com.africa.semiclon.capStoneProject.data.models.Category;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
 import com.africa.semiclon.capStoneProject.dtos.request.AdminRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.GenerateWasteReportRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.ManageUsersRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.ManageUsersRequest.UserSortField;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.request.ViewWasteRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.ManageUserResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.UserSummary;
+import com.africa.semiclon.capStoneProject.dtos.response.ViewWasteResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteSummary;
 import com.africa.semiclon.capStoneProject.exception.AdminException;
 import com.africa.semiclon.capStoneProject.services.interfaces.AdminService;
 import org.junit.jupiter.api.Test;
@@ -8,9 +23,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static com.africa.semiclon.capStoneProject.data.models.Authority.ADMIN;
+import static com.africa.semiclon.capStoneProject.data.models.Authority.USER;
+import static com.africa.semiclon.capStoneProject.data.models.Category.PAPER;
+import static com.africa.semiclon.capStoneProject.data.models.Category.PLASTIC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +47,12 @@ class AdminServiceImplTest {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
     @Test
     void registerAdmin() {
         AdminRequest adminRequest = AdminRequest.builder()
@@ -45,4 +77,122 @@ class AdminServiceImplTest {
                 .isInstanceOf(AdminException.class)
                 .hasMessageContaining("Username already exists");
     }
-}
\ No newline at end of file
+
+    @Test
+    void manageUsersPagesThroughFilteredUsersWithoutGaps() {
+        String prefix = "page" + System.nanoTime() + "_";
+        List<Long> savedIds = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            savedIds.add(saveUser(prefix + index, index % 2 == 0 ? ADMIN : USER).getUserId());
+        }
+        List<Long> newestFirst = new ArrayList<>(savedIds);
+        Collections.reverse(newestFirst);
+        for (UserSortField sortBy : UserSortField.values()) {
+            List<Long> listedIds = new ArrayList<>();
+            String cursor = null;
+            do {
+                ManageUsersRequest request = new ManageUsersRequest();
+                request.setUsernamePrefix(prefix);
+                request.setSortBy(sortBy);
+                request.setSize(2);
+                request.setCursor(cursor);
+                ManageUserResponse response = adminService.manageUsers(request);
+                assertThat(response.getUsers()).hasSizeLessThanOrEqualTo(2);
+                response.getUsers().forEach(user -> listedIds.add(user.getUserId()));
+                cursor = response.getNextCursor();
+            } while (cursor != null);
+            assertThat(listedIds).containsExactlyElementsOf(newestFirst);
+        }
+    }
+
+    @Test
+    void manageUsersFiltersByAuthority() {
+        String prefix = "role" + System.nanoTime() + "_";
+        saveUser(prefix + "admin", ADMIN);
+        saveUser(prefix + "user", USER);
+        ManageUsersRequest request = new ManageUsersRequest();
+        request.setUsernamePrefix(prefix);
+        request.setAuthority(ADMIN);
+        ManageUserResponse response = adminService.manageUsers(request);
+        assertThat(response.getUsers()).extracting(UserSummary::getUsername).containsExactly(prefix + "admin");
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    void manageUsersRejectsTamperedCursor() {
+        ManageUsersRequest request = new ManageUsersRequest();
+        request.setCursor("not-a-cursor");
+        assertThatThrownBy(() -> adminService.manageUsers(request)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void viewAllWastePagesThroughFilteredWastesNewestFirst() {
+        LocalDateTime startedAt = LocalDateTime.now().minusSeconds(1);
+        List<Long> plasticIds = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            plasticIds.add(saveWaste(PLASTIC).getWasteId());
+            saveWaste(PAPER);
+        }
+        Collections.reverse(plasticIds);
+        List<Long> listedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            ViewWasteRequest request = new ViewWasteRequest();
+            request.setCategory(PLASTIC);
+            request.setAssigned(false);
+            request.setUploadedFrom(startedAt);
+            request.setSize(2);
+            request.setCursor(cursor);
+            ViewWasteResponse response = adminService.viewAllWaste(request);
+            response.getWastes().forEach(waste -> listedIds.add(waste.getWasteId()));
+            assertThat(response.getWastes()).extracting(WasteSummary::getCategory).containsOnly(PLASTIC);
+            cursor = response.getNextCursor();
+        } while (cursor != null);
+        assertThat(listedIds).containsExactlyElementsOf(plasticIds);
+    }
+
+    @Test
+    void exportWasteReportStreamsEveryRowInRange() throws IOException {
+        LocalDateTime collectedAt = LocalDateTime.of(1999, 1, 1, 0, 0).plusNanos(System.nanoTime() % 1_000_000 * 1_000);
+        for (int index = 0; index < 3; index++) {
+            Waste waste = new Waste();
+            waste.setType(PLASTIC);
+            waste.setQuantity(index + 1);
+            waste.setWasteCollectionDate(collectedAt);
+            wasteRepository.save(waste);
+        }
+        GenerateWasteReportRequest request = new GenerateWasteReportRequest();
+        request.setStartDate(collectedAt);
+        request.setEndDate(collectedAt);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        adminService.exportWasteReport(request, ReportFormat.CSV, csv);
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(csvLines).hasSize(4);
+        assertThat(csvLines.get(0)).isEqualTo("wasteId,category,quantity,price,assignedAgent,collectionDate");
+        assertThat(csvLines.get(1)).contains(",PLASTIC,1,,,");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        adminService.exportWasteReport(request, ReportFormat.NDJSON, ndjson);
+        List<String> jsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(jsonLines).hasSize(3).allMatch(line -> line.startsWith("{") && line.contains("\"category\":\"PLASTIC\""));
+        assertThat(adminService.generateWasteReport(request).getReportItems())
+                .extracting("assignedAgent").containsOnly("Unassigned");
+    }
+
+    private Waste saveWaste(Category category) {
+        Waste waste = new Waste();
+        waste.setType(category);
+        waste.setQuantity(1);
+        return wasteRepository.save(waste);
+    }
+
+    private User saveUser(String username, Authority authority) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setAuthorities(new HashSet<>(Set.of(authority)));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,81 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.services.implemenation.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final List<State> transitions = new ArrayList<>();
+    private final CircuitBreaker breaker = new CircuitBreaker(50, 4, 4, Duration.ofSeconds(10), 2, now::get, transitions::add);
+
+    @Test
+    void opensOnlyOnceTheWindowHasEnoughCalls() {
+        fail(3);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        fail(1);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void failureRateIsTakenOverTheMostRecentCalls() {
+        fail(1);
+        succeed(5);
+        fail(1);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        fail(1);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void halfOpenLetsALimitedNumberOfProbesThrough() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+    }
+
+    @Test
+    void failedProbeOpensTheCircuitAgain() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void fail(int calls) {
+        for (int call = 0; call < calls; call++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(int calls) {
+        for (int call = 0; call < calls; call++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onSuccess();
+        }
+    }
+}
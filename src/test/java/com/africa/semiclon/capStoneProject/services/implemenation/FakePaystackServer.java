@@ -0,0 +1,101 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.config.PaystackResilienceProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for the Paystack API on a local port. Every path answers {@code {"status":true}}
+ * unless errors have been queued with {@link #failNext}, after the configured latency.
+ */
+class FakePaystackServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Queue<Integer> injectedStatuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+
+    FakePaystackServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    static PaystackResilienceProperties resilience(int maxConcurrentCalls, int maxAttempts,
+                                                   double retryBudgetRatio, double minRetriesPerSecond) {
+        return new PaystackResilienceProperties(50, 4, 4, Duration.ofMillis(300), 1,
+                maxConcurrentCalls, Duration.ZERO, maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50),
+                retryBudgetRatio, minRetriesPerSecond);
+    }
+
+    static PaystackResilienceProperties defaultResilience() {
+        return new PaystackResilienceProperties(50, 20, 10, Duration.ofSeconds(30), 3,
+                20, Duration.ofMillis(100), 3, Duration.ofMillis(200), Duration.ofSeconds(2), 0.1, 1);
+    }
+
+    PaystackClient client(MeterRegistry meterRegistry, PaystackResilienceProperties resilience) {
+        return new PaystackClient(meterRegistry, baseUrl(), "sk_test",
+                Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(1),
+                10, 10, Duration.ofSeconds(30), Duration.ofSeconds(60), resilience);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void failNext(int statusCode, int times) {
+        for (int time = 0; time < times; time++) injectedStatuses.add(statusCode);
+    }
+
+    void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            exchange.getRequestBody().readAllBytes();
+            if (!latency.isZero()) Thread.sleep(latency.toMillis());
+            Integer injected = injectedStatuses.poll();
+            int statusCode = injected == null ? 200 : injected;
+            byte[] body = (statusCode == 200 ? "{\"status\":true}" : "{\"status\":false}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(statusCode, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
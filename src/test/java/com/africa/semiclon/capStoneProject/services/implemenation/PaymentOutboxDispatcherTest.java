@@ -0,0 +1,239 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.PaymentOutboxRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.InitializePaymentRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentVerificationResponse;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.services.interfaces.PaymentService;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "payment.outbox.poll-interval=1h")
+class PaymentOutboxDispatcherTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PaymentOutboxDispatcher paymentOutboxDispatcher;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @Test
+    void withdrawalIsReservedUpFrontAndSentInTheBackground() throws Exception {
+        stubPaystack();
+        User user = saveUser("500");
+
+        PaymentJobResponse job = transactionService.submitWithdrawal(withdrawal(user, 100), null);
+
+        assertThat(job.getStatus()).isEqualTo(PaymentJobStatus.PENDING);
+        assertThat(job.getJournalId()).isNotNull();
+        assertThat(balance(user)).isEqualByComparingTo("400");
+        Mockito.verifyNoInteractions(paymentService);
+
+        CompletableFuture<PaymentJobResponse> completion = transactionService.awaitPaymentJob(job.getJobId());
+        dispatchAll();
+
+        PaymentJobResponse finished = completion.get(10, TimeUnit.SECONDS);
+        assertThat(finished.getStatus()).isEqualTo(PaymentJobStatus.SUCCEEDED);
+        assertThat(finished.getReference()).isEqualTo(job.getJobId());
+        assertThat(balance(user)).isEqualByComparingTo("400");
+        assertThat(paymentOutboxRepository.findAll()).noneMatch(entry -> entry.getJobId().equals(job.getJobId()));
+    }
+
+    @Test
+    void declinedWithdrawalGivesTheReservationBack() {
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenReturn(new InitializePaymentResponse(false, "Invalid email", null));
+        User user = saveUser("500");
+
+        PaymentJobResponse job = transactionService.submitWithdrawal(withdrawal(user, 100), null);
+        dispatchAll();
+
+        PaymentJobResponse finished = transactionService.findPaymentJob(job.getJobId());
+        assertThat(finished.getStatus()).isEqualTo(PaymentJobStatus.FAILED);
+        assertThat(finished.getFailureReason()).contains("Invalid email");
+        assertThat(balance(user)).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void transientFailureIsRetriedAfterABackoff() {
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenThrow(new PaystackException("Paystack returned status code 503", 503));
+        User user = saveUser("0");
+
+        PaymentJobResponse job = transactionService.submitPayment(payment(user, 100), null);
+        dispatchAll();
+
+        assertThat(transactionService.findPaymentJob(job.getJobId()).getStatus()).isEqualTo(PaymentJobStatus.PENDING);
+        assertThat(paymentOutboxRepository.findAll()).filteredOn(entry -> entry.getJobId().equals(job.getJobId()))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.getAttempts()).isEqualTo(1);
+                    assertThat(entry.getLastError()).contains("503");
+                    assertThat(entry.getAvailableAt()).isAfter(LocalDateTime.now());
+                });
+    }
+
+    @Test
+    void retriedWithdrawalFoundAtPaystackIsNotRefunded() {
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenThrow(new PaystackException("Paystack returned status code 503", 503))
+                .thenThrow(new PaystackException("Duplicate Transaction Reference", 400));
+        Mockito.when(paymentService.findTransaction(Mockito.anyString()))
+                .thenReturn(Optional.of(new PaymentVerificationResponse()));
+        User user = saveUser("500");
+
+        PaymentJobResponse job = transactionService.submitWithdrawal(withdrawal(user, 100), null);
+        dispatchAll();
+        makeDue(job.getJobId());
+        dispatchAll();
+
+        PaymentJobResponse finished = transactionService.findPaymentJob(job.getJobId());
+        assertThat(finished.getStatus()).isEqualTo(PaymentJobStatus.SUCCEEDED);
+        assertThat(finished.getReference()).isEqualTo(job.getJobId());
+        assertThat(balance(user)).isEqualByComparingTo("400");
+        Mockito.verify(paymentService).findTransaction(job.getJobId());
+    }
+
+    @Test
+    void entryClaimedAgainWhileWaitingIsLeftToItsNewOwner() {
+        stubPaystack();
+        User user = saveUser("0");
+        String first = transactionService.submitPayment(payment(user, 10), null).getJobId();
+        String second = transactionService.submitPayment(payment(user, 10), null).getJobId();
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenAnswer(invocation -> {
+                    InitializePaymentRequest request = invocation.getArgument(0);
+                    if (request.getReference().equals(first)) {
+                        // Another dispatcher claims the waiting entry as if its lease had run out.
+                        paymentOutboxRepository.findAll().stream()
+                                .filter(entry -> entry.getJobId().equals(second))
+                                .forEach(entry -> {
+                                    entry.setAttempts(entry.getAttempts() + 1);
+                                    paymentOutboxRepository.save(entry);
+                                });
+                    }
+                    return new InitializePaymentResponse(true, "Authorization URL created",
+                            new InitializePaymentResponse.Data("https://checkout.example.com", "code", request.getReference()));
+                });
+
+        paymentOutboxDispatcher.dispatchDue();
+
+        ArgumentCaptor<InitializePaymentRequest> sent = ArgumentCaptor.forClass(InitializePaymentRequest.class);
+        Mockito.verify(paymentService, Mockito.atLeastOnce()).initializePaymentResponse(sent.capture());
+        assertThat(sent.getAllValues()).extracting(InitializePaymentRequest::getReference).contains(first).doesNotContain(second);
+        assertThat(transactionService.findPaymentJob(second).getStatus()).isEqualTo(PaymentJobStatus.PENDING);
+    }
+
+    @Test
+    void concurrentDispatchersSendEachJobOnce() throws Exception {
+        stubPaystack();
+        User user = saveUser("0");
+        Set<String> jobIds = new HashSet<>();
+        for (int index = 0; index < 30; index++) {
+            jobIds.add(transactionService.submitPayment(payment(user, 10), null).getJobId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> dispatchers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            dispatchers.add(executor.submit(() -> {
+                start.await();
+                dispatchAll();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> dispatcher : dispatchers) dispatcher.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        ArgumentCaptor<InitializePaymentRequest> sent = ArgumentCaptor.forClass(InitializePaymentRequest.class);
+        Mockito.verify(paymentService, Mockito.atLeastOnce()).initializePaymentResponse(sent.capture());
+        List<String> references = sent.getAllValues().stream()
+                .map(InitializePaymentRequest::getReference)
+                .filter(jobIds::contains)
+                .toList();
+        assertThat(references).hasSize(jobIds.size()).doesNotHaveDuplicates();
+        for (String jobId : jobIds) {
+            assertThat(transactionService.findPaymentJob(jobId).getStatus()).isEqualTo(PaymentJobStatus.SUCCEEDED);
+        }
+    }
+
+    private void stubPaystack() {
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenAnswer(invocation -> {
+                    InitializePaymentRequest request = invocation.getArgument(0);
+                    return new InitializePaymentResponse(true, "Authorization URL created",
+                            new InitializePaymentResponse.Data("https://checkout.example.com", "code", request.getReference()));
+                });
+    }
+
+    private void dispatchAll() {
+        int claimed;
+        do {
+            claimed = paymentOutboxDispatcher.dispatchDue();
+        } while (claimed > 0);
+    }
+
+    private void makeDue(String jobId) {
+        paymentOutboxRepository.findAll().stream()
+                .filter(entry -> entry.getJobId().equals(jobId))
+                .forEach(entry -> paymentOutboxRepository.reschedule(entry.getId(), LocalDateTime.now().minusSeconds(1), entry.getLastError()));
+    }
+
+    private BigDecimal balance(User user) {
+        return userRepository.findBalanceByUserId(user.getUserId()).orElseThrow();
+    }
+
+    private static WithdrawRequest withdrawal(User user, int amount) {
+        WithdrawRequest request = new WithdrawRequest();
+        request.setUserId(user.getUserId());
+        request.setAmount(amount);
+        return request;
+    }
+
+    private static PaymentRequest payment(User user, int amount) {
+        PaymentRequest request = new PaymentRequest();
+        request.setUserId(user.getUserId());
+        request.setAmount(amount);
+        return request;
+    }
+
+    private User saveUser(String balance) {
+        String username = "outbox" + System.nanoTime();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(new BigDecimal(balance));
+        return userRepository.save(user);
+    }
+}
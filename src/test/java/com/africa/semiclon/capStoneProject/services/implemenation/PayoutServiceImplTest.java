@@ -0,0 +1,295 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PayoutBatchStatus;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.PayoutBatchResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PayoutRowError;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.services.interfaces.PayoutService;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransferGateway;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"payout.dispatch.poll-interval=1h", "payout.dispatch.chunk-size=2", "payout.ingest.chunk-size=2"})
+class PayoutServiceImplTest {
+
+    @Autowired
+    private PayoutService payoutService;
+
+    @Autowired
+    private PayoutDispatcher payoutDispatcher;
+
+    @Autowired
+    private PayoutItemRepository payoutItemRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private TransferGateway transferGateway;
+
+    @Test
+    void csvPayoutsAreSentInChunksAndBadRowsAreReported() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList())).thenAnswer(invocation -> {
+            List<TransferInstruction> transfers = invocation.getArgument(0);
+            return transfers.stream()
+                    .map(transfer -> new TransferResult(transfer.getReference(), "TRF_" + transfer.getReference(), "pending", null))
+                    .toList();
+        });
+        User first = saveUser();
+        User second = saveUser();
+        User third = saveUser();
+        String payouts = "userId,amount\n"
+                + first.getUserId() + ",100.50\n"
+                + second.getUserId() + ",20\n"
+                + "\n"
+                + third.getUserId() + ",5\n"
+                + Long.MAX_VALUE + ",10\n"
+                + first.getUserId() + ",-1\n"
+                + "abc,10\n";
+
+        PayoutBatchResponse submitted = payoutService.submit(stream(payouts), ReportFormat.CSV, key());
+
+        assertThat(submitted.getTotalRows()).isEqualTo(6);
+        assertThat(submitted.getRejectedRows()).isEqualTo(2);
+        assertThat(submitted.getErrors()).extracting(PayoutRowError::getLine).containsExactly(7L, 8L);
+        assertThat(submitted.getQueued()).isEqualTo(3);
+        assertThat(submitted.getFailed()).isEqualTo(1);
+
+        PayoutBatchResponse progress = dispatchUntil(submitted.getBatchId(), batch -> batch.getQueued() == 0);
+        assertThat(progress.getSent()).isEqualTo(3);
+        assertThat(progress.getStatus()).isEqualTo(PayoutBatchStatus.IN_PROGRESS);
+        Mockito.verify(transferGateway, Mockito.atLeast(2)).transfer(Mockito.argThat(transfers -> transfers.size() <= 2));
+
+        List<PayoutItem> sent = items(submitted.getBatchId()).stream()
+                .filter(item -> item.getStatus() == PayoutItemStatus.SENT).toList();
+        assertThat(sent).allSatisfy(item -> assertThat(item.getTransferCode()).isEqualTo("TRF_" + item.getReference()));
+        assertThat(transactionRepository.findAllByReferenceIn(sent.stream().map(PayoutItem::getReference).toList()))
+                .hasSize(3)
+                .anySatisfy(transaction -> assertThat(transaction.getAmount()).isEqualByComparingTo("100.50"));
+    }
+
+    @Test
+    void ndjsonPayoutsThatPaystackSettlesAtOnceComplete() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList())).thenAnswer(invocation -> {
+            List<TransferInstruction> transfers = invocation.getArgument(0);
+            return transfers.stream()
+                    .map(transfer -> new TransferResult(transfer.getReference(), "TRF_" + transfer.getReference(), TransferResult.SUCCESS, null))
+                    .toList();
+        });
+        User user = saveUser();
+        String payouts = "{\"userId\":" + user.getUserId() + ",\"amount\":12.5}\n"
+                + "{\"userId\":" + user.getUserId() + ",\n";
+
+        PayoutBatchResponse submitted = payoutService.submit(stream(payouts), ReportFormat.NDJSON, key());
+        assertThat(submitted.getErrors()).extracting(PayoutRowError::getLine).containsExactly(2L);
+
+        PayoutBatchResponse progress = dispatchUntil(submitted.getBatchId(), batch -> batch.getStatus() == PayoutBatchStatus.COMPLETED);
+        assertThat(progress.getSucceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void transientGatewayFailureKeepsTheChunkQueued() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList()))
+                .thenThrow(new PaystackException("Paystack returned status code 503", 503));
+        User user = saveUser();
+
+        PayoutBatchResponse submitted = payoutService.submit(stream("userId,amount\n" + user.getUserId() + ",10\n"), ReportFormat.CSV, key());
+        awaitItem(submitted.getBatchId(), item -> item.getFailureReason() != null);
+
+        PayoutItem item = items(submitted.getBatchId()).get(0);
+        assertThat(item.getStatus()).isEqualTo(PayoutItemStatus.QUEUED);
+        assertThat(item.getAttempts()).isEqualTo(1);
+        assertThat(item.getAvailableAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void declinedBulkTransferFailsTheChunk() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList()))
+                .thenThrow(new PaystackException("Paystack declined the bulk transfer: Insufficient balance", 400));
+        User user = saveUser();
+
+        PayoutBatchResponse submitted = payoutService.submit(stream("userId,amount\n" + user.getUserId() + ",10\n"), ReportFormat.CSV, key());
+        PayoutBatchResponse progress = dispatchUntil(submitted.getBatchId(), batch -> batch.getStatus() == PayoutBatchStatus.COMPLETED);
+
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(items(submitted.getBatchId())).singleElement()
+                .satisfies(item -> assertThat(item.getFailureReason()).contains("Insufficient balance"));
+    }
+
+    @Test
+    void retriedChunkKeepsTransfersTheGatewayAlreadyHas() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList()))
+                .thenThrow(new PaystackException("Paystack returned status code 503", 503))
+                .thenThrow(new PaystackException("Duplicate transfer reference", 400));
+        User sent = saveUser();
+        User unknown = saveUser();
+
+        PayoutBatchResponse submitted = payoutService.submit(
+                stream("userId,amount\n" + sent.getUserId() + ",10\n" + unknown.getUserId() + ",20\n"), ReportFormat.CSV, key());
+        awaitItem(submitted.getBatchId(), item -> item.getFailureReason() != null);
+        List<PayoutItem> queued = items(submitted.getBatchId());
+        String sentReference = queued.stream().filter(item -> item.getUserId().equals(sent.getUserId())).findFirst().orElseThrow().getReference();
+        Mockito.when(transferGateway.find(Mockito.anyString())).thenAnswer(invocation -> {
+            String reference = invocation.getArgument(0);
+            if (reference.equals(sentReference)) {
+                return Optional.of(new TransferResult(reference, "TRF_sent", "pending", null));
+            }
+            throw new PaystackException("Paystack returned status code 502", 502);
+        });
+        payoutItemRepository.reschedule(queued.stream().map(PayoutItem::getId).toList(), LocalDateTime.now().minusSeconds(1), null);
+
+        dispatchUntil(submitted.getBatchId(), batch -> batch.getSent() == 2);
+
+        assertThat(items(submitted.getBatchId())).allSatisfy(item -> assertThat(item.getStatus()).isEqualTo(PayoutItemStatus.SENT))
+                .filteredOn(item -> item.getReference().equals(sentReference))
+                .singleElement()
+                .satisfies(item -> assertThat(item.getTransferCode()).isEqualTo("TRF_sent"));
+    }
+
+    @Test
+    void sentPayoutWhoseWebhookNeverComesIsSettledFromTheGateway() throws Exception {
+        Mockito.when(transferGateway.transfer(Mockito.anyList())).thenAnswer(invocation -> {
+            List<TransferInstruction> transfers = invocation.getArgument(0);
+            return transfers.stream()
+                    .map(transfer -> new TransferResult(transfer.getReference(), "TRF_" + transfer.getReference(), "pending", null))
+                    .toList();
+        });
+        User user = saveUser();
+
+        PayoutBatchResponse submitted = payoutService.submit(stream("userId,amount\n" + user.getUserId() + ",10\n"), ReportFormat.CSV, key());
+        dispatchUntil(submitted.getBatchId(), batch -> batch.getSent() == 1);
+        PayoutItem sent = items(submitted.getBatchId()).get(0);
+        assertThat(sent.getAvailableAt()).isAfter(LocalDateTime.now());
+        Mockito.when(transferGateway.find(Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(0).equals(sent.getReference())
+                ? Optional.of(new TransferResult(sent.getReference(), sent.getTransferCode(), TransferResult.SUCCESS, null))
+                : Optional.empty());
+        sent.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        payoutItemRepository.save(sent);
+
+        assertThat(payoutDispatcher.reconcileSent()).isPositive();
+
+        PayoutItem settled = payoutItemRepository.findById(sent.getId()).orElseThrow();
+        assertThat(settled.getStatus()).isEqualTo(PayoutItemStatus.SUCCEEDED);
+        assertThat(settled.getCompletedAt()).isNotNull();
+        assertThat(transactionRepository.findAllByReferenceIn(List.of(sent.getReference())))
+                .allSatisfy(transaction -> assertThat(transaction.getGatewayResponse()).isEqualTo("Transfer successful"));
+    }
+
+    @Test
+    void payeeWithoutATransferRecipientFailsAtUpload() throws Exception {
+        User provisioned = saveUser();
+        User unprovisioned = saveUserWithoutRecipient();
+
+        PayoutBatchResponse submitted = payoutService.submit(
+                stream("userId,amount\n" + provisioned.getUserId() + ",10\n" + unprovisioned.getUserId() + ",20\n"), ReportFormat.CSV, key());
+
+        assertThat(submitted.getQueued()).isEqualTo(1);
+        assertThat(submitted.getFailed()).isEqualTo(1);
+        assertThat(items(submitted.getBatchId())).filteredOn(item -> item.getUserId().equals(unprovisioned.getUserId()))
+                .singleElement()
+                .satisfies(item -> assertThat(item.getFailureReason()).isEqualTo("User has no transfer recipient"));
+        assertThatThrownBy(() -> payoutService.setTransferRecipient(unprovisioned.getUserId(), "0123456789"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void retriedUploadQueuesOnlyTheRowsNotYetWritten() throws Exception {
+        User first = saveUser();
+        User second = saveUser();
+        User third = saveUser();
+        String rows = "userId,amount\n" + first.getUserId() + ",10\n" + second.getUserId() + ",20\n";
+        String idempotencyKey = key();
+        InputStream broken = new SequenceInputStream(stream(rows), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> payoutService.submit(broken, ReportFormat.CSV, idempotencyKey)).isInstanceOf(IOException.class);
+        PayoutBatchResponse resumed = payoutService.submit(stream(rows + third.getUserId() + ",30\n"), ReportFormat.CSV, idempotencyKey);
+        PayoutBatchResponse replayed = payoutService.submit(stream(rows + third.getUserId() + ",30\n"), ReportFormat.CSV, idempotencyKey);
+
+        assertThat(resumed.getStatus()).isNotEqualTo(PayoutBatchStatus.INGESTING);
+        assertThat(resumed.getTotalRows()).isEqualTo(3);
+        assertThat(replayed.getBatchId()).isEqualTo(resumed.getBatchId());
+        assertThat(items(resumed.getBatchId())).extracting(PayoutItem::getUserId)
+                .containsExactlyInAnyOrder(first.getUserId(), second.getUserId(), third.getUserId());
+    }
+
+    private PayoutBatchResponse dispatchUntil(String batchId, Predicate<PayoutBatchResponse> done) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        PayoutBatchResponse batch = payoutService.findBatch(batchId);
+        while (!done.test(batch) && System.currentTimeMillis() < deadline) {
+            payoutDispatcher.dispatchDue();
+            Thread.sleep(50);
+            batch = payoutService.findBatch(batchId);
+        }
+        assertThat(done).accepts(batch);
+        return batch;
+    }
+
+    private void awaitItem(String batchId, Predicate<PayoutItem> done) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        payoutDispatcher.dispatchDue();
+        while (items(batchId).stream().noneMatch(done) && System.currentTimeMillis() < deadline) Thread.sleep(50);
+    }
+
+    private List<PayoutItem> items(String batchId) {
+        return payoutItemRepository.findAll().stream().filter(item -> item.getBatchId().equals(batchId)).toList();
+    }
+
+    private User saveUser() {
+        User user = saveUserWithoutRecipient();
+        payoutService.setTransferRecipient(user.getUserId(), "RCP_" + user.getUserId());
+        return user;
+    }
+
+    private User saveUserWithoutRecipient() {
+        String username = "payout" + System.nanoTime();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        return userRepository.save(user);
+    }
+
+    private static String key() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static InputStream stream(String payouts) {
+        return new ByteArrayInputStream(payouts.getBytes(StandardCharsets.UTF_8));
+    }
+}
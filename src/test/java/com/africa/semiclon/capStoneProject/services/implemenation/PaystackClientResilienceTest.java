@@ -0,0 +1,148 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.africa.semiclon.capStoneProject.exception.PaystackUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaystackClientResilienceTest {
+    private FakePaystackServer paystack;
+    private SimpleMeterRegistry meterRegistry;
+    private PaystackClient client;
+
+    @BeforeEach
+    void startPaystack() throws IOException {
+        paystack = new FakePaystackServer();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopPaystack() throws IOException {
+        if (client != null) client.destroy();
+        paystack.close();
+    }
+
+    @Test
+    void getIsRetriedThroughTransientFailures() {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 3, 0.1, 100));
+        paystack.failNext(503, 2);
+
+        assertThat(client.get("/transaction/verify/{reference}", 200, Body.class, "ref")).containsEntry("status", true);
+
+        assertThat(paystack.requests()).isEqualTo(3);
+        assertThat(meterRegistry.get("paystack.retries").tag("outcome", "retried").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void postIsOnlyRetriedWhenPaystackCannotHaveActedOnIt() {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 3, 0.1, 100));
+        paystack.failNext(500, 1);
+
+        assertThatThrownBy(() -> client.post("/transfer/bulk", Map.of(), 200, Body.class))
+                .isInstanceOf(PaystackException.class);
+        assertThat(paystack.requests()).isEqualTo(1);
+
+        paystack.failNext(503, 1);
+        assertThat(client.post("/transfer/bulk", Map.of(), 200, Body.class)).containsEntry("status", true);
+        assertThat(paystack.requests()).isEqualTo(3);
+    }
+
+    @Test
+    void exhaustedRetryBudgetStopsRetrying() {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 3, 0, 0));
+        paystack.failNext(503, 1);
+
+        assertThatThrownBy(() -> client.get("/plan", 200, Body.class))
+                .isInstanceOf(PaystackException.class)
+                .extracting(exception -> ((PaystackException) exception).getStatusCode())
+                .isEqualTo(503);
+
+        assertThat(paystack.requests()).isEqualTo(1);
+        assertThat(meterRegistry.get("paystack.retries").tag("outcome", "budget_exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void circuitOpensOnFailuresAndClosesAfterASuccessfulProbe() throws InterruptedException {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 1, 0.1, 100));
+        paystack.failNext(500, 4);
+        for (int call = 0; call < 4; call++) {
+            assertThatThrownBy(() -> client.get("/plan", 200, Body.class)).isInstanceOf(PaystackException.class);
+        }
+
+        assertThatThrownBy(() -> client.get("/plan", 200, Body.class)).isInstanceOf(PaystackUnavailableException.class);
+        assertThat(paystack.requests()).isEqualTo(4);
+        assertThat(state("open")).isEqualTo(1);
+
+        Thread.sleep(350);
+        assertThat(client.get("/plan", 200, Body.class)).containsEntry("status", true);
+        assertThat(state("closed")).isEqualTo(1);
+        assertThat(meterRegistry.get("paystack.calls.rejected").tag("reason", "circuit_open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void declinedRequestsDoNotOpenTheCircuit() {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 1, 0.1, 100));
+        paystack.failNext(400, 6);
+        for (int call = 0; call < 6; call++) {
+            assertThatThrownBy(() -> client.post("/plan", Map.of(), 201, Body.class)).isInstanceOf(PaystackException.class);
+        }
+
+        assertThat(state("closed")).isEqualTo(1);
+    }
+
+    @Test
+    void bulkheadShedsCallsBeyondTheLimit() throws Exception {
+        client = paystack.client(meterRegistry, FakePaystackServer.resilience(2, 1, 0.1, 100));
+        paystack.setLatency(Duration.ofMillis(500));
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> calls = new ArrayList<>();
+            for (int caller = 0; caller < 6; caller++) {
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    return client.get("/plan", 200, Body.class);
+                }));
+            }
+            start.countDown();
+            int shed = 0;
+            for (Future<?> call : calls) {
+                try {
+                    call.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException exception) {
+                    assertThat(exception.getCause()).isInstanceOf(PaystackUnavailableException.class);
+                    shed++;
+                }
+            }
+            assertThat(shed).isGreaterThanOrEqualTo(4);
+            assertThat(paystack.maxInFlight()).isLessThanOrEqualTo(2);
+            assertThat(meterRegistry.get("paystack.calls.rejected").tag("reason", "bulkhead_full").counter().count())
+                    .isEqualTo(shed);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    /**
+     * A typed stand-in for a raw {@code Map.class}, so asserting on the body is not an unchecked call.
+     */
+    static class Body extends HashMap<String, Object> {
+    }
+
+    private double state(String state) {
+        return meterRegistry.get("paystack.circuit.state").tag("state", state).gauge().value();
+    }
+}
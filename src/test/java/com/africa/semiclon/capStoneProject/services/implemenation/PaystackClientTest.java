@@ -0,0 +1,95 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaystackClientTest {
+    private HttpServer server;
+    private PaystackClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/transaction/verify/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            respond(exchange, 200, "{\"status\":\"true\",\"auth\":\"" + authorization + "\"}");
+        });
+        server.createContext("/plan", exchange -> respond(exchange, 400, "{\"status\":false}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new PaystackClient(meterRegistry, "http://127.0.0.1:" + server.getAddress().getPort(), " sk_test ",
+                Duration.ofSeconds(1), Duration.ofMillis(200), Duration.ofSeconds(1),
+                10, 5, Duration.ofSeconds(30), Duration.ofSeconds(60), FakePaystackServer.defaultResilience());
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reusesPooledConnectionsAcrossCalls() {
+        for (int call = 0; call < 5; call++) {
+            Map<String, Object> response = client.get("/transaction/verify/{reference}", 200, Map.class, "ref-" + call);
+            assertThat(response).containsEntry("auth", "Bearer sk_test");
+        }
+
+        assertThat(clientPorts).hasSize(1);
+        assertThat(meterRegistry.get("paystack.http.requests")
+                .tag("uri", "/transaction/verify/{reference}").tag("outcome", "200").timer().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "paystack").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void unexpectedStatusCarriesTheStatusCode() {
+        assertThatThrownBy(() -> client.post("/plan", Map.of("name", "basic"), 201, Map.class))
+                .isInstanceOf(PaystackException.class)
+                .extracting(exception -> ((PaystackException) exception).getStatusCode())
+                .isEqualTo(400);
+    }
+
+    @Test
+    void slowResponseHitsTheReadTimeout() {
+        assertThatThrownBy(() -> client.get("/slow", 200, Map.class))
+                .isInstanceOf(PaystackException.class)
+                .hasMessageContaining("Read timed out");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,124 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.PaystackEvent;
+import com.africa.semiclon.capStoneProject.data.models.PaystackEventStatus;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItem;
+import com.africa.semiclon.capStoneProject.data.models.PayoutItemStatus;
+import com.africa.semiclon.capStoneProject.data.models.Transaction;
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.PaystackEventRepository;
+import com.africa.semiclon.capStoneProject.data.repository.PayoutItemRepository;
+import com.africa.semiclon.capStoneProject.data.repository.TransactionRepository;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "paystack.webhook.max-attempts=2")
+class PaystackEventProcessorTest {
+
+    @Autowired
+    private PaystackEventProcessor paystackEventProcessor;
+
+    @Autowired
+    private PaystackEventRepository paystackEventRepository;
+
+    @Autowired
+    private PayoutItemRepository payoutItemRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void poisonEventIsParkedWithoutHoldingBackItsBatch() {
+        String good = recordCharge("100000");
+        String poison = recordCharge("not-a-number");
+
+        paystackEventProcessor.apply(List.of(poison, good));
+
+        assertThat(event(good).getStatus()).isEqualTo(PaystackEventStatus.PROCESSED);
+        PaystackEvent failedOnce = event(poison);
+        assertThat(failedOnce.getStatus()).isEqualTo(PaystackEventStatus.RECEIVED);
+        assertThat(failedOnce.getAttempts()).isEqualTo(1);
+        assertThat(failedOnce.getLastError()).isNotBlank();
+
+        paystackEventProcessor.apply(List.of(poison));
+
+        PaystackEvent parked = event(poison);
+        assertThat(parked.getStatus()).isEqualTo(PaystackEventStatus.FAILED);
+        assertThat(parked.getAttempts()).isEqualTo(2);
+        assertThat(paystackEventRepository.findReceivedBefore(LocalDateTime.now().plusMinutes(1), 1000)).doesNotContain(poison);
+    }
+
+    @Test
+    void transferOutcomeWaitsUntilItsPayoutIsRecordedAsSent() {
+        PayoutItem item = savePayoutItem(PayoutItemStatus.QUEUED);
+        String eventKey = "transfer.success:" + item.getReference();
+        paystackEventRepository.record(eventKey, "transfer.success", item.getReference(),
+                "{\"event\":\"transfer.success\",\"data\":{\"reference\":\"" + item.getReference() + "\"}}",
+                LocalDateTime.now());
+
+        paystackEventProcessor.apply(List.of(eventKey));
+
+        assertThat(event(eventKey).getStatus()).isEqualTo(PaystackEventStatus.RECEIVED);
+        assertThat(payoutItemRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(PayoutItemStatus.QUEUED);
+
+        item.setStatus(PayoutItemStatus.SENT);
+        payoutItemRepository.save(item);
+        paystackEventProcessor.apply(List.of(eventKey));
+
+        assertThat(event(eventKey).getStatus()).isEqualTo(PaystackEventStatus.PROCESSED);
+        assertThat(payoutItemRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(PayoutItemStatus.SUCCEEDED);
+    }
+
+    private String recordCharge(String amount) {
+        String reference = "ref-" + System.nanoTime();
+        saveTransaction(reference);
+        String eventKey = "charge.success:" + reference;
+        paystackEventRepository.record(eventKey, "charge.success", reference,
+                "{\"event\":\"charge.success\",\"data\":{\"reference\":\"" + reference + "\",\"amount\":\"" + amount + "\"}}",
+                LocalDateTime.now());
+        return eventKey;
+    }
+
+    private PaystackEvent event(String eventKey) {
+        return paystackEventRepository.findById(eventKey).orElseThrow();
+    }
+
+    private void saveTransaction(String reference) {
+        String username = "events" + System.nanoTime();
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        user = userRepository.save(user);
+        transactionRepository.save(Transaction.builder()
+                .userId(user.getUserId())
+                .reference(reference)
+                .amount(new BigDecimal("100"))
+                .build());
+    }
+
+    private PayoutItem savePayoutItem(PayoutItemStatus status) {
+        PayoutItem item = new PayoutItem();
+        item.setBatchId("events-batch");
+        item.setLineNumber(System.nanoTime());
+        item.setUserId(1L);
+        item.setAmount(BigDecimal.TEN);
+        item.setReference("payout-" + System.nanoTime());
+        item.setStatus(status);
+        item.setAvailableAt(LocalDateTime.now().plusHours(1));
+        item.setCreatedAt(LocalDateTime.now());
+        return payoutItemRepository.save(item);
+    }
+}
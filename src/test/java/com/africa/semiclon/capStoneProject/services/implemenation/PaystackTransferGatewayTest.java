@@ -0,0 +1,112 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.dtos.request.TransferInstruction;
+import com.africa.semiclon.capStoneProject.dtos.response.TransferResult;
+import com.africa.semiclon.capStoneProject.exception.PaystackException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class PaystackTransferGatewayTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> nextResponse = new AtomicReference<>();
+    private HttpServer server;
+    private PaystackClient client;
+    private PaystackTransferGateway gateway;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/transfer/bulk", exchange -> {
+            lastRequest.set(objectMapper.readTree(exchange.getRequestBody()));
+            respond(exchange, nextResponse.get());
+        });
+        server.createContext("/transfer/verify/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/ref-known")) {
+                respond(exchange, "{\"status\":true,\"message\":\"Transfer retrieved\",\"data\":"
+                        + "{\"reference\":\"ref-known\",\"transfer_code\":\"TRF_9\",\"status\":\"success\"}}");
+            } else {
+                respond(exchange, 400, "{\"status\":false,\"message\":\"Transfer not found\"}");
+            }
+        });
+        server.start();
+        client = new PaystackClient(new SimpleMeterRegistry(), "http://127.0.0.1:" + server.getAddress().getPort(), "sk_test",
+                Duration.ofSeconds(1), Duration.ofMillis(200), Duration.ofSeconds(1),
+                10, 5, Duration.ofSeconds(30), Duration.ofSeconds(60), FakePaystackServer.defaultResilience());
+        gateway = new PaystackTransferGateway(client);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void sendsAmountsInKoboAndFailsTransfersWithoutARecipient() {
+        nextResponse.set("{\"status\":true,\"message\":\"2 transfers queued.\",\"data\":["
+                + "{\"reference\":\"ref-1\",\"recipient\":\"RCP_1\",\"amount\":10050,\"transfer_code\":\"TRF_1\",\"currency\":\"NGN\",\"status\":\"pending\"}]}");
+
+        List<TransferResult> results = gateway.transfer(List.of(
+                new TransferInstruction("ref-1", new BigDecimal("100.50"), "RCP_1", "Payout"),
+                new TransferInstruction("ref-2", BigDecimal.TEN, null, "Payout")));
+
+        JsonNode request = lastRequest.get();
+        assertThat(request.get("source").asText()).isEqualTo("balance");
+        assertThat(request.get("transfers")).hasSize(1);
+        assertThat(request.get("transfers").get(0).get("amount").asLong()).isEqualTo(10050);
+        assertThat(results).extracting(TransferResult::getReference, TransferResult::getTransferCode, TransferResult::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple("ref-1", "TRF_1", "pending"),
+                        tuple("ref-2", null, TransferResult.FAILED));
+    }
+
+    @Test
+    void declinedBulkTransferIsNotRetryable() {
+        nextResponse.set("{\"status\":false,\"message\":\"Insufficient balance\"}");
+
+        assertThatThrownBy(() -> gateway.transfer(List.of(new TransferInstruction("ref-3", BigDecimal.ONE, "RCP_3", "Payout"))))
+                .isInstanceOf(PaystackException.class)
+                .hasMessageContaining("Insufficient balance")
+                .matches(exception -> !PaymentOutboxDispatcher.isRetryable((PaystackException) exception));
+    }
+
+    @Test
+    void findsTransfersByReference() {
+        assertThat(gateway.find("ref-known")).hasValueSatisfying(result -> {
+            assertThat(result.getTransferCode()).isEqualTo("TRF_9");
+            assertThat(result.getStatus()).isEqualTo(TransferResult.SUCCESS);
+        });
+        assertThat(gateway.find("ref-missing")).isEmpty();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        respond(exchange, 200, body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -1,5 +1,6 @@
 package com.africa.semiclon.capStoneProject.services.implemenation;
 
+import com.africa.semiclon.capStoneProject.data.models.PaymentJobStatus;
 import com.africa.semiclon.capStoneProject.data.models.PricingPlanType;
 import com.africa.semiclon.capStoneProject.data.models.Transaction;
 import com.africa.semiclon.capStoneProject.data.models.User;
@@ -9,6 +10,7 @@ import com.africa.semiclon.capStoneProject.dtos.request.PaymentRequest;
 import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
 import com.africa.semiclon.capStoneProject.dtos.response.CreatePlanResponse;
 import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -33,6 +35,9 @@ public class TransactionServiceImplTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private PaymentOutboxDispatcher paymentOutboxDispatcher;
+
     @Test
     @Transactional
     public void testMakePaymentToUser() {
@@ -44,10 +49,15 @@ public class TransactionServiceImplTest {
         createPlanResponse.setStatus(true);
         createPlanResponse.setData(new CreatePlanResponse.Data());
 
-        InitializePaymentResponse response = transactionService.makePaymentToUser(request);
+        PaymentJobResponse job = transactionService.submitPayment(request, null);
+        assertEquals(PaymentJobStatus.PENDING, job.getStatus());
+
+        paymentOutboxDispatcher.dispatchDue();
+        PaymentJobResponse response = transactionService.findPaymentJob(job.getJobId());
 
         assertNotNull(response);
-        assertTrue(response.getStatus());
+        assertEquals(PaymentJobStatus.SUCCEEDED, response.getStatus());
+        assertNotNull(response.getAuthorizationUrl());
 
         Transaction transaction = transactionRepository.findAll().get(0);
         assertNotNull(transaction);
@@ -71,7 +81,8 @@ public class TransactionServiceImplTest {
         initializePaymentResponse.setData(new InitializePaymentResponse.Data("pay_67890", "100.00", "NGN"));
 
 
-        transactionService.processWithdrawal(request);
+        transactionService.submitWithdrawal(request, null);
+        paymentOutboxDispatcher.dispatchDue();
 
         Transaction transaction = transactionRepository.findAll().get(0);
         assertNotNull(transaction);
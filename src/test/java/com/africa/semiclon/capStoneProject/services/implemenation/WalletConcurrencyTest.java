@@ -0,0 +1,129 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.models.WalletEntry;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WalletEntryRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.InitializePaymentRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.WithdrawRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.InitializePaymentResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.PaymentJobResponse;
+import com.africa.semiclon.capStoneProject.services.interfaces.PaymentService;
+import com.africa.semiclon.capStoneProject.services.interfaces.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static com.africa.semiclon.capStoneProject.data.models.EntryDirection.DEBIT;
+import static com.africa.semiclon.capStoneProject.data.models.WalletAccount.USER_WALLET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WalletConcurrencyTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletEntryRepository walletEntryRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void stubPaystack() {
+        Mockito.when(paymentService.initializePaymentResponse(Mockito.any(InitializePaymentRequest.class)))
+                .thenAnswer(invocation -> new InitializePaymentResponse(true, "Authorization URL created",
+                        new InitializePaymentResponse.Data("https://checkout.example.com", "code", "ref-" + System.nanoTime())));
+    }
+
+    @Test
+    void concurrentWithdrawalsNeverOverdrawTheWallet() throws Exception {
+        User user = saveUser("wallet" + System.nanoTime(), "500");
+        int threads = 50;
+
+        List<Future<Optional<PaymentJobResponse>>> results = runConcurrently(threads,
+                attempt -> withdraw(user.getUserId(), 100, "overdraw-" + user.getUserId() + "-" + attempt));
+
+        int succeeded = 0;
+        for (Future<Optional<PaymentJobResponse>> result : results) {
+            if (result.get(60, TimeUnit.SECONDS).isPresent()) succeeded++;
+        }
+        assertThat(succeeded).isEqualTo(5);
+        assertThat(userRepository.findBalanceByUserId(user.getUserId())).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("0"));
+        assertThat(walletEntryRepository.findAllByUserIdOrderByEntryId(user.getUserId()))
+                .filteredOn(entry -> entry.getAccount() == USER_WALLET && entry.getDirection() == DEBIT)
+                .hasSize(5);
+    }
+
+    @Test
+    void retriesWithTheSameKeyDebitOnce() throws Exception {
+        User user = saveUser("wallet" + System.nanoTime(), "500");
+        String key = "retry-" + user.getUserId();
+
+        List<Future<Optional<PaymentJobResponse>>> results = runConcurrently(20,
+                attempt -> withdraw(user.getUserId(), 100, key));
+
+        List<String> journals = new ArrayList<>();
+        for (Future<Optional<PaymentJobResponse>> result : results) {
+            result.get(60, TimeUnit.SECONDS).map(PaymentJobResponse::getJournalId).ifPresent(journals::add);
+        }
+        assertThat(journals).isNotEmpty();
+        assertThat(journals).containsOnly(journals.get(0));
+        assertThat(userRepository.findBalanceByUserId(user.getUserId())).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("400"));
+        List<WalletEntry> entries = walletEntryRepository.findAllByUserIdOrderByEntryId(user.getUserId());
+        assertThat(entries).filteredOn(entry -> entry.getAccount() == USER_WALLET && entry.getDirection() == DEBIT)
+                .hasSize(1);
+    }
+
+    private Optional<PaymentJobResponse> withdraw(Long userId, int amount, String key) {
+        WithdrawRequest request = new WithdrawRequest();
+        request.setUserId(userId);
+        request.setAmount(amount);
+        try {
+            return Optional.of(transactionService.submitWithdrawal(request, key));
+        } catch (RuntimeException rejected) {
+            return Optional.empty();
+        }
+    }
+
+    private <T> List<Future<T>> runConcurrently(int threads, IntFunction<T> attempt) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int index = thread;
+            results.add(executor.submit(() -> {
+                start.await();
+                return attempt.apply(index);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private User saveUser(String username, String balance) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(new BigDecimal(balance));
+        return userRepository.save(user);
+    }
+}
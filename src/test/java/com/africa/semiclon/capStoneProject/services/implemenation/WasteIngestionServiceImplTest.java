@@ -0,0 +1,105 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.User;
+import com.africa.semiclon.capStoneProject.data.repository.UserRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.ReportFormat;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteManifestError;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteManifestResponse;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteIngestionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static com.africa.semiclon.capStoneProject.data.models.Category.PAPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WasteIngestionServiceImplTest {
+
+    @Autowired
+    private WasteIngestionService wasteIngestionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Test
+    void csvManifestKeepsGoodRowsAndReportsBadOnes() throws IOException {
+        User depot = saveUser("depot" + System.nanoTime());
+        String description = "manifest-" + System.nanoTime();
+        String manifest = "category,quantity,price,description,collectionDate,userId\n"
+                + "PAPER,3,1.50,\"" + description + ", bundle\",2026-10-01," + depot.getUserId() + "\n"
+                + "paper,2,,,2026-10-01T08:30:00,\n"
+                + "\n"
+                + "GLASS,1,,,,\n"
+                + "PAPER,0,,,,\n"
+                + "PAPER,1,,,," + Long.MAX_VALUE + "\n";
+
+        WasteManifestResponse response = wasteIngestionService.ingest(stream(manifest), ReportFormat.CSV);
+
+        assertThat(response.getTotalRows()).isEqualTo(5);
+        assertThat(response.getAcceptedRows()).isEqualTo(2);
+        assertThat(response.getRejectedRows()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(WasteManifestError::getLine).containsExactly(5L, 6L, 7L);
+        assertThat(wasteRepository.findAll()).filteredOn(waste -> (description + ", bundle").equals(waste.getDescription()))
+                .singleElement().satisfies(waste -> {
+                    assertThat(waste.getType()).isEqualTo(PAPER);
+                    assertThat(waste.getPrice()).isEqualByComparingTo("1.50");
+                    assertThat(waste.getTimeCreated()).isNotNull();
+                });
+    }
+
+    @Test
+    void ndjsonManifestReportsMalformedLines() throws IOException {
+        String manifest = "{\"category\":\"PLASTIC\",\"quantity\":4,\"price\":2.25}\n"
+                + "{\"category\":\"PLASTIC\",\"quantity\":\n"
+                + "{\"category\":\"PLASTIC\",\"quantity\":1,\"weight\":3}\n";
+
+        WasteManifestResponse response = wasteIngestionService.ingest(stream(manifest), ReportFormat.NDJSON);
+
+        assertThat(response.getAcceptedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(WasteManifestError::getLine).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void manyRowsAreWrittenInChunks() throws IOException {
+        StringBuilder manifest = new StringBuilder("category,quantity,price\n");
+        int rows = 5_000;
+        for (int row = 0; row < rows; row++) manifest.append("PLASTIC,1,").append(BigDecimal.ONE).append('\n');
+        long before = wasteRepository.count();
+
+        WasteManifestResponse response = wasteIngestionService.ingest(stream(manifest.toString()), ReportFormat.CSV);
+
+        assertThat(response.getAcceptedRows()).isEqualTo(rows);
+        assertThat(wasteRepository.count()).isEqualTo(before + rows);
+    }
+
+    @Test
+    void unknownCsvColumnRejectsTheManifest() {
+        assertThatThrownBy(() -> wasteIngestionService.ingest(stream("category,weight\nPAPER,2\n"), ReportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String manifest) {
+        return new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setBalance(BigDecimal.ZERO);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,131 @@
+package com.africa.semiclon.capStoneProject.services.implemenation;
+
+import com.africa.semiclon.capStoneProject.data.models.Agent;
+import com.africa.semiclon.capStoneProject.data.models.Waste;
+import com.africa.semiclon.capStoneProject.data.repository.AgentRepository;
+import com.africa.semiclon.capStoneProject.data.repository.WasteRepository;
+import com.africa.semiclon.capStoneProject.dtos.request.AssignWasteRequest;
+import com.africa.semiclon.capStoneProject.dtos.request.WasteRollupRequest;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupResponse;
+import com.africa.semiclon.capStoneProject.dtos.response.WasteRollupSummary;
+import com.africa.semiclon.capStoneProject.services.interfaces.AdminService;
+import com.africa.semiclon.capStoneProject.services.interfaces.WasteRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.africa.semiclon.capStoneProject.data.models.Category.PLASTIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WasteRollupServiceImplTest {
+
+    @Autowired
+    private WasteRollupService wasteRollupService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void incrementalUpdatesMatchARebuildFromRawRows() {
+        LocalDate day = LocalDate.of(1998, 1, 1).plusDays(System.nanoTime() % 365);
+        Agent agent = new Agent();
+        agent.setUsername("rollup-agent");
+        agent.setEmail("rollup-agent-" + System.nanoTime() + "@example.com");
+        Long agentId = agentRepository.save(agent).getId();
+
+        saveWaste(day, 2, "10.50");
+        Waste second = saveWaste(day, 3, "4.50");
+        AssignWasteRequest assign = new AssignWasteRequest();
+        assign.setWasteId(second.getWasteId());
+        assign.setAgentId(agentId);
+        adminService.assignWasteToAgent(assign);
+
+        List<WasteRollupSummary> incremental = rollupFor(day).getDays();
+        assertThat(incremental).hasSize(2);
+        assertThat(incremental).filteredOn(row -> row.getAgentId() == null)
+                .singleElement().satisfies(row -> {
+                    assertThat(row.getWasteCount()).isEqualTo(1);
+                    assertThat(row.getTotalQuantity()).isEqualTo(2);
+                });
+        assertThat(incremental).filteredOn(row -> agentId.equals(row.getAgentId()))
+                .singleElement().satisfies(row -> assertThat(row.getTotalPrice()).isEqualByComparingTo("4.50"));
+
+        wasteRollupService.rebuild(day, day);
+
+        WasteRollupResponse rebuilt = rollupFor(day);
+        assertThat(rebuilt.getDays()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(incremental);
+        assertThat(rebuilt.getTotals()).singleElement().satisfies(total -> {
+            assertThat(total.getCategory()).isEqualTo(PLASTIC);
+            assertThat(total.getWasteCount()).isEqualTo(2);
+            assertThat(total.getTotalQuantity()).isEqualTo(5);
+            assertThat(total.getTotalPrice()).isEqualByComparingTo("15.00");
+        });
+    }
+
+    @Test
+    void updatesWaitForTheCallerToCommit() {
+        LocalDate day = LocalDate.of(1997, 1, 1).plusDays(System.nanoTime() % 365);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            saveWaste(day, 2, "1.00");
+            assertThat(rollupFor(day).getDays()).isEmpty();
+            status.setRollbackOnly();
+        });
+        assertThat(rollupFor(day).getDays()).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> saveWaste(day, 3, "2.00"));
+        assertThat(rollupFor(day).getDays()).singleElement()
+                .satisfies(row -> assertThat(row.getTotalQuantity()).isEqualTo(3));
+    }
+
+    @Test
+    void driftCountsOnlyBucketsWhoseTotalsChanged() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        WasteRollupSummary kept = bucket(day, 1L, 2, "3.00");
+        WasteRollupSummary emptied = bucket(day, 2L, 0, "0");
+        WasteRollupSummary stale = bucket(day, 3L, 4, "5.00");
+
+        int drifted = WasteRollupServiceImpl.drift(List.of(kept, emptied, stale),
+                List.of(bucket(day, 1L, 2, "3.00"), bucket(day, 3L, 5, "5.00"), bucket(day, 4L, 1, "1.00")));
+
+        assertThat(drifted).isEqualTo(2);
+    }
+
+    private WasteRollupResponse rollupFor(LocalDate day) {
+        WasteRollupRequest request = new WasteRollupRequest();
+        request.setFrom(day);
+        request.setTo(day);
+        return wasteRollupService.summarize(request);
+    }
+
+    private static WasteRollupSummary bucket(LocalDate day, Long agentId, long wasteCount, String price) {
+        return new WasteRollupSummary(day, PLASTIC, agentId, wasteCount, wasteCount, new BigDecimal(price), 0L, 0.0);
+    }
+
+    private Waste saveWaste(LocalDate day, int quantity, String price) {
+        Waste waste = new Waste();
+        waste.setType(PLASTIC);
+        waste.setQuantity(quantity);
+        waste.setPrice(new BigDecimal(price));
+        waste.setWasteCollectionDate(day.atTime(10, 0));
+        waste = wasteRepository.save(waste);
+        wasteRollupService.recordWaste(waste);
+        return waste;
+    }
+}